@@ -1,5 +1,10 @@
 package com.ecommerce.gateway;
 
+import com.ecommerce.gateway.cache.ResponseCacheGatewayFilterFactory;
+import com.ecommerce.gateway.coalesce.CoalescingGatewayFilterFactory;
+import com.ecommerce.gateway.hedging.HedgingGatewayFilterFactory;
+import com.ecommerce.gateway.limit.ConcurrencyLimitGatewayFilterFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
@@ -7,6 +12,8 @@ import org.springframework.cloud.gateway.route.RouteLocator;
 import org.springframework.cloud.gateway.route.builder.RouteLocatorBuilder;
 import org.springframework.context.annotation.Bean;
 
+import java.time.Duration;
+
 @SpringBootApplication
 @EnableDiscoveryClient
 public class ApiGatewayApplication {
@@ -15,22 +22,52 @@ public class ApiGatewayApplication {
     }
 
     @Bean
-    public RouteLocator customRoutes(RouteLocatorBuilder builder) {
+    public RouteLocator customRoutes(RouteLocatorBuilder builder,
+                                     ResponseCacheGatewayFilterFactory responseCache,
+                                     CoalescingGatewayFilterFactory coalescing,
+                                     HedgingGatewayFilterFactory hedging,
+                                     ConcurrencyLimitGatewayFilterFactory concurrencyLimit,
+                                     @Value("${gateway.cache.products.ttl:30s}") Duration productCacheTtl,
+                                     @Value("${gateway.cache.products.max-entries:10000}") int productCacheMaxEntries,
+                                     @Value("${gateway.coalescing.products.max-waiters:1000}") int productMaxWaiters,
+                                     @Value("${gateway.coalescing.products.timeout:5s}") Duration productCoalescingTimeout) {
         return builder.routes()
             .route(r -> r.path("/auth/**")
-                .filters(f -> f.stripPrefix(1))
+                .filters(f -> f
+                    .filter(concurrencyLimit.apply(c -> c.setName("auth-service")))
+                    .stripPrefix(1))
                 .uri("lb://auth-service"))
             .route(r -> r.path("/api/products/**")
-                .filters(f -> f.stripPrefix(2))
+                .filters(f -> f
+                    .filter(responseCache.apply(c -> {
+                        c.setName("product-service");
+                        c.setTtl(productCacheTtl);
+                        c.setMaxEntries(productCacheMaxEntries);
+                    }))
+                    .filter(coalescing.apply(c -> {
+                        c.setName("product-service");
+                        c.setMaxWaiters(productMaxWaiters);
+                        c.setTimeout(productCoalescingTimeout);
+                    }))
+                    .filter(concurrencyLimit.apply(c -> c.setName("product-service")))
+                    .filter(hedging.apply(c -> c.setName("product-service")))
+                    .stripPrefix(2))
                 .uri("lb://product-service"))
             .route(r -> r.path("/api/cart/**")
-                .filters(f -> f.stripPrefix(2))
+                .filters(f -> f
+                    .filter(concurrencyLimit.apply(c -> c.setName("cart-service")))
+                    .filter(hedging.apply(c -> c.setName("cart-service")))
+                    .stripPrefix(2))
                 .uri("lb://cart-service"))
             .route(r -> r.path("/api/orders/**")
-                .filters(f -> f.stripPrefix(2))
+                .filters(f -> f
+                    .filter(concurrencyLimit.apply(c -> c.setName("order-service")))
+                    .stripPrefix(2))
                 .uri("lb://order-service"))
             .route(r -> r.path("/api/payments/**")
-                .filters(f -> f.stripPrefix(2))
+                .filters(f -> f
+                    .filter(concurrencyLimit.apply(c -> c.setName("payment-service")))
+                    .stripPrefix(2))
                 .uri("lb://payment-service"))
             .build();
     }
@@ -0,0 +1,24 @@
+package com.ecommerce.gateway.admission;
+
+public class AdmissionRejectedException extends RuntimeException {
+
+    public static final String QUEUE_FULL = "queue_full";
+    public static final String TIMEOUT = "timeout";
+
+    private final PriorityTier tier;
+    private final String reason;
+
+    public AdmissionRejectedException(PriorityTier tier, String reason) {
+        super("Request of tier " + tier + " not admitted: " + reason);
+        this.tier = tier;
+        this.reason = reason;
+    }
+
+    public PriorityTier getTier() {
+        return tier;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+}
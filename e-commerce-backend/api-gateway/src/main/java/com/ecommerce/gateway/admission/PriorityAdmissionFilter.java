@@ -0,0 +1,107 @@
+package com.ecommerce.gateway.admission;
+
+import com.ecommerce.gateway.filter.GatewayFilterOrder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Admits routed requests through a weighted fair queue keyed by priority tier. Runs after the response cache
+ * and request coalescing, so only requests that will actually reach a downstream service wait here.
+ */
+@Slf4j
+@Component
+public class PriorityAdmissionFilter implements GlobalFilter, Ordered {
+
+    public static final String PRIORITY_TIER_ATTR = PriorityAdmissionFilter.class.getName() + ".tier";
+
+    private final PriorityClassifier classifier;
+    private final WeightedFairAdmissionQueue admissionQueue;
+    private final String retryAfter;
+    private final Map<PriorityTier, Timer> waitTimers = new EnumMap<>(PriorityTier.class);
+    private final Map<PriorityTier, Counter> queueFullRejections = new EnumMap<>(PriorityTier.class);
+    private final Map<PriorityTier, Counter> timeoutRejections = new EnumMap<>(PriorityTier.class);
+
+    public PriorityAdmissionFilter(PriorityClassifier classifier,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${gateway.admission.max-concurrent:512}") int maxConcurrent,
+                                   @Value("${gateway.admission.retry-after-seconds:1}") int retryAfterSeconds) {
+        this.classifier = classifier;
+        this.admissionQueue = new WeightedFairAdmissionQueue(maxConcurrent);
+        this.retryAfter = String.valueOf(retryAfterSeconds);
+
+        for (PriorityTier tier : PriorityTier.values()) {
+            String tierTag = tier.name().toLowerCase(Locale.ROOT);
+            Gauge.builder("gateway.admission.queue.depth", admissionQueue, queue -> queue.queued(tier))
+                .tag("tier", tierTag)
+                .register(meterRegistry);
+            waitTimers.put(tier, Timer.builder("gateway.admission.wait")
+                .tag("tier", tierTag)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+            queueFullRejections.put(tier, rejectionCounter(meterRegistry, tierTag, AdmissionRejectedException.QUEUE_FULL));
+            timeoutRejections.put(tier, rejectionCounter(meterRegistry, tierTag, AdmissionRejectedException.TIMEOUT));
+        }
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        PriorityTier tier = classifier.classify(exchange.getRequest());
+        exchange.getAttributes().put(PRIORITY_TIER_ATTR, tier);
+        long queuedAt = System.nanoTime();
+
+        return admissionQueue.acquire(tier)
+            .timeout(tier.getMaxWait())
+            .onErrorMap(TimeoutException.class,
+                e -> new AdmissionRejectedException(tier, AdmissionRejectedException.TIMEOUT))
+            .then(Mono.defer(() -> {
+                waitTimers.get(tier).record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                return chain.filter(exchange).doFinally(signal -> admissionQueue.release());
+            }))
+            .onErrorResume(AdmissionRejectedException.class, e -> {
+                (AdmissionRejectedException.TIMEOUT.equals(e.getReason()) ? timeoutRejections : queueFullRejections)
+                    .get(tier).increment();
+                return reject(exchange);
+            });
+    }
+
+    @Override
+    public int getOrder() {
+        return GatewayFilterOrder.PRIORITY_ADMISSION;
+    }
+
+    private Mono<Void> reject(ServerWebExchange exchange) {
+        ServerHttpResponse response = exchange.getResponse();
+        if (response.isCommitted()) {
+            return Mono.empty();
+        }
+        response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, retryAfter);
+        return response.setComplete();
+    }
+
+    private static Counter rejectionCounter(MeterRegistry meterRegistry, String tier, String reason) {
+        return Counter.builder("gateway.admission.rejections")
+            .tag("tier", tier)
+            .tag("reason", reason)
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,40 @@
+package com.ecommerce.gateway.admission;
+
+import com.ecommerce.common.security.threat.AdvancedThreatDetector;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class PriorityClassifier {
+
+    private static final List<PathPattern> CHECKOUT_PATHS = List.of(
+        PathPatternParser.defaultInstance.parse("/api/orders/**"),
+        PathPatternParser.defaultInstance.parse("/api/payments/**")
+    );
+
+    private final AdvancedThreatDetector threatDetector;
+
+    public PriorityTier classify(ServerHttpRequest request) {
+        HttpHeaders headers = request.getHeaders();
+        if (threatDetector.isBotUserAgent(headers.getFirst(HttpHeaders.USER_AGENT))) {
+            return PriorityTier.BOT;
+        }
+        for (PathPattern pattern : CHECKOUT_PATHS) {
+            if (pattern.matches(request.getPath().pathWithinApplication())) {
+                return PriorityTier.CHECKOUT;
+            }
+        }
+        String authorization = headers.getFirst(HttpHeaders.AUTHORIZATION);
+        if (authorization != null && authorization.startsWith("Bearer ")) {
+            return PriorityTier.AUTHENTICATED;
+        }
+        return PriorityTier.ANONYMOUS;
+    }
+}
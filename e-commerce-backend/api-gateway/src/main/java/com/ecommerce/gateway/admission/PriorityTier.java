@@ -0,0 +1,33 @@
+package com.ecommerce.gateway.admission;
+
+import java.time.Duration;
+
+public enum PriorityTier {
+    CHECKOUT(8, 1_000, Duration.ofSeconds(5)),
+    AUTHENTICATED(4, 1_000, Duration.ofSeconds(2)),
+    ANONYMOUS(2, 500, Duration.ofSeconds(1)),
+    BOT(1, 100, Duration.ofMillis(500));
+
+    // Share of freed permits the tier gets while several tiers are waiting
+    private final int weight;
+    private final int maxQueued;
+    private final Duration maxWait;
+
+    PriorityTier(int weight, int maxQueued, Duration maxWait) {
+        this.weight = weight;
+        this.maxQueued = maxQueued;
+        this.maxWait = maxWait;
+    }
+
+    public int getWeight() {
+        return weight;
+    }
+
+    public int getMaxQueued() {
+        return maxQueued;
+    }
+
+    public Duration getMaxWait() {
+        return maxWait;
+    }
+}
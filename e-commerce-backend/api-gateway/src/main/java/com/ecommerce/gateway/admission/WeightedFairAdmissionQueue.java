@@ -0,0 +1,141 @@
+package com.ecommerce.gateway.admission;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded pool of upstream permits handed out by stride scheduling across priority tiers. While permits are
+ * free every request is admitted at once; under contention each tier receives freed permits in proportion to
+ * its weight, so checkout keeps moving while browse traffic waits, and is dropped, first.
+ */
+public class WeightedFairAdmissionQueue {
+
+    private static final long STRIDE_BASE = 1L << 20;
+
+    private final Map<PriorityTier, ArrayDeque<Waiter>> queues = new EnumMap<>(PriorityTier.class);
+    private final Map<PriorityTier, Long> pass = new EnumMap<>(PriorityTier.class);
+    private int available;
+    private long virtualTime;
+
+    public WeightedFairAdmissionQueue(int permits) {
+        this.available = permits;
+        for (PriorityTier tier : PriorityTier.values()) {
+            queues.put(tier, new ArrayDeque<>());
+            pass.put(tier, 0L);
+        }
+    }
+
+    /**
+     * Emits once a permit is granted; errors with {@link AdmissionRejectedException} when the tier's queue
+     * is full. The caller must {@link #release()} every granted permit; cancelling while queued is safe.
+     */
+    public Mono<Void> acquire(PriorityTier tier) {
+        return Mono.create(sink -> {
+            Waiter waiter = new Waiter(tier, sink);
+            boolean granted;
+            synchronized (this) {
+                if (available > 0 && allQueuesEmpty()) {
+                    available--;
+                    granted = true;
+                } else if (queues.get(tier).size() >= tier.getMaxQueued()) {
+                    sink.error(new AdmissionRejectedException(tier, AdmissionRejectedException.QUEUE_FULL));
+                    return;
+                } else {
+                    enqueue(waiter);
+                    granted = false;
+                }
+            }
+            if (granted) {
+                sink.success();
+                return;
+            }
+            sink.onCancel(() -> {
+                if (waiter.state.compareAndSet(Waiter.WAITING, Waiter.CANCELLED)) {
+                    synchronized (this) {
+                        queues.get(tier).remove(waiter);
+                    }
+                } else if (waiter.state.get() == Waiter.GRANTED) {
+                    // Granted concurrently with the cancel, the permit never reached the caller
+                    release();
+                }
+            });
+        });
+    }
+
+    public void release() {
+        while (true) {
+            Waiter next;
+            synchronized (this) {
+                next = pollNext();
+                if (next == null) {
+                    available++;
+                    return;
+                }
+            }
+            // A waiter may have been cancelled after it was dequeued; hand the permit to the next one then
+            if (next.state.compareAndSet(Waiter.WAITING, Waiter.GRANTED)) {
+                next.sink.success();
+                return;
+            }
+        }
+    }
+
+    public synchronized int queued(PriorityTier tier) {
+        return queues.get(tier).size();
+    }
+
+    private void enqueue(Waiter waiter) {
+        ArrayDeque<Waiter> queue = queues.get(waiter.tier);
+        if (queue.isEmpty()) {
+            // A tier that was idle rejoins at the current virtual time instead of cashing in saved credit
+            pass.put(waiter.tier, Math.max(pass.get(waiter.tier), virtualTime));
+        }
+        queue.addLast(waiter);
+    }
+
+    private Waiter pollNext() {
+        PriorityTier chosen = null;
+        long lowest = Long.MAX_VALUE;
+        for (PriorityTier tier : PriorityTier.values()) {
+            if (!queues.get(tier).isEmpty() && pass.get(tier) < lowest) {
+                lowest = pass.get(tier);
+                chosen = tier;
+            }
+        }
+        if (chosen == null) {
+            return null;
+        }
+        virtualTime = lowest;
+        pass.put(chosen, lowest + STRIDE_BASE / chosen.getWeight());
+        return queues.get(chosen).pollFirst();
+    }
+
+    private boolean allQueuesEmpty() {
+        for (ArrayDeque<Waiter> queue : queues.values()) {
+            if (!queue.isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static final class Waiter {
+        private static final int WAITING = 0;
+        private static final int GRANTED = 1;
+        private static final int CANCELLED = 2;
+
+        private final PriorityTier tier;
+        private final MonoSink<Void> sink;
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+
+        private Waiter(PriorityTier tier, MonoSink<Void> sink) {
+            this.tier = tier;
+            this.sink = sink;
+        }
+    }
+}
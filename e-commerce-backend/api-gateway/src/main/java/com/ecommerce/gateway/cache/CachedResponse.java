@@ -0,0 +1,15 @@
+package com.ecommerce.gateway.cache;
+
+import com.ecommerce.gateway.support.BufferedResponse;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public class CachedResponse {
+
+    private final BufferedResponse response;
+    private final String etag;
+    // Product the entry describes, or null for listings/searches that any product change can affect
+    private final String productId;
+}
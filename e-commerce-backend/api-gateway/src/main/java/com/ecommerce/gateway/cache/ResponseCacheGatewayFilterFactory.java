@@ -0,0 +1,156 @@
+package com.ecommerce.gateway.cache;
+
+import com.ecommerce.gateway.filter.GatewayFilterOrder;
+import com.ecommerce.gateway.support.BufferedResponse;
+import com.ecommerce.gateway.support.BufferedServerHttpResponse;
+import lombok.Data;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Caches successful GET responses per route and answers If-None-Match revalidation with 304.
+ */
+@Component
+public class ResponseCacheGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<ResponseCacheGatewayFilterFactory.Config> {
+
+    public static final String CACHE_STATUS_HEADER = "X-Cache";
+
+    private final ResponseCacheRegistry registry;
+
+    public ResponseCacheGatewayFilterFactory(ResponseCacheRegistry registry) {
+        super(Config.class);
+        this.registry = registry;
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("name", "ttl", "maxEntries");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        RouteResponseCache cache = registry.getOrCreate(
+            config.getName(), config.getTtl(), config.getMaxEntries(), (int) config.getMaxBodySize().toBytes());
+        PathPattern itemPattern = PathPatternParser.defaultInstance.parse(config.getItemPathPattern());
+
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            if (request.getMethod() != HttpMethod.GET) {
+                return chain.filter(exchange);
+            }
+
+            String key = cacheKey(cache.getName(), request);
+            boolean bypass = isNoCache(request.getHeaders());
+            if (!bypass) {
+                CachedResponse cached = cache.get(key);
+                if (cached != null) {
+                    cache.record(RouteResponseCache.Result.HIT);
+                    return respond(exchange, cached, "HIT");
+                }
+            }
+            cache.record(bypass ? RouteResponseCache.Result.BYPASS : RouteResponseCache.Result.MISS);
+
+            String productId = productId(itemPattern, request);
+            BufferedServerHttpResponse buffered = new BufferedServerHttpResponse(exchange.getResponse().bufferFactory());
+            return chain.filter(exchange.mutate().response(buffered).build())
+                .then(Mono.defer(() -> {
+                    BufferedResponse downstream = buffered.toBufferedResponse();
+                    CachedResponse stored = cache.store(key, productId, downstream);
+                    if (stored != null) {
+                        return respond(exchange, stored, "MISS");
+                    }
+                    exchange.getResponse().getHeaders().set(CACHE_STATUS_HEADER, "BYPASS");
+                    return downstream.writeTo(exchange.getResponse());
+                }));
+        }, GatewayFilterOrder.RESPONSE_CACHE);
+    }
+
+    private Mono<Void> respond(ServerWebExchange exchange, CachedResponse cached, String cacheStatus) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.getHeaders().set(CACHE_STATUS_HEADER, cacheStatus);
+        response.getHeaders().setETag(cached.getEtag());
+
+        if (matchesEtag(exchange.getRequest().getHeaders().getIfNoneMatch(), cached.getEtag())) {
+            HttpHeaders stored = cached.getResponse().getHeaders();
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            copyIfPresent(stored, response.getHeaders(), HttpHeaders.CACHE_CONTROL);
+            copyIfPresent(stored, response.getHeaders(), HttpHeaders.VARY);
+            copyIfPresent(stored, response.getHeaders(), HttpHeaders.LAST_MODIFIED);
+            return response.setComplete();
+        }
+        return cached.getResponse().writeTo(response);
+    }
+
+    private static String cacheKey(String cacheName, ServerHttpRequest request) {
+        HttpHeaders headers = request.getHeaders();
+        return cacheName + '|' + request.getURI().getRawPath()
+            + '?' + (request.getURI().getRawQuery() != null ? request.getURI().getRawQuery() : "")
+            + '|' + String.join(",", headers.getOrEmpty(HttpHeaders.ACCEPT))
+            + '|' + String.join(",", headers.getOrEmpty(HttpHeaders.ACCEPT_ENCODING));
+    }
+
+    private static String productId(PathPattern itemPattern, ServerHttpRequest request) {
+        // Only plain item reads are tagged; listings and searches are dropped on any product change
+        if (request.getURI().getRawQuery() != null) {
+            return null;
+        }
+        PathPattern.PathMatchInfo match = itemPattern.matchAndExtract(request.getPath().pathWithinApplication());
+        return match != null ? match.getUriVariables().get("id") : null;
+    }
+
+    private static boolean isNoCache(HttpHeaders headers) {
+        String cacheControl = headers.getCacheControl();
+        if (cacheControl != null) {
+            String directives = cacheControl.toLowerCase(Locale.ROOT);
+            return directives.contains("no-cache") || directives.contains("no-store");
+        }
+        return headers.getOrEmpty(HttpHeaders.PRAGMA).contains("no-cache");
+    }
+
+    private static boolean matchesEtag(List<String> ifNoneMatch, String etag) {
+        String opaque = stripWeak(etag);
+        for (String candidate : ifNoneMatch) {
+            if ("*".equals(candidate) || stripWeak(candidate).equals(opaque)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String stripWeak(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    private static void copyIfPresent(HttpHeaders from, HttpHeaders to, String name) {
+        List<String> values = from.get(name);
+        if (values != null) {
+            to.put(name, values);
+        }
+    }
+
+    @Data
+    public static class Config {
+        private String name = "default";
+        private Duration ttl = Duration.ofSeconds(30);
+        private int maxEntries = 10_000;
+        private DataSize maxBodySize = DataSize.ofKilobytes(256);
+        private String itemPathPattern = "/api/products/{id}";
+    }
+}
@@ -0,0 +1,37 @@
+package com.ecommerce.gateway.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ResponseCacheRegistry {
+
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, RouteResponseCache> caches = new ConcurrentHashMap<>();
+
+    public RouteResponseCache getOrCreate(String name, Duration ttl, int maxEntries, int maxBodySize) {
+        return caches.computeIfAbsent(name,
+            key -> new RouteResponseCache(key, ttl, maxEntries, maxBodySize, meterRegistry));
+    }
+
+    public Collection<RouteResponseCache> getCaches() {
+        return caches.values();
+    }
+
+    public void invalidateProduct(String productId) {
+        int evicted = 0;
+        for (RouteResponseCache cache : caches.values()) {
+            evicted += productId != null ? cache.invalidateProduct(productId) : cache.invalidateAll();
+        }
+        log.debug("Invalidated {} cached responses for product {}", evicted, productId);
+    }
+}
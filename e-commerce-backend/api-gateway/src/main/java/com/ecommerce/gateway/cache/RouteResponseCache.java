@@ -0,0 +1,116 @@
+package com.ecommerce.gateway.cache;
+
+import com.ecommerce.common.cache.BoundedTtlCache;
+import com.ecommerce.gateway.support.BufferedResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.DigestUtils;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class RouteResponseCache {
+
+    private static final Pattern MAX_AGE = Pattern.compile("(?:^|[,\\s])(?:s-maxage|max-age)=(\\d+)");
+
+    private final String name;
+    private final long ttlMillis;
+    private final int maxBodySize;
+    private final BoundedTtlCache<String, CachedResponse> entries;
+    private final Map<Result, Counter> requests = new EnumMap<>(Result.class);
+    private final Map<BoundedTtlCache.RemovalCause, Counter> evictions = new EnumMap<>(BoundedTtlCache.RemovalCause.class);
+
+    public enum Result {
+        HIT,
+        MISS,
+        BYPASS
+    }
+
+    public RouteResponseCache(String name, Duration ttl, int maxEntries, int maxBodySize, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.ttlMillis = ttl.toMillis();
+        this.maxBodySize = maxBodySize;
+        this.entries = new BoundedTtlCache<>(maxEntries, (key, value, cause) -> evictions.get(cause).increment());
+
+        for (Result result : Result.values()) {
+            requests.put(result, Counter.builder("gateway.response.cache.requests")
+                .tag("cache", name)
+                .tag("result", result.name().toLowerCase(Locale.ROOT))
+                .register(meterRegistry));
+        }
+        for (BoundedTtlCache.RemovalCause cause : BoundedTtlCache.RemovalCause.values()) {
+            evictions.put(cause, Counter.builder("gateway.response.cache.evictions")
+                .tag("cache", name)
+                .tag("cause", cause.name().toLowerCase(Locale.ROOT))
+                .register(meterRegistry));
+        }
+        Gauge.builder("gateway.response.cache.size", entries, BoundedTtlCache::size)
+            .tag("cache", name)
+            .register(meterRegistry);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public CachedResponse get(String key) {
+        return entries.get(key);
+    }
+
+    public void record(Result result) {
+        requests.get(result).increment();
+    }
+
+    /**
+     * Stores the response if it is safe to share between clients; returns null otherwise.
+     */
+    public CachedResponse store(String key, String productId, BufferedResponse response) {
+        if (response.getStatus().value() != HttpStatus.OK.value() || response.getBody().length > maxBodySize) {
+            return null;
+        }
+        HttpHeaders headers = response.getHeaders();
+        if (headers.containsKey(HttpHeaders.SET_COOKIE) || headers.getVary().contains("*")) {
+            return null;
+        }
+        String cacheControl = headers.getCacheControl();
+        long ttl = ttlMillis;
+        if (cacheControl != null) {
+            String directives = cacheControl.toLowerCase(Locale.ROOT);
+            if (directives.contains("no-store") || directives.contains("private") || directives.contains("no-cache")) {
+                return null;
+            }
+            // Never keep an entry longer than the origin allows
+            Matcher maxAge = MAX_AGE.matcher(directives);
+            if (maxAge.find()) {
+                ttl = Math.min(ttl, Long.parseLong(maxAge.group(1)) * 1000);
+            }
+        }
+        if (ttl <= 0) {
+            return null;
+        }
+
+        String etag = headers.getETag();
+        if (etag == null) {
+            etag = "\"" + DigestUtils.md5DigestAsHex(response.getBody()) + "\"";
+        }
+        CachedResponse cached = new CachedResponse(response, etag, productId);
+        entries.put(key, cached, ttl);
+        return cached;
+    }
+
+    public int invalidateProduct(String productId) {
+        return entries.invalidateIf((key, cached) ->
+            cached.getProductId() == null || cached.getProductId().equals(productId));
+    }
+
+    public int invalidateAll() {
+        return entries.invalidateIf((key, cached) -> true);
+    }
+}
@@ -0,0 +1,26 @@
+package com.ecommerce.gateway.checkout;
+
+import com.ecommerce.gateway.checkout.dto.CheckoutSummary;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+@RestController
+@ConditionalOnProperty(prefix = "gateway.checkout-summary", name = "cart-uri")
+@RequestMapping("/api/checkout-summary")
+@RequiredArgsConstructor
+public class CheckoutSummaryController {
+
+    private final CheckoutSummaryService checkoutSummaryService;
+
+    @GetMapping
+    public Mono<ResponseEntity<CheckoutSummary>> getCheckoutSummary(ServerHttpRequest request) {
+        return checkoutSummaryService.summarize(request.getHeaders())
+            .map(ResponseEntity::ok);
+    }
+}
@@ -0,0 +1,159 @@
+package com.ecommerce.gateway.checkout;
+
+import com.ecommerce.common.security.identity.IdentityHeaders;
+import com.ecommerce.gateway.checkout.dto.CartView;
+import com.ecommerce.gateway.checkout.dto.CheckoutLine;
+import com.ecommerce.gateway.checkout.dto.CheckoutSummary;
+import com.ecommerce.gateway.checkout.dto.ProductView;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Builds the checkout page payload in one request. The cart is fetched first because it decides which
+ * products to look up; names, prices and stock levels then come from product-service's batch endpoint, one
+ * call per {@code product-batch-size} distinct products, so the page costs cart + one batch round trip. The
+ * caller's token and the signed identity headers are forwarded on every call.
+ * <p>
+ * Only active when {@code gateway.checkout-summary.cart-uri} names an endpoint that returns the signed-in
+ * user's cart; there is no default for it.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(prefix = "gateway.checkout-summary", name = "cart-uri")
+public class CheckoutSummaryService {
+
+    private static final String PRODUCT_SOURCE = "product-service";
+    private static final List<String> PRODUCT_FIELDS = List.of("name", "price", "stockQuantity");
+    private static final List<String> FORWARDED_HEADERS = Stream.concat(
+        Stream.of(HttpHeaders.AUTHORIZATION), IdentityHeaders.ALL.stream()).toList();
+
+    private final WebClient webClient;
+
+    @Value("${gateway.checkout-summary.cart-uri}")
+    private String cartUri;
+
+    @Value("${gateway.checkout-summary.product-batch-uri:http://product-service/batch}")
+    private String productBatchUri;
+
+    // product-service rejects larger batches (products.batch.max-ids)
+    @Value("${gateway.checkout-summary.product-batch-size:200}")
+    private int productBatchSize;
+
+    @Value("${gateway.checkout-summary.cart-timeout:800ms}")
+    private Duration cartTimeout;
+
+    @Value("${gateway.checkout-summary.product-timeout:500ms}")
+    private Duration productTimeout;
+
+    public CheckoutSummaryService(WebClient.Builder loadBalancedWebClientBuilder) {
+        this.webClient = loadBalancedWebClientBuilder.build();
+    }
+
+    public Mono<CheckoutSummary> summarize(HttpHeaders incoming) {
+        return fetchCart(incoming).flatMap(cart -> {
+            List<CartView.Item> items = cart.getItems() != null ? cart.getItems() : List.of();
+            if (items.isEmpty()) {
+                return Mono.just(new CheckoutSummary(List.of(), BigDecimal.ZERO, false, List.of()));
+            }
+            List<String> productIds = items.stream().map(CartView.Item::getProductId).distinct().toList();
+            return fetchProducts(productIds, incoming).map(products -> assemble(items, products));
+        });
+    }
+
+    private Mono<CartView> fetchCart(HttpHeaders incoming) {
+        return webClient.get()
+            .uri(cartUri)
+            .headers(headers -> forwardIdentity(headers, incoming))
+            .retrieve()
+            .bodyToMono(CartView.class)
+            .timeout(cartTimeout)
+            .onErrorMap(e -> {
+                if (e instanceof WebClientResponseException response && response.getStatusCode().is4xxClientError()) {
+                    // e.g. 401 for a missing or expired token: pass it through unchanged
+                    return new ResponseStatusException(response.getStatusCode(), response.getStatusText());
+                }
+                // Without the cart there is nothing to summarise, so this one is not optional
+                log.warn("Cart lookup failed for checkout summary: {}", e.toString());
+                return new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Cart is temporarily unavailable", e);
+            });
+    }
+
+    private Mono<Map<String, ProductView>> fetchProducts(List<String> productIds, HttpHeaders incoming) {
+        return Flux.fromIterable(productIds)
+            .buffer(productBatchSize)
+            .flatMap(ids -> webClient.post()
+                .uri(productBatchUri)
+                .headers(headers -> forwardIdentity(headers, incoming))
+                .bodyValue(Map.of("ids", ids, "fields", PRODUCT_FIELDS))
+                .retrieve()
+                .bodyToMono(BatchResponse.class)
+                .timeout(productTimeout)
+                .onErrorResume(e -> {
+                    log.debug("Products unavailable for checkout summary: {}", e.toString());
+                    return Mono.empty();
+                }))
+            .flatMapIterable(batch -> batch.getProducts() != null ? batch.getProducts().entrySet() : List.of())
+            .collectMap(Map.Entry::getKey, entry -> {
+                entry.getValue().setId(entry.getKey());
+                return entry.getValue();
+            });
+    }
+
+    private CheckoutSummary assemble(List<CartView.Item> items, Map<String, ProductView> products) {
+        List<CheckoutLine> lines = new ArrayList<>(items.size());
+        BigDecimal subtotal = BigDecimal.ZERO;
+        boolean productsMissing = false;
+
+        for (CartView.Item item : items) {
+            ProductView product = products.get(item.getProductId());
+            Boolean inStock = product != null && product.getStockQuantity() != null
+                ? product.getStockQuantity() >= item.getQuantity() : null;
+            productsMissing |= product == null || product.getPrice() == null || inStock == null;
+
+            BigDecimal unitPrice = product != null ? product.getPrice() : null;
+            BigDecimal lineTotal = unitPrice != null ? unitPrice.multiply(BigDecimal.valueOf(item.getQuantity())) : null;
+            if (lineTotal != null) {
+                subtotal = subtotal.add(lineTotal);
+            }
+            lines.add(new CheckoutLine(item.getProductId(), item.getQuantity(),
+                product != null ? product.getName() : null,
+                unitPrice, lineTotal, inStock));
+        }
+
+        List<String> degraded = productsMissing ? List.of(PRODUCT_SOURCE) : List.of();
+        return new CheckoutSummary(lines, subtotal, productsMissing, degraded);
+    }
+
+    private static void forwardIdentity(HttpHeaders headers, HttpHeaders incoming) {
+        for (String name : FORWARDED_HEADERS) {
+            List<String> values = incoming.get(name);
+            if (values != null) {
+                headers.put(name, values);
+            }
+        }
+    }
+
+    @Data
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    static class BatchResponse {
+        private Map<String, ProductView> products;
+    }
+}
@@ -0,0 +1,21 @@
+package com.ecommerce.gateway.checkout.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class CartView {
+    private String userId;
+    private List<Item> items = new ArrayList<>();
+
+    @Data
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Item {
+        private String productId;
+        private int quantity;
+    }
+}
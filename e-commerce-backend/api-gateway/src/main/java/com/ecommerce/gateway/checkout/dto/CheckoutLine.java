@@ -0,0 +1,20 @@
+package com.ecommerce.gateway.checkout.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CheckoutLine {
+    private String productId;
+    private int quantity;
+    private String name;
+    private BigDecimal unitPrice;
+    private BigDecimal lineTotal;
+    // null when product-service did not answer in time
+    private Boolean inStock;
+}
@@ -0,0 +1,19 @@
+package com.ecommerce.gateway.checkout.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CheckoutSummary {
+    private List<CheckoutLine> items;
+    private BigDecimal subtotal;
+    // True when product or stock data is missing for at least one line; the client should show what it has
+    private boolean partial;
+    private List<String> degradedSources;
+}
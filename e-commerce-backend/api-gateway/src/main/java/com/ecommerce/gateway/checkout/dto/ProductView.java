@@ -0,0 +1,15 @@
+package com.ecommerce.gateway.checkout.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ProductView {
+    private String id;
+    private String name;
+    private BigDecimal price;
+    private Integer stockQuantity;
+}
@@ -0,0 +1,148 @@
+package com.ecommerce.gateway.coalesce;
+
+import com.ecommerce.gateway.filter.GatewayFilterOrder;
+import com.ecommerce.gateway.support.BufferedResponse;
+import com.ecommerce.gateway.support.BufferedServerHttpResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Single-flight for idempotent reads: the first request for a key goes upstream, identical requests
+ * arriving while it is in flight wait for its response instead of issuing their own call.
+ */
+@Slf4j
+@Component
+public class CoalescingGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<CoalescingGatewayFilterFactory.Config> {
+
+    private final RequestKeyResolver defaultKeyResolver;
+    private final MeterRegistry meterRegistry;
+
+    public CoalescingGatewayFilterFactory(DefaultRequestKeyResolver defaultKeyResolver, MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.defaultKeyResolver = defaultKeyResolver;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("name", "maxWaiters", "timeout");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        RequestKeyResolver keyResolver = config.getKeyResolver() != null ? config.getKeyResolver() : defaultKeyResolver;
+        ConcurrentMap<String, InFlight> inFlight = new ConcurrentHashMap<>();
+
+        Counter leaders = requests(config.getName(), "leader");
+        Counter followers = requests(config.getName(), "follower");
+        Counter bypassed = requests(config.getName(), "bypass");
+        Counter fallbacks = requests(config.getName(), "fallback");
+        Gauge.builder("gateway.coalescing.inflight", inFlight, ConcurrentMap::size)
+            .tag("route", config.getName())
+            .register(meterRegistry);
+
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            HttpMethod method = exchange.getRequest().getMethod();
+            if (method != HttpMethod.GET && method != HttpMethod.HEAD) {
+                return chain.filter(exchange);
+            }
+
+            return keyResolver.resolve(exchange)
+                .map(key -> {
+                    InFlight candidate = new InFlight();
+                    InFlight existing = inFlight.putIfAbsent(key, candidate);
+                    if (existing == null) {
+                        leaders.increment();
+                        return lead(exchange, chain, key, candidate, inFlight);
+                    }
+                    if (existing.waiters.incrementAndGet() > config.getMaxWaiters()) {
+                        bypassed.increment();
+                        return chain.filter(exchange);
+                    }
+                    followers.increment();
+                    return existing.result.asMono()
+                        .timeout(config.getTimeout())
+                        .filter(CoalescingGatewayFilterFactory::isShareable)
+                        .switchIfEmpty(Mono.error(() -> new IllegalStateException("Response is not shareable")))
+                        .flatMap(response -> response.writeTo(exchange.getResponse()))
+                        .onErrorResume(e -> {
+                            // Leader failed, was too slow or got a per-user answer: make our own call
+                            fallbacks.increment();
+                            log.debug("Coalesced request for {} falling back: {}", key, e.toString());
+                            return chain.filter(exchange);
+                        });
+                })
+                .switchIfEmpty(Mono.fromSupplier(() -> {
+                    bypassed.increment();
+                    return chain.filter(exchange);
+                }))
+                .flatMap(call -> call);
+        }, GatewayFilterOrder.COALESCING);
+    }
+
+    private Mono<Void> lead(ServerWebExchange exchange, GatewayFilterChain chain, String key,
+                            InFlight flight, ConcurrentMap<String, InFlight> inFlight) {
+        BufferedServerHttpResponse buffered = new BufferedServerHttpResponse(exchange.getResponse().bufferFactory());
+        return chain.filter(exchange.mutate().response(buffered).build())
+            .then(Mono.fromSupplier(buffered::toBufferedResponse))
+            .doOnNext(response -> {
+                // Unregister before publishing so late arrivals start a fresh call rather than reuse this one
+                inFlight.remove(key, flight);
+                flight.result.tryEmitValue(response);
+            })
+            .doFinally(signal -> {
+                inFlight.remove(key, flight);
+                flight.result.tryEmitError(new CancellationException("Coalesced upstream call ended with " + signal));
+            })
+            .flatMap(response -> response.writeTo(exchange.getResponse()));
+    }
+
+    private static boolean isShareable(BufferedResponse response) {
+        HttpHeaders headers = response.getHeaders();
+        String cacheControl = headers.getCacheControl();
+        return !headers.containsKey(HttpHeaders.SET_COOKIE)
+            && (cacheControl == null || !cacheControl.toLowerCase(Locale.ROOT).contains("private"));
+    }
+
+    private Counter requests(String name, String role) {
+        return Counter.builder("gateway.coalescing.requests")
+            .tag("route", name)
+            .tag("role", role)
+            .register(meterRegistry);
+    }
+
+    private static class InFlight {
+        private final Sinks.One<BufferedResponse> result = Sinks.one();
+        private final AtomicInteger waiters = new AtomicInteger();
+    }
+
+    @Data
+    public static class Config {
+        private String name = "default";
+        private int maxWaiters = 1_000;
+        private Duration timeout = Duration.ofSeconds(5);
+        private RequestKeyResolver keyResolver;
+    }
+}
@@ -0,0 +1,39 @@
+package com.ecommerce.gateway.coalesce;
+
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@Component
+public class DefaultRequestKeyResolver implements RequestKeyResolver {
+
+    // Headers that change the representation product-service returns
+    private static final List<String> VARY_HEADERS = List.of(
+        HttpHeaders.ACCEPT,
+        HttpHeaders.ACCEPT_ENCODING,
+        HttpHeaders.ACCEPT_LANGUAGE
+    );
+
+    @Override
+    public Mono<String> resolve(ServerWebExchange exchange) {
+        ServerHttpRequest request = exchange.getRequest();
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        StringBuilder key = new StringBuilder()
+            .append(route != null ? route.getId() : "").append('|')
+            .append(request.getMethod().name()).append(' ')
+            .append(request.getURI().getRawPath()).append('?');
+        if (request.getURI().getRawQuery() != null) {
+            key.append(request.getURI().getRawQuery());
+        }
+        for (String header : VARY_HEADERS) {
+            key.append('|').append(String.join(",", request.getHeaders().getOrEmpty(header)));
+        }
+        return Mono.just(key.toString());
+    }
+}
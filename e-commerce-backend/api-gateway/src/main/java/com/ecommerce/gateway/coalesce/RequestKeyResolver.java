@@ -0,0 +1,14 @@
+package com.ecommerce.gateway.coalesce;
+
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Decides which requests are interchangeable. Requests resolving to the same key while one of them is
+ * in flight share a single upstream call; an empty result opts the request out of coalescing.
+ */
+@FunctionalInterface
+public interface RequestKeyResolver {
+
+    Mono<String> resolve(ServerWebExchange exchange);
+}
@@ -0,0 +1,16 @@
+package com.ecommerce.gateway.config;
+
+import com.ecommerce.common.hedging.HedgeBudget;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class HedgingConfig {
+
+    // One budget for all routes so hedging never adds more than the ratio in extra upstream load
+    @Bean
+    public HedgeBudget hedgeBudget(@Value("${gateway.hedging.budget-ratio:0.05}") double budgetRatio) {
+        return new HedgeBudget(budgetRatio, 10);
+    }
+}
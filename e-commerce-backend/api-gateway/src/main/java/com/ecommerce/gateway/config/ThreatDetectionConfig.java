@@ -0,0 +1,15 @@
+package com.ecommerce.gateway.config;
+
+import com.ecommerce.common.security.threat.AdvancedThreatDetector;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ThreatDetectionConfig {
+
+    // The gateway does not scan com.ecommerce.common, so the shared detector is registered explicitly
+    @Bean
+    public AdvancedThreatDetector advancedThreatDetector() {
+        return new AdvancedThreatDetector();
+    }
+}
@@ -0,0 +1,20 @@
+package com.ecommerce.gateway.filter;
+
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+
+public final class GatewayFilterOrder {
+
+    // Filters that replace the client response must run before NettyWriteResponseFilter,
+    // otherwise it writes the downstream body straight to the original response.
+    public static final int RESPONSE_CACHE = NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 50;
+    // Runs after the cache so only cache misses are collapsed
+    public static final int COALESCING = NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 40;
+    public static final int PRIORITY_ADMISSION = NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 30;
+    // Only requests that will really go upstream take a permit
+    public static final int CONCURRENCY_LIMIT = NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 20;
+    // Closest to the upstream call so each attempt goes through load balancing on its own
+    public static final int HEDGING = NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 10;
+
+    private GatewayFilterOrder() {
+    }
+}
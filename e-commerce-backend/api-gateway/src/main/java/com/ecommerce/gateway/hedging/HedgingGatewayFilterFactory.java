@@ -0,0 +1,155 @@
+package com.ecommerce.gateway.hedging;
+
+import com.ecommerce.common.hedging.HedgeBudget;
+import com.ecommerce.common.hedging.LatencyPercentileTracker;
+import com.ecommerce.common.loadbalancer.LatencyAwareLoadBalancer;
+import com.ecommerce.common.loadbalancer.LatencyStatsRegistry;
+import com.ecommerce.gateway.filter.GatewayFilterOrder;
+import com.ecommerce.gateway.support.BufferedResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Data;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Opt-in hedging for idempotent routes: if the first attempt is slower than the route's latency percentile,
+ * a second attempt is sent to a different instance and the first response wins. The loser is cancelled, and
+ * its instance's in-flight count released, since the load balancer lifecycle never hears about a cancellation.
+ */
+@Component
+public class HedgingGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<HedgingGatewayFilterFactory.Config> {
+
+    private final HedgeBudget hedgeBudget;
+    private final MeterRegistry meterRegistry;
+    private final LoadBalancerClientFactory loadBalancerClientFactory;
+
+    public HedgingGatewayFilterFactory(HedgeBudget hedgeBudget, MeterRegistry meterRegistry,
+                                       LoadBalancerClientFactory loadBalancerClientFactory) {
+        super(Config.class);
+        this.hedgeBudget = hedgeBudget;
+        this.meterRegistry = meterRegistry;
+        this.loadBalancerClientFactory = loadBalancerClientFactory;
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("name", "percentile");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        LatencyPercentileTracker tracker = new LatencyPercentileTracker(
+            config.getWindowSize(), config.getPercentile(), config.getMinDelay(), config.getMaxDelay());
+        Counter requests = counter("gateway.hedging.requests", config.getName(), null);
+        Counter hedges = counter("gateway.hedging.hedges", config.getName(), null);
+        Counter primaryWins = counter("gateway.hedging.wins", config.getName(), "primary");
+        Counter hedgeWins = counter("gateway.hedging.wins", config.getName(), "hedge");
+
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            HttpMethod method = exchange.getRequest().getMethod();
+            if (method != HttpMethod.GET && method != HttpMethod.HEAD) {
+                return chain.filter(exchange);
+            }
+            requests.increment();
+            hedgeBudget.onRequest();
+
+            IsolatedAttemptExchange primaryExchange = new IsolatedAttemptExchange(exchange);
+            long start = System.nanoTime();
+            Mono<Attempt> primary = attempt(primaryExchange, chain, false)
+                .doOnNext(result -> tracker.record(System.nanoTime() - start));
+
+            Mono<Attempt> hedge = Mono.delay(tracker.hedgeDelay())
+                .filter(tick -> hedgeBudget.tryAcquire())
+                .flatMap(tick -> {
+                    hedges.increment();
+                    IsolatedAttemptExchange hedgeExchange = new IsolatedAttemptExchange(exchange);
+                    String primaryInstance = instanceOf(primaryExchange);
+                    if (primaryInstance != null) {
+                        hedgeExchange.getAttributes().put(LatencyAwareLoadBalancer.AVOID_INSTANCE_ATTR, primaryInstance);
+                    }
+                    return attempt(hedgeExchange, chain, true);
+                })
+                // A failed or skipped hedge never decides the outcome; the primary still can
+                .onErrorResume(e -> Mono.never())
+                .switchIfEmpty(Mono.never());
+
+            return Mono.firstWithSignal(primary, hedge)
+                .flatMap(winner -> {
+                    (winner.hedge() ? hedgeWins : primaryWins).increment();
+                    return winner.response().writeTo(exchange.getResponse());
+                });
+        }, GatewayFilterOrder.HEDGING);
+    }
+
+    private Mono<Attempt> attempt(IsolatedAttemptExchange attemptExchange, GatewayFilterChain chain, boolean hedge) {
+        AtomicBoolean routed = new AtomicBoolean();
+        return chain.filter(attemptExchange)
+            .doOnTerminate(() -> routed.set(true))
+            .doOnCancel(() -> {
+                if (!routed.get()) {
+                    abandon(attemptExchange);
+                }
+            })
+            .then(Mono.fromSupplier(() -> new Attempt(attemptExchange.getBufferedResponse().toBufferedResponse(), hedge)));
+    }
+
+    // The load balancer filter counted the request as started; only we know it will never finish
+    private void abandon(ServerWebExchange attemptExchange) {
+        Response<ServiceInstance> lbResponse =
+            attemptExchange.getAttribute(ServerWebExchangeUtils.GATEWAY_LOADBALANCER_RESPONSE_ATTR);
+        if (lbResponse == null || !lbResponse.hasServer()) {
+            return;
+        }
+        ServiceInstance server = lbResponse.getServer();
+        LatencyStatsRegistry statsRegistry =
+            loadBalancerClientFactory.getInstance(server.getServiceId(), LatencyStatsRegistry.class);
+        if (statsRegistry != null) {
+            statsRegistry.get(server).requestAbandoned();
+        }
+    }
+
+    private static String instanceOf(ServerWebExchange attemptExchange) {
+        URI url = attemptExchange.getAttribute(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR);
+        if (url == null || "lb".equals(url.getScheme())) {
+            return null;
+        }
+        return url.getHost() + ":" + url.getPort();
+    }
+
+    private Counter counter(String meter, String name, String winner) {
+        Counter.Builder builder = Counter.builder(meter).tag("route", name);
+        if (winner != null) {
+            builder.tag("winner", winner);
+        }
+        return builder.register(meterRegistry);
+    }
+
+    private record Attempt(BufferedResponse response, boolean hedge) {
+    }
+
+    @Data
+    public static class Config {
+        private String name = "default";
+        private double percentile = 0.95;
+        private int windowSize = 1_000;
+        private Duration minDelay = Duration.ofMillis(10);
+        private Duration maxDelay = Duration.ofSeconds(1);
+    }
+}
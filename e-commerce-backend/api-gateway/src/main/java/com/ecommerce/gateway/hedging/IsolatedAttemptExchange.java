@@ -0,0 +1,39 @@
+package com.ecommerce.gateway.hedging;
+
+import com.ecommerce.gateway.support.BufferedServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.ServerWebExchangeDecorator;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Exchange for one upstream attempt. Routing filters record their progress in exchange attributes
+ * (resolved URL, already-routed flag, client response), so concurrent attempts each need their own copy.
+ */
+class IsolatedAttemptExchange extends ServerWebExchangeDecorator {
+
+    private final Map<String, Object> attributes;
+    private final BufferedServerHttpResponse response;
+
+    IsolatedAttemptExchange(ServerWebExchange delegate) {
+        super(delegate);
+        this.attributes = new HashMap<>(delegate.getAttributes());
+        this.response = new BufferedServerHttpResponse(delegate.getResponse().bufferFactory());
+    }
+
+    @Override
+    public ServerHttpResponse getResponse() {
+        return response;
+    }
+
+    @Override
+    public Map<String, Object> getAttributes() {
+        return attributes;
+    }
+
+    BufferedServerHttpResponse getBufferedResponse() {
+        return response;
+    }
+}
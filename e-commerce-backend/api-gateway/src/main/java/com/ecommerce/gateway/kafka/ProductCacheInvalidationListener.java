@@ -0,0 +1,20 @@
+package com.ecommerce.gateway.kafka;
+
+import com.ecommerce.common.kafka.event.ProductEvent;
+import com.ecommerce.gateway.cache.ResponseCacheRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class ProductCacheInvalidationListener {
+
+    private final ResponseCacheRegistry responseCacheRegistry;
+
+    // Every gateway instance keeps its own cache, so each one needs its own consumer group
+    @KafkaListener(topics = "ecommerce.products", groupId = "gateway-cache-${random.uuid}")
+    public void listenProductEvents(ProductEvent productEvent) {
+        responseCacheRegistry.invalidateProduct(productEvent.getProductId());
+    }
+}
@@ -0,0 +1,102 @@
+package com.ecommerce.gateway.limit;
+
+import com.ecommerce.gateway.filter.GatewayFilterOrder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.SignalType;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Per-route adaptive concurrency limit. Requests over the limit are rejected immediately with 503 and
+ * Retry-After rather than queued, so an overloaded downstream sheds load instead of building latency.
+ */
+@Slf4j
+@Component
+public class ConcurrencyLimitGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<ConcurrencyLimitGatewayFilterFactory.Config> {
+
+    private final MeterRegistry meterRegistry;
+
+    public ConcurrencyLimitGatewayFilterFactory(MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("name", "initialLimit", "maxLimit");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(config.getInitialLimit(),
+            config.getMinLimit(), config.getMaxLimit(), config.getSmoothing(), config.getLongWindow(),
+            config.getShortWindow());
+
+        Gauge.builder("gateway.concurrency.limit", limit, GradientConcurrencyLimit::getLimit)
+            .tag("route", config.getName())
+            .register(meterRegistry);
+        Gauge.builder("gateway.concurrency.inflight", limit, GradientConcurrencyLimit::getInflight)
+            .tag("route", config.getName())
+            .register(meterRegistry);
+        Counter rejections = Counter.builder("gateway.concurrency.rejections")
+            .tag("route", config.getName())
+            .register(meterRegistry);
+        String retryAfter = String.valueOf(Math.max(1, config.getRetryAfter().toSeconds()));
+
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            if (!limit.tryAcquire()) {
+                rejections.increment();
+                log.debug("Rejecting request to {}: {} in flight at limit {}",
+                    config.getName(), limit.getInflight(), limit.getLimit());
+                ServerHttpResponse response = exchange.getResponse();
+                response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+                response.getHeaders().set(HttpHeaders.RETRY_AFTER, retryAfter);
+                return response.setComplete();
+            }
+
+            long start = System.nanoTime();
+            return chain.filter(exchange).doFinally(signal -> {
+                if (signal == SignalType.CANCEL) {
+                    limit.release();
+                    return;
+                }
+                HttpStatusCode status = exchange.getResponse().getStatusCode();
+                boolean dropped = signal == SignalType.ON_ERROR || isOverloadStatus(status);
+                limit.onSample(System.nanoTime() - start, dropped);
+            });
+        }, GatewayFilterOrder.CONCURRENCY_LIMIT);
+    }
+
+    private static boolean isOverloadStatus(HttpStatusCode status) {
+        return status != null && (status.value() == HttpStatus.BAD_GATEWAY.value()
+            || status.value() == HttpStatus.SERVICE_UNAVAILABLE.value()
+            || status.value() == HttpStatus.GATEWAY_TIMEOUT.value()
+            || status.value() == HttpStatus.TOO_MANY_REQUESTS.value());
+    }
+
+    @Data
+    public static class Config {
+        private String name = "default";
+        private int initialLimit = 20;
+        private int minLimit = 5;
+        private int maxLimit = 1_000;
+        private double smoothing = 0.2;
+        private int longWindow = 600;
+        private int shortWindow = 10;
+        private Duration retryAfter = Duration.ofSeconds(1);
+    }
+}
@@ -0,0 +1,101 @@
+package com.ecommerce.gateway.limit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit learned from round-trip times, after the gradient approach: while the short-term RTT
+ * stays close to the long-term baseline the limit grows by a queue allowance of roughly sqrt(limit); once
+ * requests start queueing downstream the RTT ratio drops below one and the limit shrinks proportionally.
+ * Dropped requests (5xx, errors) back the limit off multiplicatively.
+ */
+public class GradientConcurrencyLimit {
+
+    private static final double MIN_GRADIENT = 0.5;
+    private static final double BACKOFF_RATIO = 0.9;
+    // Long-term RTT is allowed to exceed the short-term one by this much before it is pulled back down
+    private static final double RTT_TOLERANCE = 2.0;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final double longWindowAlpha;
+    private final double shortWindowAlpha;
+    private final AtomicInteger inflight = new AtomicInteger();
+
+    private volatile double limit;
+    private double longRttNanos;
+    private double shortRttNanos;
+
+    public GradientConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double smoothing,
+                                    int longWindow, int shortWindow) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+        this.longWindowAlpha = 2.0 / (longWindow + 1);
+        this.shortWindowAlpha = 2.0 / (shortWindow + 1);
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inflight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+            if (inflight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases a permit without learning from it, e.g. when the client went away.
+     */
+    public void release() {
+        inflight.decrementAndGet();
+    }
+
+    public void onSample(long rttNanos, boolean dropped) {
+        int outstanding = inflight.getAndDecrement();
+        update(rttNanos, outstanding, dropped);
+    }
+
+    private synchronized void update(long rttNanos, int outstanding, boolean dropped) {
+        double current = limit;
+        if (dropped) {
+            limit = Math.max(minLimit, current * BACKOFF_RATIO);
+            return;
+        }
+
+        if (longRttNanos == 0) {
+            longRttNanos = rttNanos;
+            shortRttNanos = rttNanos;
+        } else {
+            longRttNanos += longWindowAlpha * (rttNanos - longRttNanos);
+            shortRttNanos += shortWindowAlpha * (rttNanos - shortRttNanos);
+        }
+        // Recover quickly after a sustained slowdown instead of treating the old slow RTT as the baseline
+        if (longRttNanos / shortRttNanos > RTT_TOLERANCE) {
+            longRttNanos *= 0.95;
+        }
+
+        // Not enough traffic to tell whether a higher limit is safe
+        if (outstanding < current / 2) {
+            return;
+        }
+
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, longRttNanos / shortRttNanos));
+        double queueSize = Math.sqrt(current);
+        double target = current * gradient + queueSize;
+        double next = current * (1 - smoothing) + target * smoothing;
+        limit = Math.max(minLimit, Math.min(maxLimit, next));
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInflight() {
+        return inflight.get();
+    }
+}
@@ -0,0 +1,77 @@
+package com.ecommerce.gateway.security;
+
+import com.ecommerce.common.security.identity.IdentityHeaderSigner;
+import com.ecommerce.common.security.identity.IdentityHeaders;
+import io.jsonwebtoken.JwtException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Verifies the bearer token once at the edge and forwards the caller's identity as signed headers.
+ * Identity headers sent by clients are always removed so they cannot be forged from outside.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JwtIdentityWebFilter implements WebFilter, Ordered {
+
+    public static final String VERIFIED_IDENTITY_ATTR = JwtIdentityWebFilter.class.getName() + ".identity";
+
+    private static final String BEARER_PREFIX = "Bearer ";
+    // Right after Spring Security's WebFilterChainProxy
+    private static final int ORDER = -90;
+
+    private final JwtVerifier jwtVerifier;
+    private final IdentityHeaderSigner identityHeaderSigner;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String authorization = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authorization == null || !authorization.startsWith(BEARER_PREFIX)) {
+            return chain.filter(withIdentity(exchange, null));
+        }
+
+        VerifiedIdentity identity;
+        try {
+            identity = jwtVerifier.verify(authorization.substring(BEARER_PREFIX.length()).trim());
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Rejected bearer token: {}", e.getMessage());
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.UNAUTHORIZED);
+            response.getHeaders().set(HttpHeaders.WWW_AUTHENTICATE, "Bearer error=\"invalid_token\"");
+            return response.setComplete();
+        }
+        exchange.getAttributes().put(VERIFIED_IDENTITY_ATTR, identity);
+        return chain.filter(withIdentity(exchange, identity));
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    private ServerWebExchange withIdentity(ServerWebExchange exchange, VerifiedIdentity identity) {
+        ServerHttpRequest request = exchange.getRequest().mutate().headers(headers -> {
+            IdentityHeaders.ALL.forEach(headers::remove);
+            if (identity != null) {
+                String roles = String.join(",", identity.getRoles());
+                long timestamp = System.currentTimeMillis();
+                headers.set(IdentityHeaders.USER_ID, identity.getUserId());
+                headers.set(IdentityHeaders.USER_ROLES, roles);
+                headers.set(IdentityHeaders.TIMESTAMP, Long.toString(timestamp));
+                headers.set(IdentityHeaders.SIGNATURE, identityHeaderSigner.sign(identity.getUserId(), roles, timestamp));
+            }
+        }).build();
+        return exchange.mutate().request(request).build();
+    }
+}
@@ -0,0 +1,111 @@
+package com.ecommerce.gateway.security;
+
+import com.ecommerce.common.cache.BoundedTtlCache;
+import com.ecommerce.common.security.token.TokenClaims;
+import com.ecommerce.common.security.token.TokenDenylist;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Verifies access tokens with a parser built once at startup and remembers the verified claims until the
+ * token expires, so a client sending the same token on every request is only checked cryptographically once.
+ * Revocation is checked on every call, cached or not.
+ */
+@Component
+public class JwtVerifier {
+
+    private final JwtParser parser;
+    private final BoundedTtlCache<String, VerifiedIdentity> verified;
+    private final TokenDenylist tokenDenylist;
+    private final Counter hits;
+    private final Counter misses;
+
+    public JwtVerifier(@Value("${jwt.secret}") String secret,
+                       @Value("${gateway.jwt.cache.max-entries:100000}") int maxEntries,
+                       TokenDenylist tokenDenylist,
+                       MeterRegistry meterRegistry) {
+        SecretKey key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser().verifyWith(key).build();
+        this.verified = new BoundedTtlCache<>(maxEntries);
+        this.tokenDenylist = tokenDenylist;
+        this.hits = Counter.builder("gateway.jwt.cache.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("gateway.jwt.cache.requests").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("gateway.jwt.cache.size", verified, BoundedTtlCache::size).register(meterRegistry);
+    }
+
+    /**
+     * @throws JwtException if the token is malformed, badly signed, expired, of an old claim version or revoked
+     */
+    public VerifiedIdentity verify(String token) {
+        // Key by digest so the cache never holds usable bearer tokens
+        String key = sha256(token);
+        VerifiedIdentity identity = verified.get(key);
+        if (identity != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+            identity = parse(token);
+            verified.putUntil(key, identity, identity.getExpiresAtMillis());
+        }
+        if (tokenDenylist.isRevoked(identity.getUserId(), identity.getTokenId(), identity.getIssuedAtMillis())) {
+            throw new JwtException("Token has been revoked");
+        }
+        return identity;
+    }
+
+    private VerifiedIdentity parse(String token) {
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        if (claims.getExpiration() == null) {
+            throw new JwtException("Token has no expiration");
+        }
+        Integer version = claims.get(TokenClaims.VERSION, Integer.class);
+        if (version == null || version != TokenClaims.CURRENT_VERSION) {
+            throw new JwtException("Unsupported token version " + version);
+        }
+        String userId = claims.get(TokenClaims.USER_ID, String.class);
+        return new VerifiedIdentity(
+            userId != null ? userId : claims.getSubject(),
+            claims.getSubject(),
+            roles(claims),
+            claims.getId(),
+            claims.getIssuedAt() != null ? claims.getIssuedAt().getTime() : 0L,
+            claims.getExpiration().getTime());
+    }
+
+    public void invalidateAll() {
+        verified.invalidateAll();
+    }
+
+    private static List<String> roles(Claims claims) {
+        Object roles = claims.get(TokenClaims.ROLES);
+        if (roles instanceof Collection<?> values) {
+            return values.stream().map(String::valueOf).toList();
+        }
+        return roles instanceof String value ? List.of(value.split(",")) : List.of();
+    }
+
+    private static String sha256(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
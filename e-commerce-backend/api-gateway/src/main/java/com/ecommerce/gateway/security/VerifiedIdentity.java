@@ -0,0 +1,17 @@
+package com.ecommerce.gateway.security;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@RequiredArgsConstructor
+public class VerifiedIdentity {
+    private final String userId;
+    private final String subject;
+    private final List<String> roles;
+    private final String tokenId;
+    private final long issuedAtMillis;
+    private final long expiresAtMillis;
+}
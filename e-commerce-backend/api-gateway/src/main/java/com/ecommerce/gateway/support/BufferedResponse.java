@@ -0,0 +1,59 @@
+package com.ecommerce.gateway.support;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Fully materialised downstream response that can be replayed onto any number of client responses.
+ */
+public class BufferedResponse {
+
+    private static final List<String> NON_REPLAYABLE_HEADERS = List.of(
+        HttpHeaders.CONTENT_LENGTH,
+        HttpHeaders.TRANSFER_ENCODING,
+        HttpHeaders.CONNECTION
+    );
+
+    private final HttpStatusCode status;
+    private final HttpHeaders headers;
+    private final byte[] body;
+
+    public BufferedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body) {
+        this.status = status != null ? status : HttpStatus.OK;
+        HttpHeaders copy = new HttpHeaders();
+        headers.forEach((name, values) -> {
+            if (NON_REPLAYABLE_HEADERS.stream().noneMatch(name::equalsIgnoreCase)) {
+                copy.put(name, List.copyOf(values));
+            }
+        });
+        this.headers = HttpHeaders.readOnlyHttpHeaders(copy);
+        this.body = body;
+    }
+
+    public HttpStatusCode getStatus() {
+        return status;
+    }
+
+    public HttpHeaders getHeaders() {
+        return headers;
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    public Mono<Void> writeTo(ServerHttpResponse response) {
+        response.setStatusCode(status);
+        response.getHeaders().putAll(headers);
+        if (body.length == 0) {
+            return response.setComplete();
+        }
+        response.getHeaders().setContentLength(body.length);
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(body)));
+    }
+}
@@ -0,0 +1,68 @@
+package com.ecommerce.gateway.support;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.AbstractServerHttpResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Detached response that the rest of the filter chain writes into instead of the client connection.
+ * Lets a filter inspect, store or fan out the downstream answer before anything reaches the client.
+ */
+public class BufferedServerHttpResponse extends AbstractServerHttpResponse {
+
+    private static final byte[] EMPTY = new byte[0];
+
+    private volatile byte[] body = EMPTY;
+
+    public BufferedServerHttpResponse(DataBufferFactory bufferFactory) {
+        super(bufferFactory);
+    }
+
+    public BufferedResponse toBufferedResponse() {
+        return new BufferedResponse(getStatusCode(), getHeaders(), body);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T getNativeResponse() {
+        return (T) this;
+    }
+
+    @Override
+    protected Mono<Void> writeWithInternal(Publisher<? extends DataBuffer> publisher) {
+        return DataBufferUtils.join(Flux.from(publisher))
+            .doOnNext(joined -> {
+                byte[] bytes = new byte[joined.readableByteCount()];
+                joined.read(bytes);
+                DataBufferUtils.release(joined);
+                body = bytes;
+            })
+            .then();
+    }
+
+    @Override
+    protected Mono<Void> writeAndFlushWithInternal(Publisher<? extends Publisher<? extends DataBuffer>> publisher) {
+        return writeWithInternal(Flux.from(publisher).concatMap(Flux::from));
+    }
+
+    @Override
+    protected void applyStatusCode() {
+        // Status is read back through getStatusCode()
+    }
+
+    @Override
+    protected void applyHeaders() {
+        // Headers are read back through getHeaders()
+    }
+
+    @Override
+    protected void applyCookies() {
+        getCookies().values().forEach(cookies -> cookies.forEach(cookie ->
+            getHeaders().add(HttpHeaders.SET_COOKIE, cookie.toString())));
+    }
+}
@@ -0,0 +1,73 @@
+package com.ecommerce.gateway.hedging;
+
+import com.ecommerce.common.hedging.HedgeBudget;
+import com.ecommerce.common.loadbalancer.LatencyStatsRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs a hedged request against a stubbed routing chain and checks the in-flight accounting of both instances.
+ */
+class HedgingGatewayFilterFactoryTest {
+
+    private static final String SERVICE_ID = "product-service";
+
+    private final LatencyStatsRegistry statsRegistry = new LatencyStatsRegistry(SERVICE_ID, Duration.ofSeconds(10), null);
+    private final ServiceInstance slow = new DefaultServiceInstance("slow", SERVICE_ID, "10.0.0.1", 8080, false);
+    private final ServiceInstance fast = new DefaultServiceInstance("fast", SERVICE_ID, "10.0.0.2", 8080, false);
+
+    @Test
+    void cancelledPrimaryReleasesItsInflightSlot() {
+        LoadBalancerClientFactory clientFactory = mock(LoadBalancerClientFactory.class);
+        when(clientFactory.getInstance(SERVICE_ID, LatencyStatsRegistry.class)).thenReturn(statsRegistry);
+        HedgingGatewayFilterFactory factory =
+            new HedgingGatewayFilterFactory(new HedgeBudget(1.0, 10), new SimpleMeterRegistry(), clientFactory);
+        HedgingGatewayFilterFactory.Config config = new HedgingGatewayFilterFactory.Config();
+        config.setMinDelay(Duration.ofMillis(20));
+        config.setMaxDelay(Duration.ofMillis(20));
+
+        // Stands in for the load balancer filter: counts the request as started, then the primary hangs
+        AtomicInteger attempts = new AtomicInteger();
+        GatewayFilterChain chain = attemptExchange -> {
+            ServiceInstance instance = attempts.getAndIncrement() == 0 ? slow : fast;
+            attemptExchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_LOADBALANCER_RESPONSE_ATTR,
+                new DefaultResponse(instance));
+            statsRegistry.get(instance).requestStarted();
+            if (instance == slow) {
+                return Mono.never();
+            }
+            attemptExchange.getResponse().setStatusCode(HttpStatus.OK);
+            DataBuffer body = attemptExchange.getResponse().bufferFactory()
+                .wrap("{}".getBytes(StandardCharsets.UTF_8));
+            return attemptExchange.getResponse().writeWith(Mono.just(body))
+                .doOnSuccess(done -> statsRegistry.get(instance).requestFinished(1_000_000));
+        };
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/products/1"));
+
+        factory.apply(config).filter(exchange, chain).block(Duration.ofSeconds(5));
+
+        assertEquals(2, attempts.get());
+        assertEquals(HttpStatus.OK, exchange.getResponse().getStatusCode());
+        assertEquals(0, statsRegistry.get(slow).getInflight());
+        assertEquals(0, statsRegistry.get(fast).getInflight());
+    }
+}
@@ -0,0 +1,93 @@
+package com.ecommerce.auth.biometric;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verification throughput for 1:1 (one enrolled user) and 1:N (top-5 over the whole index) matching, with the
+ * Vector API kernel against the scalar fallback. Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class BiometricMatchBenchmark {
+
+    @Param({"EMBEDDING", "BINARY_CODE"})
+    private TemplateKind kind;
+
+    @Param({"vector", "scalar"})
+    private String kernel;
+
+    @Param({"10000"})
+    private int enrolled;
+
+    private OffHeapTemplateIndex index;
+    private BiometricTemplate probe;
+    private String[] userIds;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        int dimension = kind == TemplateKind.EMBEDDING ? 512 : 2048;
+        SimilarityKernel similarityKernel = "vector".equals(kernel) ? new VectorSimilarityKernel() : new ScalarSimilarityKernel();
+        SplittableRandom random = new SplittableRandom(42);
+        index = new OffHeapTemplateIndex(kind, dimension, enrolled, similarityKernel);
+        userIds = new String[enrolled];
+        for (int i = 0; i < enrolled; i++) {
+            userIds[i] = "user-" + i;
+            index.put(userIds[i], randomTemplate(kind, dimension, random));
+        }
+        probe = randomTemplate(kind, dimension, random);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        index.close();
+    }
+
+    @Benchmark
+    public double verifyOneToOne() {
+        String userId = userIds[next++ % userIds.length];
+        return index.score(userId, probe);
+    }
+
+    @Benchmark
+    public List<OffHeapTemplateIndex.Candidate> identifyOneToN() {
+        return index.search(probe, 5);
+    }
+
+    private static BiometricTemplate randomTemplate(TemplateKind kind, int dimension, SplittableRandom random) {
+        byte[] payload;
+        if (kind == TemplateKind.EMBEDDING) {
+            float[] values = new float[dimension];
+            for (int i = 0; i < dimension; i++) {
+                values[i] = (float) random.nextGaussian();
+            }
+            payload = BiometricTemplate.embeddingPayload(values);
+        } else {
+            payload = new byte[dimension / Byte.SIZE];
+            for (int i = 0; i < payload.length; i++) {
+                payload[i] = (byte) random.nextInt(256);
+            }
+        }
+        return BiometricTemplate.decode(BiometricTemplate.encode(kind, dimension, payload), kind, dimension);
+    }
+}
@@ -0,0 +1,132 @@
+package com.ecommerce.auth.biometric;
+
+import com.ecommerce.auth.entity.BiometricData;
+import com.ecommerce.auth.repository.BiometricDataRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Matches presented templates against enrolled ones held in an {@link OffHeapTemplateIndex}. A user's stored
+ * template is read from the database the first time it is needed and served from the index afterwards;
+ * 1:N identification loads all enrolled templates once.
+ */
+@Slf4j
+@Component
+public class BiometricMatcher implements DisposableBean {
+
+    private static final int PRELOAD_PAGE_SIZE = 500;
+
+    private final BiometricDataRepository biometricDataRepository;
+    private final TemplateKind kind;
+    private final int dimension;
+    private final double cosineThreshold;
+    private final double hammingThreshold;
+    private final OffHeapTemplateIndex index;
+    private volatile boolean fullyLoaded;
+
+    public BiometricMatcher(BiometricDataRepository biometricDataRepository,
+                            @Value("${security.biometric.template-kind:EMBEDDING}") TemplateKind kind,
+                            @Value("${security.biometric.dimension:512}") int dimension,
+                            @Value("${security.biometric.cosine-threshold:0.8}") double cosineThreshold,
+                            @Value("${security.biometric.hamming-threshold:0.32}") double hammingThreshold,
+                            @Value("${security.biometric.initial-capacity:1024}") int initialCapacity) {
+        this.biometricDataRepository = biometricDataRepository;
+        this.kind = kind;
+        this.dimension = dimension;
+        this.cosineThreshold = cosineThreshold;
+        this.hammingThreshold = hammingThreshold;
+        SimilarityKernel kernel = SimilarityKernel.best();
+        this.index = new OffHeapTemplateIndex(kind, dimension, initialCapacity, kernel);
+        log.info("Biometric matcher: {} x {} using {}", kind, dimension, kernel.getClass().getSimpleName());
+    }
+
+    public BiometricTemplate decode(byte[] data) {
+        return BiometricTemplate.decode(data, kind, dimension);
+    }
+
+    /**
+     * @return {@code null} if the user has no enrolled template
+     */
+    public Boolean verify(String userId, byte[] probeData) {
+        BiometricTemplate probe = decode(probeData);
+        double score = index.score(userId, probe);
+        if (Double.isNaN(score)) {
+            if (!load(userId)) {
+                return null;
+            }
+            score = index.score(userId, probe);
+        }
+        return isMatch(score);
+    }
+
+    public List<OffHeapTemplateIndex.Candidate> identify(byte[] probeData, int limit) {
+        BiometricTemplate probe = decode(probeData);
+        if (!fullyLoaded) {
+            loadAll();
+        }
+        return index.search(probe, limit).stream()
+                .filter(candidate -> isMatch(candidate.score()))
+                .toList();
+    }
+
+    public void enroll(String userId, BiometricTemplate template) {
+        index.put(userId, template);
+    }
+
+    public void evict(String userId) {
+        index.remove(userId);
+    }
+
+    @Override
+    public void destroy() {
+        index.close();
+    }
+
+    private boolean isMatch(double score) {
+        return kind == TemplateKind.EMBEDDING ? score >= cosineThreshold : score <= hammingThreshold;
+    }
+
+    private boolean load(String userId) {
+        return biometricDataRepository.findByUserId(userId)
+                .map(this::put)
+                .orElse(false);
+    }
+
+    private synchronized void loadAll() {
+        if (fullyLoaded) {
+            return;
+        }
+        int loaded = 0;
+        Slice<BiometricData> page = biometricDataRepository.findAllBy(PageRequest.of(0, PRELOAD_PAGE_SIZE));
+        while (true) {
+            for (BiometricData stored : page) {
+                if (!index.contains(stored.getUserId()) && put(stored)) {
+                    loaded++;
+                }
+            }
+            if (!page.hasNext()) {
+                break;
+            }
+            page = biometricDataRepository.findAllBy(page.nextPageable());
+        }
+        fullyLoaded = true;
+        log.info("Loaded {} biometric templates for identification", loaded);
+    }
+
+    // Templates stored before the matcher existed may not be in the expected format; they simply never match
+    private boolean put(BiometricData stored) {
+        try {
+            index.put(stored.getUserId(), decode(stored.getData()));
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Skipping unreadable biometric template for user {}: {}", stored.getUserId(), e.getMessage());
+            return false;
+        }
+    }
+}
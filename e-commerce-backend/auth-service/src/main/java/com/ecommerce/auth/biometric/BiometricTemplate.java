@@ -0,0 +1,85 @@
+package com.ecommerce.auth.biometric;
+
+import com.ecommerce.auth.exception.InvalidRequestException;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Wire format of stored and presented templates:
+ * <pre>
+ * byte 0    'B'
+ * byte 1    format version (1)
+ * byte 2    kind: 0 = float32 embedding, 1 = binary code
+ * byte 3    reserved
+ * bytes 4-7 dimension (big-endian): number of floats or number of bits
+ * bytes 8-  payload: little-endian float32 values, or the packed bits
+ * </pre>
+ * Decoding yields the payload ready for matching; embeddings are L2-normalized so cosine similarity is a dot product.
+ */
+public record BiometricTemplate(TemplateKind kind, int dimension, byte[] payload) {
+
+    private static final byte MAGIC = 'B';
+    private static final byte VERSION = 1;
+    private static final int HEADER_BYTES = 8;
+
+    public static BiometricTemplate decode(byte[] data, TemplateKind expectedKind, int expectedDimension) {
+        if (data == null || data.length < HEADER_BYTES || data[0] != MAGIC || data[1] != VERSION) {
+            throw new InvalidRequestException("Unrecognized biometric template format");
+        }
+        TemplateKind kind = data[2] == 0 ? TemplateKind.EMBEDDING : data[2] == 1 ? TemplateKind.BINARY_CODE : null;
+        int dimension = ByteBuffer.wrap(data, 4, 4).order(ByteOrder.BIG_ENDIAN).getInt();
+        if (kind != expectedKind || dimension != expectedDimension) {
+            throw new InvalidRequestException("Biometric template must be " + expectedKind + " of dimension " + expectedDimension);
+        }
+        int payloadBytes = payloadBytes(kind, dimension);
+        if (data.length != HEADER_BYTES + payloadBytes) {
+            throw new InvalidRequestException("Biometric template has " + (data.length - HEADER_BYTES)
+                    + " payload bytes, expected " + payloadBytes);
+        }
+        byte[] payload = new byte[payloadBytes];
+        System.arraycopy(data, HEADER_BYTES, payload, 0, payloadBytes);
+        if (kind == TemplateKind.EMBEDDING) {
+            normalize(payload, dimension);
+        }
+        return new BiometricTemplate(kind, dimension, payload);
+    }
+
+    public static byte[] encode(TemplateKind kind, int dimension, byte[] payload) {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + payload.length).order(ByteOrder.BIG_ENDIAN);
+        buffer.put(MAGIC).put(VERSION).put((byte) (kind == TemplateKind.EMBEDDING ? 0 : 1)).put((byte) 0);
+        buffer.putInt(dimension).put(payload);
+        return buffer.array();
+    }
+
+    public static byte[] embeddingPayload(float[] values) {
+        ByteBuffer buffer = ByteBuffer.allocate(values.length * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        for (float value : values) {
+            buffer.putFloat(value);
+        }
+        return buffer.array();
+    }
+
+    public static int payloadBytes(TemplateKind kind, int dimension) {
+        return kind == TemplateKind.EMBEDDING ? dimension * Float.BYTES : dimension / Byte.SIZE;
+    }
+
+    private static void normalize(byte[] payload, int dimension) {
+        ByteBuffer buffer = ByteBuffer.wrap(payload).order(ByteOrder.LITTLE_ENDIAN);
+        double sumOfSquares = 0;
+        for (int i = 0; i < dimension; i++) {
+            float value = buffer.getFloat(i * Float.BYTES);
+            if (!Float.isFinite(value)) {
+                throw new InvalidRequestException("Biometric template contains non-finite values");
+            }
+            sumOfSquares += value * value;
+        }
+        if (sumOfSquares == 0) {
+            throw new InvalidRequestException("Biometric template is all zeros");
+        }
+        float scale = (float) (1.0 / Math.sqrt(sumOfSquares));
+        for (int i = 0; i < dimension; i++) {
+            buffer.putFloat(i * Float.BYTES, buffer.getFloat(i * Float.BYTES) * scale);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.ecommerce.auth.biometric;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Enrolled template payloads packed into one native memory block, one fixed-size slot per user, so matching
+ * scans contiguous memory and the templates add nothing to the Java heap or GC work. Slots are 64-byte aligned
+ * for vector loads; the block doubles when full and freed slots are reused.
+ */
+public class OffHeapTemplateIndex implements AutoCloseable {
+
+    private static final long ALIGNMENT = 64;
+
+    private final TemplateKind kind;
+    private final int dimension;
+    private final int payloadBytes;
+    private final long stride;
+    private final SimilarityKernel kernel;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> slotsByUser = new HashMap<>();
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+    private Arena arena;
+    private MemorySegment block;
+    private String[] owners;
+    private int highWater;
+
+    public OffHeapTemplateIndex(TemplateKind kind, int dimension, int initialCapacity, SimilarityKernel kernel) {
+        if (kind == TemplateKind.BINARY_CODE && dimension % Long.SIZE != 0) {
+            throw new IllegalArgumentException("Binary code length must be a multiple of 64 bits");
+        }
+        this.kind = kind;
+        this.dimension = dimension;
+        this.payloadBytes = BiometricTemplate.payloadBytes(kind, dimension);
+        this.stride = (payloadBytes + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT;
+        this.kernel = kernel;
+        int capacity = Math.max(1, initialCapacity);
+        this.arena = Arena.ofShared();
+        this.block = arena.allocate(stride * capacity, ALIGNMENT);
+        this.owners = new String[capacity];
+    }
+
+    public void put(String userId, BiometricTemplate template) {
+        checkTemplate(template);
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotsByUser.get(userId);
+            if (slot == null) {
+                slot = freeSlots.isEmpty() ? nextSlot() : freeSlots.pop();
+                slotsByUser.put(userId, slot);
+                owners[slot] = userId;
+            }
+            MemorySegment.copy(MemorySegment.ofArray(template.payload()), 0, block, slot * stride, payloadBytes);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean remove(String userId) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotsByUser.remove(userId);
+            if (slot == null) {
+                return false;
+            }
+            owners[slot] = null;
+            block.asSlice(slot * stride, stride).fill((byte) 0);
+            freeSlots.push(slot);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean contains(String userId) {
+        lock.readLock().lock();
+        try {
+            return slotsByUser.containsKey(userId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotsByUser.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 1:1 comparison against one enrolled user.
+     *
+     * @return cosine similarity for embeddings, or normalized Hamming distance for binary codes; {@code NaN} if
+     * the user is not in the index
+     */
+    public double score(String userId, BiometricTemplate probe) {
+        checkTemplate(probe);
+        MemorySegment probeSegment = MemorySegment.ofArray(probe.payload());
+        lock.readLock().lock();
+        try {
+            Integer slot = slotsByUser.get(userId);
+            return slot == null ? Double.NaN : compare(probeSegment, slot * stride);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 1:N search over every enrolled template.
+     *
+     * @return up to {@code limit} best candidates, best first
+     */
+    public List<Candidate> search(BiometricTemplate probe, int limit) {
+        checkTemplate(probe);
+        MemorySegment probeSegment = MemorySegment.ofArray(probe.payload());
+        Comparator<Candidate> best = kind == TemplateKind.EMBEDDING
+                ? Comparator.comparingDouble(Candidate::score).reversed()
+                : Comparator.comparingDouble(Candidate::score);
+        // Worst kept candidate at the head, so it is the one replaced
+        PriorityQueue<Candidate> top = new PriorityQueue<>(limit + 1, best.reversed());
+        lock.readLock().lock();
+        try {
+            for (int slot = 0; slot < highWater; slot++) {
+                String owner = owners[slot];
+                if (owner == null) {
+                    continue;
+                }
+                top.add(new Candidate(owner, compare(probeSegment, slot * stride)));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<Candidate> result = new ArrayList<>(top);
+        result.sort(best);
+        return result;
+    }
+
+    @Override
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            arena.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private double compare(MemorySegment probe, long offset) {
+        if (kind == TemplateKind.EMBEDDING) {
+            return kernel.dot(probe, 0, block, offset, dimension);
+        }
+        return (double) kernel.hammingDistance(probe, 0, block, offset, dimension) / dimension;
+    }
+
+    // Called under the write lock
+    private int nextSlot() {
+        if (highWater == owners.length) {
+            int capacity = owners.length * 2;
+            Arena grownArena = Arena.ofShared();
+            MemorySegment grown = grownArena.allocate(stride * capacity, ALIGNMENT);
+            MemorySegment.copy(block, 0, grown, 0, stride * highWater);
+            arena.close();
+            arena = grownArena;
+            block = grown;
+            owners = Arrays.copyOf(owners, capacity);
+        }
+        return highWater++;
+    }
+
+    private void checkTemplate(BiometricTemplate template) {
+        if (template.kind() != kind || template.dimension() != dimension) {
+            throw new IllegalArgumentException("Template does not match index layout");
+        }
+    }
+
+    public record Candidate(String userId, double score) {
+    }
+}
@@ -0,0 +1,31 @@
+package com.ecommerce.auth.biometric;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+
+public class ScalarSimilarityKernel implements SimilarityKernel {
+
+    static final ValueLayout.OfFloat FLOAT_LE = ValueLayout.JAVA_FLOAT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    static final ValueLayout.OfLong LONG_LE = ValueLayout.JAVA_LONG_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+    @Override
+    public float dot(MemorySegment a, long aOffset, MemorySegment b, long bOffset, int dimension) {
+        float sum = 0f;
+        for (int i = 0; i < dimension; i++) {
+            long offset = (long) i * Float.BYTES;
+            sum += a.get(FLOAT_LE, aOffset + offset) * b.get(FLOAT_LE, bOffset + offset);
+        }
+        return sum;
+    }
+
+    @Override
+    public int hammingDistance(MemorySegment a, long aOffset, MemorySegment b, long bOffset, int bits) {
+        int distance = 0;
+        for (int i = 0; i < bits / Long.SIZE; i++) {
+            long offset = (long) i * Long.BYTES;
+            distance += Long.bitCount(a.get(LONG_LE, aOffset + offset) ^ b.get(LONG_LE, bOffset + offset));
+        }
+        return distance;
+    }
+}
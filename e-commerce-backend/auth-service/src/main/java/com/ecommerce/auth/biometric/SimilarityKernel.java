@@ -0,0 +1,31 @@
+package com.ecommerce.auth.biometric;
+
+import java.lang.foreign.MemorySegment;
+
+/**
+ * Distance primitives over templates laid out in memory segments. Offsets are in bytes; embeddings are
+ * little-endian float32 and binary codes are a multiple of 64 bits.
+ */
+public interface SimilarityKernel {
+
+    float dot(MemorySegment a, long aOffset, MemorySegment b, long bOffset, int dimension);
+
+    int hammingDistance(MemorySegment a, long aOffset, MemorySegment b, long bOffset, int bits);
+
+    /**
+     * Uses the Vector API when {@code jdk.incubator.vector} is present (start the JVM with
+     * {@code --add-modules jdk.incubator.vector}) and falls back to plain loops otherwise.
+     */
+    static SimilarityKernel best() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                // Loaded reflectively so this interface links without the incubator module
+                return (SimilarityKernel) Class.forName("com.ecommerce.auth.biometric.VectorSimilarityKernel")
+                        .getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                return new ScalarSimilarityKernel();
+            }
+        }
+        return new ScalarSimilarityKernel();
+    }
+}
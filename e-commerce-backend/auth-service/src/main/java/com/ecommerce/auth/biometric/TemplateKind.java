@@ -0,0 +1,8 @@
+package com.ecommerce.auth.biometric;
+
+public enum TemplateKind {
+    // Float32 embedding compared by cosine similarity
+    EMBEDDING,
+    // Bit code (iris-style) compared by normalized Hamming distance
+    BINARY_CODE
+}
@@ -0,0 +1,61 @@
+package com.ecommerce.auth.biometric;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteOrder;
+
+import static com.ecommerce.auth.biometric.ScalarSimilarityKernel.FLOAT_LE;
+import static com.ecommerce.auth.biometric.ScalarSimilarityKernel.LONG_LE;
+
+/**
+ * SIMD kernel on the widest vector shape the CPU supports. Only instantiated through
+ * {@link SimilarityKernel#best()}.
+ */
+public class VectorSimilarityKernel implements SimilarityKernel {
+
+    private static final VectorSpecies<Float> FLOATS = FloatVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+
+    @Override
+    public float dot(MemorySegment a, long aOffset, MemorySegment b, long bOffset, int dimension) {
+        FloatVector acc = FloatVector.zero(FLOATS);
+        int i = 0;
+        int upper = FLOATS.loopBound(dimension);
+        for (; i < upper; i += FLOATS.length()) {
+            long offset = (long) i * Float.BYTES;
+            FloatVector va = FloatVector.fromMemorySegment(FLOATS, a, aOffset + offset, ByteOrder.LITTLE_ENDIAN);
+            FloatVector vb = FloatVector.fromMemorySegment(FLOATS, b, bOffset + offset, ByteOrder.LITTLE_ENDIAN);
+            acc = va.fma(vb, acc);
+        }
+        float sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < dimension; i++) {
+            long offset = (long) i * Float.BYTES;
+            sum += a.get(FLOAT_LE, aOffset + offset) * b.get(FLOAT_LE, bOffset + offset);
+        }
+        return sum;
+    }
+
+    @Override
+    public int hammingDistance(MemorySegment a, long aOffset, MemorySegment b, long bOffset, int bits) {
+        int words = bits / Long.SIZE;
+        LongVector acc = LongVector.zero(LONGS);
+        int i = 0;
+        int upper = LONGS.loopBound(words);
+        for (; i < upper; i += LONGS.length()) {
+            long offset = (long) i * Long.BYTES;
+            LongVector va = LongVector.fromMemorySegment(LONGS, a, aOffset + offset, ByteOrder.LITTLE_ENDIAN);
+            LongVector vb = LongVector.fromMemorySegment(LONGS, b, bOffset + offset, ByteOrder.LITTLE_ENDIAN);
+            acc = acc.add(va.lanewise(VectorOperators.XOR, vb).lanewise(VectorOperators.BIT_COUNT));
+        }
+        long distance = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < words; i++) {
+            long offset = (long) i * Long.BYTES;
+            distance += Long.bitCount(a.get(LONG_LE, aOffset + offset) ^ b.get(LONG_LE, bOffset + offset));
+        }
+        return (int) distance;
+    }
+}
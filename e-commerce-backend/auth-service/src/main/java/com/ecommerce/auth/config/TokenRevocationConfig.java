@@ -0,0 +1,23 @@
+package com.ecommerce.auth.config;
+
+import com.ecommerce.common.security.token.TokenDenylist;
+import com.ecommerce.common.security.token.TokenRevocationListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class TokenRevocationConfig {
+
+    @Bean
+    public TokenDenylist tokenDenylist(@Value("${jwt.expiration}") long jwtExpirationInMs) {
+        return new TokenDenylist(Duration.ofMillis(jwtExpirationInMs));
+    }
+
+    @Bean
+    public TokenRevocationListener tokenRevocationListener(TokenDenylist tokenDenylist) {
+        return new TokenRevocationListener(tokenDenylist);
+    }
+}
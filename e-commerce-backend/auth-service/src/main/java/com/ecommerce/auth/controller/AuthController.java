@@ -4,10 +4,13 @@ import com.ecommerce.auth.dto.LoginRequest;
 import com.ecommerce.auth.dto.LoginResponse;
 import com.ecommerce.auth.dto.RegisterRequest;
 import com.ecommerce.auth.service.AuthService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/api/auth")
 public class AuthController {
@@ -18,15 +21,16 @@ public class AuthController {
         this.authService = authService;
     }
 
+    // Async so request threads are released while BCrypt runs on the hashing pool
     @PostMapping("/login")
-    public ResponseEntity<LoginResponse> login(@Valid @RequestBody LoginRequest loginRequest) {
-        LoginResponse response = authService.authenticate(loginRequest);
-        return ResponseEntity.ok(response);
+    public CompletableFuture<ResponseEntity<LoginResponse>> login(@Valid @RequestBody LoginRequest loginRequest,
+                                                                  HttpServletRequest request) {
+        // Behind the gateway this is the original client, resolved from X-Forwarded-For by server.forward-headers-strategy
+        return authService.authenticate(loginRequest, request.getRemoteAddr()).thenApply(ResponseEntity::ok);
     }
     
     @PostMapping("/register")
-    public ResponseEntity<LoginResponse> register(@Valid @RequestBody RegisterRequest registerRequest) {
-        LoginResponse response = authService.register(registerRequest);
-        return ResponseEntity.ok(response);
+    public CompletableFuture<ResponseEntity<LoginResponse>> register(@Valid @RequestBody RegisterRequest registerRequest) {
+        return authService.register(registerRequest).thenApply(ResponseEntity::ok);
     }
 }
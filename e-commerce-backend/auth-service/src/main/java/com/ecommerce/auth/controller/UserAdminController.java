@@ -0,0 +1,31 @@
+package com.ecommerce.auth.controller;
+
+import com.ecommerce.auth.dto.UpdateRoleRequest;
+import com.ecommerce.auth.dto.UpdateStatusRequest;
+import com.ecommerce.auth.service.UserAdminService;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/users")
+public class UserAdminController {
+
+    private final UserAdminService userAdminService;
+
+    public UserAdminController(UserAdminService userAdminService) {
+        this.userAdminService = userAdminService;
+    }
+
+    @PutMapping("/{id}/role")
+    public ResponseEntity<Void> changeRole(@PathVariable String id, @Valid @RequestBody UpdateRoleRequest request) {
+        userAdminService.changeRole(id, request.getRole());
+        return ResponseEntity.noContent().build();
+    }
+
+    @PutMapping("/{id}/status")
+    public ResponseEntity<Void> changeStatus(@PathVariable String id, @Valid @RequestBody UpdateStatusRequest request) {
+        userAdminService.changeStatus(id, request.getActive());
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,36 @@
+package com.ecommerce.auth.controller;
+
+import com.ecommerce.auth.importer.UserImportJob;
+import com.ecommerce.auth.importer.UserImportService;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/users/import")
+public class UserImportController {
+
+    private final UserImportService userImportService;
+
+    public UserImportController(UserImportService userImportService) {
+        this.userImportService = userImportService;
+    }
+
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<UserImportJob> startImport(@RequestParam("file") MultipartFile file) {
+        return ResponseEntity.accepted().body(userImportService.start(file));
+    }
+
+    @GetMapping
+    public ResponseEntity<List<UserImportJob>> getImports() {
+        return ResponseEntity.ok(userImportService.getJobs());
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<UserImportJob> getImport(@PathVariable String id) {
+        return ResponseEntity.ok(userImportService.getJob(id));
+    }
+}
@@ -0,0 +1,11 @@
+package com.ecommerce.auth.dto;
+
+import com.ecommerce.auth.entity.User;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class UpdateRoleRequest {
+    @NotNull(message = "Role is required")
+    private User.UserRole role;
+}
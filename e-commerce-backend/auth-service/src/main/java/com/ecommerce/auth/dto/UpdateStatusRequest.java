@@ -0,0 +1,10 @@
+package com.ecommerce.auth.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class UpdateStatusRequest {
+    @NotNull(message = "Active flag is required")
+    private Boolean active;
+}
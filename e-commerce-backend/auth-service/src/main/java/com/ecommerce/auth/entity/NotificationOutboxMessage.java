@@ -0,0 +1,56 @@
+package com.ecommerce.auth.entity;
+
+import lombok.Data;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+@Data
+@Entity
+@Table(name = "notification_outbox", indexes = @Index(name = "idx_outbox_status_next", columnList = "status, next_attempt_at"))
+public class NotificationOutboxMessage {
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private String id;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Channel channel;
+    
+    @Column(nullable = false)
+    private String recipient;
+    
+    private String subject;
+    
+    // Cleared once a message fails for good, so undeliverable codes do not stay readable
+    @Column(length = 4000)
+    private String body;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Status status = Status.PENDING;
+    
+    @Column(nullable = false)
+    private int attempts;
+    
+    // Also used as a lease: claimed messages are pushed out so other dispatchers skip them
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt = LocalDateTime.now();
+    
+    // Past this point the content (e.g. a verification code) is stale and the message is dropped instead of sent
+    @Column(name = "deliver_by", nullable = false)
+    private LocalDateTime deliverBy;
+    
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+    
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+    
+    public enum Channel {
+        EMAIL, SMS
+    }
+    
+    public enum Status {
+        PENDING, FAILED
+    }
+}
@@ -0,0 +1,23 @@
+package com.ecommerce.auth.entity;
+
+import lombok.Data;
+import jakarta.persistence.*;
+
+@Data
+@Entity
+@Table(name = "two_factor_codes")
+public class TwoFactorCode {
+    @Id
+    @Column(name = "user_id")
+    private String userId;
+    
+    // HMAC of the code, never the code itself
+    @Column(name = "code_hash", nullable = false)
+    private String codeHash;
+    
+    @Column(name = "expires_at", nullable = false)
+    private long expiresAt;
+    
+    @Column(nullable = false)
+    private int attempts;
+}
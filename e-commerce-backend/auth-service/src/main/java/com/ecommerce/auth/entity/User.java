@@ -4,7 +4,6 @@ import lombok.Data;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 import java.util.Objects;
-import com.fasterxml.jackson.annotation.JsonIgnore;
 
 @Data
 @Entity
@@ -38,36 +37,11 @@ public class User {
     @Column(name = "phone_number")
     private String phoneNumber;
     
-    @Column(name = "two_factor_code")
-    @JsonIgnore
-    private String twoFactorCode;
-    
-    @Column(name = "two_factor_code_expiry")
-    @JsonIgnore
-    private LocalDateTime twoFactorCodeExpiry;
-    
     @PreUpdate
     protected void onUpdate() {
         this.updatedAt = LocalDateTime.now();
     }
     
-    // Two-factor authentication methods
-    public void setTwoFactorCode(String code) {
-        this.twoFactorCode = code;
-    }
-    
-    public String getTwoFactorCode() {
-        return twoFactorCode;
-    }
-    
-    public void setTwoFactorCodeExpiry(LocalDateTime expiry) {
-        this.twoFactorCodeExpiry = expiry;
-    }
-    
-    public LocalDateTime getTwoFactorCodeExpiry() {
-        return twoFactorCodeExpiry;
-    }
-    
     public String getPhoneNumber() {
         return phoneNumber;
     }
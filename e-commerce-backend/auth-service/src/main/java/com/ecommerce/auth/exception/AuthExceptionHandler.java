@@ -0,0 +1,44 @@
+package com.ecommerce.auth.exception;
+
+import com.ecommerce.auth.dto.ErrorResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+@RestControllerAdvice
+@Slf4j
+public class AuthExceptionHandler {
+
+    @ExceptionHandler(TooManyLoginAttemptsException.class)
+    public ResponseEntity<ErrorResponse> handleTooManyLoginAttempts(TooManyLoginAttemptsException ex) {
+        log.debug("Login throttled: {}", ex.getMessage());
+        return withRetryAfter(HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests", ex.getMessage(), ex.getRetryAfter());
+    }
+
+    @ExceptionHandler(PasswordHashingOverloadedException.class)
+    public ResponseEntity<ErrorResponse> handlePasswordHashingOverloaded(PasswordHashingOverloadedException ex) {
+        log.warn("Password hashing pool saturated: {}", ex.getMessage());
+        return withRetryAfter(HttpStatus.SERVICE_UNAVAILABLE, "Service Unavailable", ex.getMessage(), Duration.ofSeconds(1));
+    }
+
+    private static ResponseEntity<ErrorResponse> withRetryAfter(HttpStatus status, String error, String message,
+                                                                Duration retryAfter) {
+        ErrorResponse errorResponse = new ErrorResponse();
+        errorResponse.setTimestamp(LocalDateTime.now());
+        errorResponse.setStatus(status.value());
+        errorResponse.setError(error);
+        errorResponse.setMessage(message);
+
+        // Round up so clients never retry before the lockout ends
+        long seconds = Math.max(1L, (retryAfter.toMillis() + 999) / 1000);
+        return ResponseEntity.status(status)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(seconds))
+                .body(errorResponse);
+    }
+}
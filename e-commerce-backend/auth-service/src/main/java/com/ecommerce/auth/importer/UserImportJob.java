@@ -0,0 +1,71 @@
+package com.ecommerce.auth.importer;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of one import, updated by the import thread and read by status requests.
+ */
+@Getter
+public class UserImportJob {
+
+    public enum Status {
+        RUNNING, COMPLETED, FAILED
+    }
+
+    private static final int MAX_ERRORS = 100;
+
+    private final String id = UUID.randomUUID().toString();
+    private final String filename;
+    private final Instant startedAt = Instant.now();
+    private volatile Instant finishedAt;
+    private volatile Status status = Status.RUNNING;
+    private volatile String failureReason;
+    private final AtomicLong read = new AtomicLong();
+    private final AtomicLong imported = new AtomicLong();
+    private final AtomicLong duplicates = new AtomicLong();
+    private final AtomicLong invalid = new AtomicLong();
+    private final List<String> errors = Collections.synchronizedList(new ArrayList<>());
+
+    public UserImportJob(String filename) {
+        this.filename = filename;
+    }
+
+    void recordInvalid(long row, String reason) {
+        invalid.incrementAndGet();
+        if (errors.size() < MAX_ERRORS) {
+            errors.add("row " + row + ": " + reason);
+        }
+    }
+
+    void complete() {
+        finishedAt = Instant.now();
+        status = Status.COMPLETED;
+    }
+
+    void fail(String reason) {
+        finishedAt = Instant.now();
+        failureReason = reason;
+        status = Status.FAILED;
+    }
+
+    @JsonProperty("elapsedSeconds")
+    public double getElapsedSeconds() {
+        Instant end = finishedAt != null ? finishedAt : Instant.now();
+        return Duration.between(startedAt, end).toMillis() / 1000.0;
+    }
+
+    @JsonProperty("usersPerSecond")
+    public double getUsersPerSecond() {
+        double elapsed = getElapsedSeconds();
+        return elapsed > 0 ? imported.get() / elapsed : 0;
+    }
+}
@@ -0,0 +1,140 @@
+package com.ecommerce.auth.importer;
+
+import com.ecommerce.auth.exception.InvalidRequestException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+
+/**
+ * Streams import records one at a time so arbitrarily large files never have to fit in memory. CSV files need a
+ * header row naming the columns; JSON files are an array of objects or newline-delimited objects.
+ */
+public final class UserImportReader {
+
+    private UserImportReader() {
+    }
+
+    public static Iterator<UserImportRecord> open(InputStream input, String contentType, String filename,
+                                                  ObjectMapper objectMapper) throws IOException {
+        if (isJson(contentType, filename)) {
+            JsonParser parser = objectMapper.getFactory().createParser(input);
+            JsonToken first = parser.nextToken();
+            if (first == JsonToken.START_ARRAY) {
+                parser.nextToken();
+            }
+            MappingIterator<UserImportRecord> records = objectMapper.readerFor(UserImportRecord.class).readValues(parser);
+            return records;
+        }
+        return new CsvIterator(new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8)));
+    }
+
+    private static boolean isJson(String contentType, String filename) {
+        if (contentType != null && contentType.contains("json")) {
+            return true;
+        }
+        String name = filename == null ? "" : filename.toLowerCase(Locale.ROOT);
+        return name.endsWith(".json") || name.endsWith(".ndjson");
+    }
+
+    private static final class CsvIterator implements Iterator<UserImportRecord> {
+
+        private final BufferedReader reader;
+        private final List<String> columns;
+        private String nextLine;
+
+        CsvIterator(BufferedReader reader) throws IOException {
+            this.reader = reader;
+            String header = reader.readLine();
+            if (header == null) {
+                throw new InvalidRequestException("Import file is empty");
+            }
+            this.columns = parseLine(header.replace("\uFEFF", "")).stream()
+                    .map(column -> column.trim().toLowerCase(Locale.ROOT))
+                    .toList();
+            if (!columns.contains("email")) {
+                throw new InvalidRequestException("CSV header must contain an email column");
+            }
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextLine != null;
+        }
+
+        @Override
+        public UserImportRecord next() {
+            if (nextLine == null) {
+                throw new NoSuchElementException();
+            }
+            List<String> values = parseLine(nextLine);
+            advance();
+            UserImportRecord record = new UserImportRecord();
+            for (int i = 0; i < columns.size() && i < values.size(); i++) {
+                String value = values.get(i).isEmpty() ? null : values.get(i);
+                switch (columns.get(i)) {
+                    case "email" -> record.setEmail(value);
+                    case "password" -> record.setPassword(value);
+                    case "passwordhash", "password_hash" -> record.setPasswordHash(value);
+                    case "name" -> record.setName(value);
+                    case "phonenumber", "phone_number", "phone" -> record.setPhoneNumber(value);
+                    case "role" -> record.setRole(value);
+                    default -> { }
+                }
+            }
+            return record;
+        }
+
+        private void advance() {
+            try {
+                do {
+                    nextLine = reader.readLine();
+                } while (nextLine != null && nextLine.isBlank());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        // RFC 4180 quoting within a single line
+        private static List<String> parseLine(String line) {
+            List<String> values = new ArrayList<>();
+            StringBuilder current = new StringBuilder();
+            boolean quoted = false;
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        current.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        current.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    values.add(current.toString().trim());
+                    current.setLength(0);
+                } else {
+                    current.append(c);
+                }
+            }
+            values.add(current.toString().trim());
+            return values;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.ecommerce.auth.importer;
+
+import lombok.Data;
+
+/**
+ * One row of an import file. Either {@code password} (hashed during import) or {@code passwordHash}
+ * (an existing BCrypt hash, taken as is and re-hashed on first login if weaker than the configured strength).
+ */
+@Data
+public class UserImportRecord {
+    private String email;
+    private String password;
+    private String passwordHash;
+    private String name;
+    private String phoneNumber;
+    private String role;
+}
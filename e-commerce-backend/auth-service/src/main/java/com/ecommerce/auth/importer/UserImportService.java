@@ -0,0 +1,284 @@
+package com.ecommerce.auth.importer;
+
+import com.ecommerce.auth.entity.User;
+import com.ecommerce.auth.exception.InvalidRequestException;
+import com.ecommerce.auth.exception.ResourceNotFoundException;
+import com.ecommerce.auth.kafka.UserKafkaProducer;
+import com.ecommerce.auth.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Imports users from a CSV or JSON file in the background. Existing emails are loaded once into a set for
+ * de-duplication, passwords are hashed on a dedicated pool (separate from the login pool so an import cannot
+ * starve sign-ins), and users are written with JDBC batch inserts while the next batch is still hashing.
+ * Each written batch is announced as {@code USER_CREATED} events.
+ */
+@Slf4j
+@Service
+public class UserImportService implements DisposableBean {
+
+    private static final String INSERT_USER = "INSERT INTO users "
+            + "(id, email, password, name, role, is_active, created_at, updated_at, phone_number) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int MAX_RETAINED_JOBS = 20;
+
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final UserKafkaProducer userKafkaProducer;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final ExecutorService hashingPool;
+    private final ExecutorService jobRunner;
+    private final Map<String, UserImportJob> jobs = new LinkedHashMap<>();
+
+    public UserImportService(UserRepository userRepository,
+                             JdbcTemplate jdbcTemplate,
+                             TransactionTemplate transactionTemplate,
+                             PasswordEncoder passwordEncoder,
+                             UserKafkaProducer userKafkaProducer,
+                             ObjectMapper objectMapper,
+                             @Value("${security.user-import.batch-size:1000}") int batchSize,
+                             @Value("${security.user-import.hashing-threads:0}") int hashingThreads) {
+        this.userRepository = userRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.userKafkaProducer = userKafkaProducer;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        int threads = hashingThreads > 0 ? hashingThreads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger sequence = new AtomicInteger();
+        this.hashingPool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "user-import-hash-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Imports run one after another; a second upload waits for the first
+        this.jobRunner = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "user-import");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Copies the upload to a temporary file (the multipart file is gone once the request ends) and queues it.
+     */
+    public UserImportJob start(MultipartFile file) {
+        if (file.isEmpty()) {
+            throw new InvalidRequestException("Import file is empty");
+        }
+        Path spooled;
+        try {
+            spooled = Files.createTempFile("user-import-", ".tmp");
+            file.transferTo(spooled);
+        } catch (IOException e) {
+            throw new InvalidRequestException("Could not read import file: " + e.getMessage());
+        }
+        UserImportJob job = new UserImportJob(file.getOriginalFilename());
+        register(job);
+        jobRunner.execute(() -> run(job, spooled, file.getContentType()));
+        return job;
+    }
+
+    public UserImportJob getJob(String id) {
+        synchronized (jobs) {
+            UserImportJob job = jobs.get(id);
+            if (job == null) {
+                throw new ResourceNotFoundException("Import job not found");
+            }
+            return job;
+        }
+    }
+
+    public List<UserImportJob> getJobs() {
+        synchronized (jobs) {
+            return new ArrayList<>(jobs.values());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        jobRunner.shutdownNow();
+        hashingPool.shutdownNow();
+    }
+
+    private void run(UserImportJob job, Path file, String contentType) {
+        try (InputStream input = Files.newInputStream(file)) {
+            Set<String> knownEmails = new HashSet<>();
+            userRepository.findAllEmails().forEach(email -> knownEmails.add(normalize(email)));
+            log.info("Import {}: starting with {} existing users", job.getId(), knownEmails.size());
+
+            Iterator<UserImportRecord> records = UserImportReader.open(input, contentType, job.getFilename(), objectMapper);
+            List<UserImportRecord> batch = new ArrayList<>(batchSize);
+            List<CompletableFuture<User>> pending = List.of();
+            long row = 0;
+            while (records.hasNext()) {
+                UserImportRecord record = records.next();
+                row++;
+                job.getRead().incrementAndGet();
+                String problem = validate(record);
+                if (problem != null) {
+                    job.recordInvalid(row, problem);
+                    continue;
+                }
+                if (!knownEmails.add(normalize(record.getEmail()))) {
+                    job.getDuplicates().incrementAndGet();
+                    continue;
+                }
+                batch.add(record);
+                if (batch.size() == batchSize) {
+                    // Queue this batch for hashing, then write the previous one while it hashes
+                    List<CompletableFuture<User>> hashing = hash(batch);
+                    write(job, pending);
+                    pending = hashing;
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            List<CompletableFuture<User>> last = hash(batch);
+            write(job, pending);
+            write(job, last);
+            job.complete();
+            log.info("Import {} finished: {} imported, {} duplicates, {} invalid in {}s ({} users/s)", job.getId(),
+                    job.getImported().get(), job.getDuplicates().get(), job.getInvalid().get(),
+                    job.getElapsedSeconds(), String.format(Locale.ROOT, "%.1f", job.getUsersPerSecond()));
+        } catch (Exception e) {
+            log.error("Import {} failed", job.getId(), e);
+            job.fail(e.getMessage());
+        } finally {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Could not delete spooled import file {}", file, e);
+            }
+        }
+    }
+
+    private List<CompletableFuture<User>> hash(List<UserImportRecord> batch) {
+        return batch.stream()
+                .map(record -> CompletableFuture.supplyAsync(() -> toUser(record), hashingPool))
+                .toList();
+    }
+
+    private void write(UserImportJob job, List<CompletableFuture<User>> hashing) {
+        if (hashing.isEmpty()) {
+            return;
+        }
+        List<User> users = hashing.stream().map(CompletableFuture::join).toList();
+        List<User> written;
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(users));
+            written = users;
+        } catch (DuplicateKeyException e) {
+            // Someone registered one of these emails after the set was loaded; fall back to row by row
+            written = new ArrayList<>();
+            for (User user : users) {
+                try {
+                    insert(List.of(user));
+                    written.add(user);
+                } catch (DuplicateKeyException duplicate) {
+                    job.getDuplicates().incrementAndGet();
+                }
+            }
+        }
+        job.getImported().addAndGet(written.size());
+        userKafkaProducer.sendUserEvents(written.stream().map(UserKafkaProducer::userCreated).toList());
+    }
+
+    private void insert(Collection<User> users) {
+        jdbcTemplate.batchUpdate(INSERT_USER, users, users.size(), (ps, user) -> {
+            ps.setString(1, user.getId());
+            ps.setString(2, user.getEmail());
+            ps.setString(3, user.getPassword());
+            ps.setString(4, user.getName());
+            ps.setString(5, user.getRole().name());
+            ps.setBoolean(6, user.isActive());
+            ps.setTimestamp(7, Timestamp.valueOf(user.getCreatedAt()));
+            ps.setTimestamp(8, Timestamp.valueOf(user.getUpdatedAt()));
+            ps.setString(9, user.getPhoneNumber());
+        });
+    }
+
+    private User toUser(UserImportRecord record) {
+        User user = new User();
+        user.setId(UUID.randomUUID().toString());
+        user.setEmail(record.getEmail().trim());
+        user.setPassword(record.getPasswordHash() != null ? record.getPasswordHash() : passwordEncoder.encode(record.getPassword()));
+        user.setName(record.getName());
+        user.setPhoneNumber(record.getPhoneNumber());
+        user.setRole(record.getRole() != null ? User.UserRole.valueOf(record.getRole().trim().toUpperCase(Locale.ROOT)) : User.UserRole.USER);
+        LocalDateTime now = LocalDateTime.now();
+        user.setCreatedAt(now);
+        user.setUpdatedAt(now);
+        return user;
+    }
+
+    private static String validate(UserImportRecord record) {
+        if (record.getEmail() == null || !record.getEmail().contains("@")) {
+            return "missing or invalid email";
+        }
+        if (record.getPasswordHash() != null) {
+            if (!record.getPasswordHash().startsWith("$2")) {
+                return "passwordHash is not a BCrypt hash";
+            }
+        } else if (record.getPassword() == null || record.getPassword().length() < 6) {
+            return "password missing or shorter than 6 characters";
+        }
+        if (record.getRole() != null) {
+            try {
+                User.UserRole.valueOf(record.getRole().trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                return "unknown role " + record.getRole();
+            }
+        }
+        return null;
+    }
+
+    private void register(UserImportJob job) {
+        synchronized (jobs) {
+            jobs.put(job.getId(), job);
+            Iterator<UserImportJob> oldest = jobs.values().iterator();
+            while (jobs.size() > MAX_RETAINED_JOBS && oldest.hasNext()) {
+                if (oldest.next().getStatus() != UserImportJob.Status.RUNNING) {
+                    oldest.remove();
+                }
+            }
+        }
+    }
+
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+}
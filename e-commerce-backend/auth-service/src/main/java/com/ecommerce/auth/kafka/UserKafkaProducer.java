@@ -0,0 +1,61 @@
+package com.ecommerce.auth.kafka;
+
+import com.ecommerce.auth.entity.User;
+import com.ecommerce.common.kafka.event.UserEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class UserKafkaProducer {
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private static final String USER_TOPIC = "ecommerce.users";
+
+    public void sendUserEvent(UserEvent userEvent) {
+        kafkaTemplate.send(USER_TOPIC, userEvent.getUserId(), userEvent);
+    }
+
+    // Sends are batched by the producer; one flush per batch instead of waiting on each record
+    public void sendUserEvents(List<UserEvent> userEvents) {
+        userEvents.forEach(this::sendUserEvent);
+        kafkaTemplate.flush();
+    }
+
+    public static UserEvent userCreated(User user) {
+        return userEvent(user, UserEvent.EventType.USER_CREATED);
+    }
+
+    // Tokens issued up to changedAtMillis are revoked by every service that validates them
+    public static UserEvent roleUpdated(User user, long changedAtMillis) {
+        UserEvent event = userEvent(user, UserEvent.EventType.USER_ROLE_UPDATED);
+        event.setChangedAtMillis(changedAtMillis);
+        return event;
+    }
+
+    public static UserEvent statusChanged(User user, long changedAtMillis) {
+        UserEvent event = userEvent(user, UserEvent.EventType.USER_STATUS_CHANGED);
+        event.setChangedAtMillis(changedAtMillis);
+        return event;
+    }
+
+    private static UserEvent userEvent(User user, UserEvent.EventType eventType) {
+        UserEvent event = new UserEvent();
+        event.setEventId(UUID.randomUUID().toString());
+        event.setTimestamp(LocalDateTime.now());
+        event.setEventType(eventType.name());
+        event.setSourceService("auth-service");
+        event.setUserId(user.getId());
+        event.setEmail(user.getEmail());
+        event.setFirstName(user.getName());
+        event.setRoles(Set.of(user.getRole().name()));
+        event.setActive(user.isActive());
+        return event;
+    }
+}
@@ -0,0 +1,75 @@
+package com.ecommerce.auth.notification;
+
+import com.ecommerce.auth.entity.NotificationOutboxMessage.Channel;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Fake SMTP/SMS endpoint that keeps delivered messages in memory. Select it with
+ * {@code notifications.email.provider=local} or {@code notifications.sms.provider=local} for local runs and tests.
+ * Recipients can be marked as rejected to simulate per-message delivery failures.
+ */
+@Component
+public class LocalNotificationSink {
+
+    private final ConcurrentLinkedQueue<Delivered> delivered = new ConcurrentLinkedQueue<>();
+    private final Set<String> rejectedRecipients = ConcurrentHashMap.newKeySet();
+
+    public void reject(String recipient) {
+        rejectedRecipients.add(recipient);
+    }
+
+    public void accept(String recipient) {
+        rejectedRecipients.remove(recipient);
+    }
+
+    public List<Delivered> getDelivered() {
+        return new ArrayList<>(delivered);
+    }
+
+    public List<Delivered> drain() {
+        List<Delivered> drained = new ArrayList<>();
+        Delivered next;
+        while ((next = delivered.poll()) != null) {
+            drained.add(next);
+        }
+        return drained;
+    }
+
+    public NotificationProvider providerFor(Channel channel) {
+        return new NotificationProvider() {
+            @Override
+            public String name() {
+                return "local";
+            }
+
+            @Override
+            public Channel channel() {
+                return channel;
+            }
+
+            @Override
+            public Map<String, Exception> sendBatch(List<NotificationMessage> messages) {
+                Map<String, Exception> failures = new HashMap<>();
+                for (NotificationMessage message : messages) {
+                    if (rejectedRecipients.contains(message.recipient())) {
+                        failures.put(message.id(), new IllegalStateException("Recipient rejected: " + message.recipient()));
+                    } else {
+                        delivered.add(new Delivered(channel, message));
+                    }
+                }
+                return failures;
+            }
+        };
+    }
+
+    public record Delivered(Channel channel, NotificationMessage message) {
+    }
+}
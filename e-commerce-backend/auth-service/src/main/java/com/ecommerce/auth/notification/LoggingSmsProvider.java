@@ -0,0 +1,32 @@
+package com.ecommerce.auth.notification;
+
+import com.ecommerce.auth.entity.NotificationOutboxMessage.Channel;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+// Placeholder until an SMS gateway is integrated
+@Slf4j
+@Component
+public class LoggingSmsProvider implements NotificationProvider {
+
+    @Override
+    public String name() {
+        return "log";
+    }
+
+    @Override
+    public Channel channel() {
+        return Channel.SMS;
+    }
+
+    @Override
+    public Map<String, Exception> sendBatch(List<NotificationMessage> messages) {
+        // The body carries one-time codes, so it never goes to the log
+        messages.forEach(message -> log.info("Sending SMS {} to {}: {}", message.id(), message.recipient(),
+                message.subject()));
+        return Map.of();
+    }
+}
@@ -0,0 +1,229 @@
+package com.ecommerce.auth.notification;
+
+import com.ecommerce.auth.entity.NotificationOutboxMessage;
+import com.ecommerce.auth.entity.NotificationOutboxMessage.Channel;
+import com.ecommerce.auth.entity.NotificationOutboxMessage.Status;
+import com.ecommerce.auth.repository.NotificationOutboxRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.env.Environment;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drains the notification outbox in the background. Due messages are claimed in batches with SKIP LOCKED and a
+ * lease, so several instances can dispatch side by side and a crashed dispatcher's batch is picked up again
+ * once the lease runs out. Each provider gets a rate limit; failed messages are retried with jittered
+ * exponential backoff until they run out of attempts or the next retry would land past their deliver-by time.
+ * Delivered and expired messages are deleted, and messages that fail for good lose their body, so verification
+ * codes do not linger in the table. A periodic purge drops expired messages nobody claimed and old failures.
+ */
+@Slf4j
+@Component
+public class NotificationDispatcher implements DisposableBean {
+
+    private final NotificationOutboxRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Map<Channel, NotificationProvider> providers = new EnumMap<>(Channel.class);
+    private final Map<Channel, ProviderRateLimiter> rateLimiters = new EnumMap<>(Channel.class);
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration baseBackoff;
+    private final Duration maxBackoff;
+    private final Duration lease;
+    private final Duration pollInterval;
+    private final Duration purgeInterval;
+    private final Duration failedRetention;
+    private final ScheduledExecutorService poller;
+
+    public NotificationDispatcher(NotificationOutboxRepository repository,
+                                  TransactionTemplate transactionTemplate,
+                                  List<NotificationProvider> providerBeans,
+                                  LocalNotificationSink localSink,
+                                  MeterRegistry meterRegistry,
+                                  Environment env) {
+        this.repository = repository;
+        this.transactionTemplate = transactionTemplate;
+        this.meterRegistry = meterRegistry;
+        this.batchSize = env.getProperty("notifications.batch-size", Integer.class, 50);
+        this.maxAttempts = env.getProperty("notifications.max-attempts", Integer.class, 8);
+        this.baseBackoff = env.getProperty("notifications.base-backoff", Duration.class, Duration.ofSeconds(5));
+        this.maxBackoff = env.getProperty("notifications.max-backoff", Duration.class, Duration.ofMinutes(15));
+        this.lease = env.getProperty("notifications.lease", Duration.class, Duration.ofMinutes(2));
+        this.pollInterval = env.getProperty("notifications.poll-interval", Duration.class, Duration.ofSeconds(1));
+        this.purgeInterval = env.getProperty("notifications.purge-interval", Duration.class, Duration.ofMinutes(10));
+        this.failedRetention = env.getProperty("notifications.failed-retention", Duration.class, Duration.ofDays(7));
+
+        for (Channel channel : Channel.values()) {
+            String key = "notifications." + channel.name().toLowerCase();
+            String name = env.getProperty(key + ".provider", channel == Channel.EMAIL ? "smtp" : "log");
+            NotificationProvider provider = "local".equals(name)
+                    ? localSink.providerFor(channel)
+                    : providerBeans.stream()
+                        .filter(candidate -> candidate.channel() == channel && candidate.name().equals(name))
+                        .findFirst()
+                        .orElseThrow(() -> new IllegalStateException("No " + channel + " notification provider named " + name));
+            providers.put(channel, provider);
+            rateLimiters.put(channel, new ProviderRateLimiter(
+                    env.getProperty(key + ".rate-per-second", Double.class, 10.0),
+                    env.getProperty(key + ".burst", Integer.class, batchSize)));
+        }
+
+        this.poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "notification-dispatcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PostConstruct
+    void start() {
+        poller.scheduleWithFixedDelay(this::dispatchAll, pollInterval.toMillis(), pollInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+        poller.scheduleWithFixedDelay(this::purge, purgeInterval.toMillis(), purgeInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        poller.shutdownNow();
+    }
+
+    void dispatchAll() {
+        for (Channel channel : Channel.values()) {
+            try {
+                // Keep going while batches come back full and the provider still has budget
+                while (dispatch(channel) == batchSize) {
+                    if (Thread.currentThread().isInterrupted()) {
+                        return;
+                    }
+                }
+            } catch (RuntimeException e) {
+                log.warn("Notification dispatch for {} failed", channel, e);
+            }
+        }
+    }
+
+    private int dispatch(Channel channel) {
+        ProviderRateLimiter rateLimiter = rateLimiters.get(channel);
+        int permits = rateLimiter.tryAcquire(batchSize);
+        if (permits == 0) {
+            return 0;
+        }
+        List<NotificationOutboxMessage> claimed = claim(channel, permits);
+        rateLimiter.release(permits - claimed.size());
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+
+        NotificationProvider provider = providers.get(channel);
+        List<NotificationMessage> messages = claimed.stream()
+                .map(m -> new NotificationMessage(m.getId(), m.getRecipient(), m.getSubject(), m.getBody()))
+                .toList();
+        Map<String, Exception> failures;
+        try {
+            failures = provider.sendBatch(messages);
+        } catch (RuntimeException e) {
+            failures = new HashMap<>();
+            for (NotificationMessage message : messages) {
+                failures.put(message.id(), e);
+            }
+        }
+        complete(channel, claimed, failures);
+        return claimed.size();
+    }
+
+    void purge() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            int expired = transactionTemplate.execute(status -> repository.deleteExpired(now));
+            int failed = transactionTemplate.execute(status -> repository.deleteFailedBefore(now.minus(failedRetention)));
+            meterRegistry.counter("notifications.purged", "reason", "expired").increment(expired);
+            meterRegistry.counter("notifications.purged", "reason", "failed").increment(failed);
+        } catch (RuntimeException e) {
+            log.warn("Notification outbox purge failed", e);
+        }
+    }
+
+    private List<NotificationOutboxMessage> claim(Channel channel, int limit) {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<NotificationOutboxMessage> due = repository.findDueForUpdate(channel, now, PageRequest.of(0, limit));
+            List<NotificationOutboxMessage> live = new ArrayList<>(due.size());
+            List<NotificationOutboxMessage> expired = new ArrayList<>();
+            for (NotificationOutboxMessage message : due) {
+                (message.getDeliverBy().isBefore(now) ? expired : live).add(message);
+            }
+            if (!expired.isEmpty()) {
+                repository.deleteAllInBatch(expired);
+                meterRegistry.counter("notifications.expired", "channel", channel.name().toLowerCase())
+                        .increment(expired.size());
+            }
+            LocalDateTime leaseEnd = now.plus(lease);
+            live.forEach(message -> message.setNextAttemptAt(leaseEnd));
+            return repository.saveAll(live);
+        });
+    }
+
+    private void complete(Channel channel, List<NotificationOutboxMessage> claimed, Map<String, Exception> failures) {
+        List<String> sent = new ArrayList<>();
+        List<NotificationOutboxMessage> failed = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (NotificationOutboxMessage message : claimed) {
+            Exception failure = failures.get(message.getId());
+            if (failure == null) {
+                sent.add(message.getId());
+                continue;
+            }
+            message.setAttempts(message.getAttempts() + 1);
+            message.setLastError(truncate(failure.getMessage()));
+            LocalDateTime retryAt = now.plus(backoff(message.getAttempts()));
+            if (message.getAttempts() >= maxAttempts || retryAt.isAfter(message.getDeliverBy())) {
+                message.setStatus(Status.FAILED);
+                message.setBody(null);
+                log.warn("Giving up on {} notification {} after {} attempts: {}", channel, message.getId(),
+                        message.getAttempts(), failure.getMessage());
+            } else {
+                message.setNextAttemptAt(retryAt);
+            }
+            failed.add(message);
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            repository.deleteAllByIdInBatch(sent);
+            repository.saveAll(failed);
+        });
+        String tag = channel.name().toLowerCase();
+        meterRegistry.counter("notifications.sent", "channel", tag).increment(sent.size());
+        meterRegistry.counter("notifications.failed", "channel", tag).increment(failed.size());
+    }
+
+    // Exponential backoff with jitter in [50%, 100%] so a provider outage does not end in a synchronized retry wave
+    private Duration backoff(int attempts) {
+        long exponential = baseBackoff.toMillis() << Math.min(attempts - 1, 20);
+        long capped = Math.min(maxBackoff.toMillis(), exponential);
+        return Duration.ofMillis(capped / 2 + ThreadLocalRandom.current().nextLong(capped / 2 + 1));
+    }
+
+    private static String truncate(String error) {
+        if (error == null) {
+            return null;
+        }
+        return error.length() <= 1000 ? error : error.substring(0, 1000);
+    }
+}
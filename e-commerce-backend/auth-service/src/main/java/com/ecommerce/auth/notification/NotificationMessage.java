@@ -0,0 +1,4 @@
+package com.ecommerce.auth.notification;
+
+public record NotificationMessage(String id, String recipient, String subject, String body) {
+}
@@ -0,0 +1,33 @@
+package com.ecommerce.auth.notification;
+
+import com.ecommerce.auth.entity.NotificationOutboxMessage;
+import com.ecommerce.auth.entity.NotificationOutboxMessage.Channel;
+import com.ecommerce.auth.repository.NotificationOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+
+/**
+ * Entry point for sending notifications: a single insert, delivered later by {@link NotificationDispatcher}.
+ * Joins the caller's transaction, so a notification is only sent if the change that triggered it commits.
+ * Every message carries a deadline matching the lifetime of what it contains; it is dropped rather than sent late.
+ */
+@Component
+@RequiredArgsConstructor
+public class NotificationOutbox {
+
+    private final NotificationOutboxRepository repository;
+
+    @Transactional
+    public void enqueue(Channel channel, String recipient, String subject, String body, Duration deliverWithin) {
+        NotificationOutboxMessage message = new NotificationOutboxMessage();
+        message.setChannel(channel);
+        message.setRecipient(recipient);
+        message.setSubject(subject);
+        message.setBody(body);
+        message.setDeliverBy(message.getCreatedAt().plus(deliverWithin));
+        repository.save(message);
+    }
+}
@@ -0,0 +1,24 @@
+package com.ecommerce.auth.notification;
+
+import com.ecommerce.auth.entity.NotificationOutboxMessage.Channel;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Delivers notifications for one channel. Implementations are Spring beans; the dispatcher picks one per channel
+ * by {@link #name()} from {@code notifications.<channel>.provider}.
+ */
+public interface NotificationProvider {
+
+    String name();
+
+    Channel channel();
+
+    /**
+     * Sends a batch, ideally over a single connection.
+     *
+     * @return the messages that could not be delivered, by id; the rest count as sent
+     */
+    Map<String, Exception> sendBatch(List<NotificationMessage> messages);
+}
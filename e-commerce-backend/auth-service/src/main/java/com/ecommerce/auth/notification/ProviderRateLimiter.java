@@ -0,0 +1,40 @@
+package com.ecommerce.auth.notification;
+
+/**
+ * Token bucket capping how many messages per second are handed to one provider. Unused tokens can be returned
+ * when a claimed batch turns out smaller than requested.
+ */
+public class ProviderRateLimiter {
+
+    private final double permitsPerMilli;
+    private final double capacity;
+    private double available;
+    private long lastRefill;
+
+    public ProviderRateLimiter(double permitsPerSecond, int burst) {
+        this.permitsPerMilli = permitsPerSecond / 1000.0;
+        this.capacity = Math.max(1, burst);
+        this.available = capacity;
+        this.lastRefill = System.currentTimeMillis();
+    }
+
+    /**
+     * @return how many of the requested permits were granted, possibly 0
+     */
+    public synchronized int tryAcquire(int requested) {
+        refill();
+        int granted = (int) Math.min(requested, Math.floor(available));
+        available -= granted;
+        return granted;
+    }
+
+    public synchronized void release(int permits) {
+        available = Math.min(capacity, available + permits);
+    }
+
+    private void refill() {
+        long now = System.currentTimeMillis();
+        available = Math.min(capacity, available + (now - lastRefill) * permitsPerMilli);
+        lastRefill = now;
+    }
+}
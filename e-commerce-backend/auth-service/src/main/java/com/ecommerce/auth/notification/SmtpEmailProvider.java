@@ -0,0 +1,71 @@
+package com.ecommerce.auth.notification;
+
+import com.ecommerce.auth.entity.NotificationOutboxMessage.Channel;
+import lombok.RequiredArgsConstructor;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+@RequiredArgsConstructor
+public class SmtpEmailProvider implements NotificationProvider {
+
+    private final JavaMailSender mailSender;
+
+    @Override
+    public String name() {
+        return "smtp";
+    }
+
+    @Override
+    public Channel channel() {
+        return Channel.EMAIL;
+    }
+
+    // JavaMailSenderImpl sends an array over one SMTP connection and reports failures per message
+    @Override
+    public Map<String, Exception> sendBatch(List<NotificationMessage> messages) {
+        Map<SimpleMailMessage, String> ids = new IdentityHashMap<>();
+        SimpleMailMessage[] mails = new SimpleMailMessage[messages.size()];
+        for (int i = 0; i < mails.length; i++) {
+            NotificationMessage message = messages.get(i);
+            SimpleMailMessage mail = new SimpleMailMessage();
+            mail.setTo(message.recipient());
+            mail.setSubject(message.subject());
+            mail.setText(message.body());
+            mails[i] = mail;
+            ids.put(mail, message.id());
+        }
+        try {
+            mailSender.send(mails);
+            return Map.of();
+        } catch (MailSendException e) {
+            if (e.getFailedMessages().isEmpty()) {
+                return failAll(messages, e);
+            }
+            Map<String, Exception> failures = new HashMap<>();
+            e.getFailedMessages().forEach((mail, cause) -> {
+                String id = ids.get(mail);
+                if (id != null) {
+                    failures.put(id, cause);
+                }
+            });
+            return failures;
+        } catch (MailException e) {
+            return failAll(messages, e);
+        }
+    }
+
+    private static Map<String, Exception> failAll(List<NotificationMessage> messages, Exception cause) {
+        Map<String, Exception> failures = new HashMap<>();
+        messages.forEach(message -> failures.put(message.id(), cause));
+        return failures;
+    }
+}
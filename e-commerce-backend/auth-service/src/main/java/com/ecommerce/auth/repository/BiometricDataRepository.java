@@ -1,6 +1,8 @@
 package com.ecommerce.auth.repository;
 
 import com.ecommerce.auth.entity.BiometricData;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 import java.util.Optional;
@@ -9,4 +11,5 @@ import java.util.Optional;
 public interface BiometricDataRepository extends JpaRepository<BiometricData, String> {
     Optional<BiometricData> findByUserId(String userId);
     boolean existsByUserId(String userId);
+    Slice<BiometricData> findAllBy(Pageable pageable);
 }
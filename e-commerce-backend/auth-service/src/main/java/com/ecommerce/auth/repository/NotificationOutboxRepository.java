@@ -0,0 +1,39 @@
+package com.ecommerce.auth.repository;
+
+import com.ecommerce.auth.entity.NotificationOutboxMessage;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutboxMessage, String> {
+
+    // SKIP LOCKED (lock timeout -2) lets several dispatchers claim disjoint batches
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select m from NotificationOutboxMessage m where m.channel = :channel and m.status = 'PENDING' "
+            + "and m.nextAttemptAt <= :now order by m.nextAttemptAt")
+    List<NotificationOutboxMessage> findDueForUpdate(@Param("channel") NotificationOutboxMessage.Channel channel,
+                                                     @Param("now") LocalDateTime now,
+                                                     Pageable pageable);
+
+    // Skips leased messages (next attempt pushed past now) so a batch in flight is not deleted under the dispatcher
+    @Modifying
+    @Query("delete from NotificationOutboxMessage m where m.status = 'PENDING' and m.deliverBy < :now "
+            + "and m.nextAttemptAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("delete from NotificationOutboxMessage m where m.status = 'FAILED' and m.createdAt < :cutoff")
+    int deleteFailedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,23 @@
+package com.ecommerce.auth.repository;
+
+import com.ecommerce.auth.entity.TwoFactorCode;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface TwoFactorCodeRepository extends JpaRepository<TwoFactorCode, String> {
+
+    /**
+     * Counts one guess against the code if it is still below the limit; returns 0 once the limit is reached.
+     */
+    @Transactional
+    @Modifying
+    @Query("update TwoFactorCode c set c.attempts = c.attempts + 1 "
+            + "where c.userId = :userId and c.codeHash = :codeHash and c.attempts < :maxAttempts")
+    int reserveAttempt(@Param("userId") String userId, @Param("codeHash") String codeHash,
+                       @Param("maxAttempts") int maxAttempts);
+}
@@ -2,8 +2,10 @@ package com.ecommerce.auth.repository;
 
 import com.ecommerce.auth.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -11,6 +13,9 @@ public interface UserRepository extends JpaRepository<User, String> {
     boolean existsById(String id);
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
+
+    @Query("select u.email from User u")
+    List<String> findAllEmails();
     
     default User getByEmail(String email) {
         return findByEmail(email)
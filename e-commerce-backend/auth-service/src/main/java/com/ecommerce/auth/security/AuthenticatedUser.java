@@ -0,0 +1,34 @@
+package com.ecommerce.auth.security;
+
+import com.ecommerce.auth.entity.User;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Spring Security user that also carries the account id, so tokens can be issued straight from the authenticated
+ * principal without loading the user a second time.
+ */
+@Getter
+public class AuthenticatedUser extends org.springframework.security.core.userdetails.User {
+
+    private final String userId;
+
+    public AuthenticatedUser(String userId, String username, String password, boolean enabled,
+                             Collection<? extends GrantedAuthority> authorities) {
+        super(username, password, enabled, true, true, true, authorities);
+        this.userId = userId;
+    }
+
+    public static AuthenticatedUser from(User user) {
+        return new AuthenticatedUser(
+                user.getId(),
+                user.getEmail(),
+                user.getPassword(),
+                user.isActive(),
+                List.of(new SimpleGrantedAuthority("ROLE_" + user.getRole().name())));
+    }
+}
@@ -3,6 +3,10 @@ package com.ecommerce.auth.security;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import com.ecommerce.auth.biometric.BiometricMatcher;
+import com.ecommerce.auth.biometric.BiometricTemplate;
 import com.ecommerce.auth.entity.BiometricData;
 import com.ecommerce.auth.repository.BiometricDataRepository;
 import com.ecommerce.auth.repository.UserRepository;
@@ -10,7 +14,6 @@ import com.ecommerce.auth.exception.ResourceNotFoundException;
 import com.ecommerce.auth.exception.InvalidRequestException;
 
 import java.time.LocalDateTime;
-import java.util.Base64;
 
 @Service
 @RequiredArgsConstructor
@@ -18,15 +21,15 @@ public class BiometricAuthenticationService {
     
     private final UserRepository userRepository;
     private final BiometricDataRepository biometricDataRepository;
+    private final BiometricMatcher biometricMatcher;
     
-    @Transactional
+    // Served from the in-memory index; the stored template is only read on a user's first verification
     public boolean verifyBiometricData(String userId, BiometricData data) {
-        // Get stored biometric data
-        BiometricData storedData = biometricDataRepository.findByUserId(userId)
-            .orElseThrow(() -> new ResourceNotFoundException("No biometric data found"));
-        
-        // Verify biometric match
-        return matchBiometricData(storedData.getData(), data.getData());
+        Boolean match = biometricMatcher.verify(userId, data.getData());
+        if (match == null) {
+            throw new ResourceNotFoundException("No biometric data found");
+        }
+        return match;
     }
     
     @Transactional
@@ -41,16 +44,21 @@ public class BiometricAuthenticationService {
             throw new InvalidRequestException("Biometric data already exists");
         }
         
+        // Reject templates the matcher cannot use before storing them
+        BiometricTemplate template = biometricMatcher.decode(data.getData());
+        
         // Save biometric data
         data.setUserId(userId);
         data.setCreatedAt(LocalDateTime.now());
         data.setUpdatedAt(LocalDateTime.now());
         biometricDataRepository.save(data);
-    }
-    
-    private boolean matchBiometricData(byte[] storedData, byte[] newData) {
-        // Implement biometric data matching logic here
-        // This is a placeholder - you'll need to implement actual matching logic
-        return true;
+        
+        // Only index the template once the row is committed, so a rollback cannot leave a phantom enrollment
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                biometricMatcher.enroll(userId, template);
+            }
+        });
     }
 }
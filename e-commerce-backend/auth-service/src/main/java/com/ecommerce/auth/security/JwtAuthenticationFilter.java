@@ -1,39 +1,107 @@
 package com.ecommerce.auth.security;
 
+import com.ecommerce.common.security.identity.IdentityHeaderSigner;
+import com.ecommerce.common.security.identity.IdentityHeaders;
+import com.ecommerce.common.security.token.TokenClaims;
+import com.ecommerce.common.security.token.TokenDenylist;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
+import java.util.List;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
 
+@Slf4j
 @Component
+@RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    private final JwtTokenProvider tokenProvider;
+    private final IdentityHeaderSigner identityHeaderSigner;
+    private final TokenDenylist tokenDenylist;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
         
-        String token = extractJwtFromRequest(request);
-        if (token != null && token.startsWith("Bearer ")) {
-            token = token.substring(7);
-            
-            // Create a default authority for now
-            Collection<? extends GrantedAuthority> authorities = Collections.singletonList(new SimpleGrantedAuthority("USER"));
-            Authentication authentication = new JwtAuthentication(token, "anonymous", authorities);
+        Authentication authentication = authenticateFromIdentityHeaders(request);
+        if (authentication == null) {
+            authentication = authenticateFromToken(request);
+        }
+        if (authentication != null) {
             SecurityContextHolder.getContext().setAuthentication(authentication);
         }
         
         filterChain.doFilter(request, response);
     }
 
+    // Requests routed through the gateway carry an identity it already verified; no need to parse the JWT again
+    private Authentication authenticateFromIdentityHeaders(HttpServletRequest request) {
+        String userId = request.getHeader(IdentityHeaders.USER_ID);
+        if (userId == null) {
+            return null;
+        }
+        String roles = request.getHeader(IdentityHeaders.USER_ROLES);
+        if (!identityHeaderSigner.verify(userId, roles, request.getHeader(IdentityHeaders.TIMESTAMP),
+                request.getHeader(IdentityHeaders.SIGNATURE))) {
+            log.warn("Ignoring identity headers with an invalid or expired signature for user {}", userId);
+            return null;
+        }
+        List<String> roleList = roles == null || roles.isBlank() ? List.of() : Arrays.asList(roles.split(","));
+        return new JwtAuthentication(null, userId, toAuthorities(roleList));
+    }
+
+    // Direct calls that bypass the gateway still have to present a valid token; everything comes from its claims
+    private Authentication authenticateFromToken(HttpServletRequest request) {
+        String bearerToken = extractJwtFromRequest(request);
+        if (bearerToken == null) {
+            return null;
+        }
+        String token = bearerToken.substring(7);
+        try {
+            Claims claims = tokenProvider.getAllClaimsFromToken(token);
+            Integer version = claims.get(TokenClaims.VERSION, Integer.class);
+            if (version == null || version != TokenClaims.CURRENT_VERSION) {
+                log.debug("Rejected bearer token with claim version {}", version);
+                return null;
+            }
+            String userId = claims.get(TokenClaims.USER_ID, String.class);
+            long issuedAt = claims.getIssuedAt() != null ? claims.getIssuedAt().getTime() : 0L;
+            if (tokenDenylist.isRevoked(userId, claims.getId(), issuedAt)) {
+                log.debug("Rejected revoked token {} of user {}", claims.getId(), userId);
+                return null;
+            }
+            Object roles = claims.get(TokenClaims.ROLES);
+            List<String> roleList = roles instanceof Collection<?> values
+                    ? values.stream().map(String::valueOf).toList()
+                    : List.of();
+            return new JwtAuthentication(token, userId != null ? userId : claims.getSubject(), toAuthorities(roleList));
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Rejected bearer token: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static Collection<? extends GrantedAuthority> toAuthorities(List<String> roles) {
+        return roles.stream()
+                .map(String::trim)
+                .filter(role -> !role.isEmpty())
+                .map(SimpleGrantedAuthority::new)
+                .toList();
+    }
+
     private String extractJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (bearerToken != null && bearerToken.startsWith("Bearer ")) {
@@ -0,0 +1,86 @@
+package com.ecommerce.auth.security;
+
+import com.ecommerce.auth.exception.TooManyLoginAttemptsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Rejects login attempts for emails and client addresses that keep failing, before any user lookup or
+ * BCrypt work is spent on them. Addresses get a higher limit since many users can share one.
+ */
+@Component
+public class LoginThrottle implements DisposableBean {
+
+    private final ExecutorService evictor;
+    private final SlidingWindowAttemptTracker byEmail;
+    private final SlidingWindowAttemptTracker byAddress;
+    private final Counter rejected;
+
+    public LoginThrottle(@Value("${security.login-throttle.email.max-attempts:5}") int emailMaxAttempts,
+                         @Value("${security.login-throttle.ip.max-attempts:50}") int ipMaxAttempts,
+                         @Value("${security.login-throttle.window:1m}") Duration window,
+                         @Value("${security.login-throttle.base-lockout:30s}") Duration baseLockout,
+                         @Value("${security.login-throttle.max-lockout:1h}") Duration maxLockout,
+                         @Value("${security.login-throttle.max-entries:100000}") int maxEntries,
+                         MeterRegistry meterRegistry) {
+        // Threads start on the first eviction pass, not here
+        this.evictor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "login-throttle-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.byEmail = new SlidingWindowAttemptTracker(emailMaxAttempts, window.toMillis(), baseLockout.toMillis(),
+                maxLockout.toMillis(), maxEntries, evictor);
+        this.byAddress = new SlidingWindowAttemptTracker(ipMaxAttempts, window.toMillis(), baseLockout.toMillis(),
+                maxLockout.toMillis(), maxEntries, evictor);
+        this.rejected = Counter.builder("auth.login-throttle.rejections").register(meterRegistry);
+        Gauge.builder("auth.login-throttle.keys", byEmail, SlidingWindowAttemptTracker::size)
+                .tag("key", "email").register(meterRegistry);
+        Gauge.builder("auth.login-throttle.keys", byAddress, SlidingWindowAttemptTracker::size)
+                .tag("key", "ip").register(meterRegistry);
+    }
+
+    @Override
+    public void destroy() {
+        evictor.shutdownNow();
+    }
+
+    /**
+     * @throws TooManyLoginAttemptsException if the email or the address is locked out
+     */
+    public void checkAllowed(String email, String clientAddress) {
+        long now = System.currentTimeMillis();
+        long lockedFor = Math.max(byEmail.lockedForMillis(emailKey(email), now),
+                clientAddress != null ? byAddress.lockedForMillis(clientAddress, now) : 0L);
+        if (lockedFor > 0) {
+            rejected.increment();
+            throw new TooManyLoginAttemptsException("Too many failed login attempts, try again later",
+                    Duration.ofMillis(lockedFor));
+        }
+    }
+
+    public void recordFailure(String email, String clientAddress) {
+        long now = System.currentTimeMillis();
+        byEmail.recordFailure(emailKey(email), now);
+        if (clientAddress != null) {
+            byAddress.recordFailure(clientAddress, now);
+        }
+    }
+
+    // Only the account is cleared; an address that failed for other accounts stays counted
+    public void recordSuccess(String email) {
+        byEmail.reset(emailKey(email));
+    }
+
+    private static String emailKey(String email) {
+        return email == null ? "" : email.trim().toLowerCase();
+    }
+}
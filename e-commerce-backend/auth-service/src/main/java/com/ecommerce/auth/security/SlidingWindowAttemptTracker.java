@@ -0,0 +1,182 @@
+package com.ecommerce.auth.security;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Counts failed attempts per key with a sliding-window estimate (current window plus the weighted remainder of
+ * the previous one) and locks a key out once it reaches the limit. Each further lockout doubles, up to a cap.
+ * <p>
+ * Updates are compare-and-set on immutable per-key state, so no lock is taken on the login path. Memory is
+ * bounded by {@code maxEntries}: once the table is 90% full, an eviction pass is handed to {@code evictor}. It
+ * drops idle keys first, then unlocked keys from the least to the most active, and only then the lockouts that
+ * end soonest, so a flood of distinct keys cannot flush out the keys that are locked for longest. A new key that
+ * arrives while the table is completely full is not tracked until the pass has made room.
+ */
+public class SlidingWindowAttemptTracker {
+
+    private final int maxAttempts;
+    private final long windowMillis;
+    private final long baseLockoutMillis;
+    private final long maxLockoutMillis;
+    private final int maxEntries;
+    private final int evictAt;
+    private final Executor evictor;
+    private final Map<String, AtomicReference<State>> states = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    public SlidingWindowAttemptTracker(int maxAttempts, long windowMillis, long baseLockoutMillis,
+                                       long maxLockoutMillis, int maxEntries, Executor evictor) {
+        this.maxAttempts = maxAttempts;
+        this.windowMillis = windowMillis;
+        this.baseLockoutMillis = baseLockoutMillis;
+        this.maxLockoutMillis = maxLockoutMillis;
+        this.maxEntries = maxEntries;
+        this.evictAt = maxEntries - maxEntries / 10;
+        this.evictor = evictor;
+    }
+
+    /**
+     * @return milliseconds until the key may try again, or 0 if it is not locked out
+     */
+    public long lockedForMillis(String key, long now) {
+        AtomicReference<State> ref = states.get(key);
+        if (ref == null) {
+            return 0L;
+        }
+        return Math.max(0L, ref.get().lockedUntil() - now);
+    }
+
+    /**
+     * @return milliseconds the key is now locked out for, or 0 if it may still try
+     */
+    public long recordFailure(String key, long now) {
+        AtomicReference<State> ref = states.get(key);
+        if (ref == null) {
+            int size = states.size();
+            if (size >= evictAt) {
+                requestEviction(now);
+            }
+            if (size >= maxEntries) {
+                return 0L;
+            }
+            ref = states.computeIfAbsent(key, k -> new AtomicReference<>(State.initial(align(now))));
+        }
+        while (true) {
+            State current = ref.get();
+            State next = current.roll(align(now), windowMillis).recordFailure(now);
+            if (next.lockouts() > 0 && now - current.lastFailure() > maxLockoutMillis) {
+                // Long enough without failures that earlier lockouts no longer count
+                next = next.withLockouts(0);
+            }
+            if (next.estimate(now, windowMillis) >= maxAttempts) {
+                int lockouts = next.lockouts() + 1;
+                long lockout = Math.min(maxLockoutMillis, baseLockoutMillis << Math.min(lockouts - 1, 30));
+                next = next.lockedOut(now + lockout, lockouts);
+            }
+            if (ref.compareAndSet(current, next)) {
+                return Math.max(0L, next.lockedUntil() - now);
+            }
+        }
+    }
+
+    public void reset(String key) {
+        states.remove(key);
+    }
+
+    public int size() {
+        return states.size();
+    }
+
+    // At most one pass queued or running; callers never wait for it
+    private void requestEviction(long now) {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            evictor.execute(() -> {
+                try {
+                    evict(now);
+                } finally {
+                    evicting.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            evicting.set(false);
+        }
+    }
+
+    private void evict(long now) {
+        states.entrySet().removeIf(entry -> isIdle(entry.getValue().get(), now));
+        int target = evictAt - Math.max(1, maxEntries / 10);
+        if (states.size() <= target) {
+            return;
+        }
+        // Still full of active keys: unlocked keys by fewest recent failures, then lockouts by earliest release
+        List<Candidate> candidates = new ArrayList<>(states.size());
+        states.forEach((key, ref) -> candidates.add(new Candidate(key, ref, ref.get())));
+        candidates.sort(Comparator
+                .comparing((Candidate c) -> c.state().lockedUntil() > now)
+                .thenComparingLong(c -> c.state().lockedUntil() > now ? c.state().lockedUntil() : 0L)
+                .thenComparingDouble(c -> c.state().estimate(now, windowMillis)));
+        for (Candidate candidate : candidates) {
+            if (states.size() <= target) {
+                return;
+            }
+            states.remove(candidate.key(), candidate.ref());
+        }
+    }
+
+    private boolean isIdle(State state, long now) {
+        return state.lockedUntil() <= now && now - state.lastFailure() > 2 * windowMillis
+                && (state.lockouts() == 0 || now - state.lastFailure() > maxLockoutMillis);
+    }
+
+    private record Candidate(String key, AtomicReference<State> ref, State state) {
+    }
+
+    private long align(long now) {
+        return now - Math.floorMod(now, windowMillis);
+    }
+
+    private record State(long windowStart, int current, int previous, long lastFailure, long lockedUntil,
+                         int lockouts) {
+
+        static State initial(long windowStart) {
+            return new State(windowStart, 0, 0, 0L, 0L, 0);
+        }
+
+        State roll(long alignedNow, long windowMillis) {
+            if (alignedNow == windowStart) {
+                return this;
+            }
+            int carried = alignedNow - windowStart == windowMillis ? current : 0;
+            return new State(alignedNow, 0, carried, lastFailure, lockedUntil, lockouts);
+        }
+
+        State recordFailure(long now) {
+            return new State(windowStart, current + 1, previous, now, lockedUntil, lockouts);
+        }
+
+        State withLockouts(int count) {
+            return new State(windowStart, current, previous, lastFailure, lockedUntil, count);
+        }
+
+        // Counts restart after a lockout so the key gets a fresh allowance once it is released
+        State lockedOut(long until, int count) {
+            return new State(windowStart, 0, 0, lastFailure, until, count);
+        }
+
+        double estimate(long now, long windowMillis) {
+            double previousWeight = 1.0 - (double) (now - windowStart) / windowMillis;
+            return current + previous * Math.max(0.0, previousWeight);
+        }
+    }
+}
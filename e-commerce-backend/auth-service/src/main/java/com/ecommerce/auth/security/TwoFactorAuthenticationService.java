@@ -2,7 +2,6 @@ package com.ecommerce.auth.security;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import com.ecommerce.auth.entity.User;
 import com.ecommerce.auth.repository.UserRepository;
 import com.ecommerce.auth.service.EmailService;
@@ -10,68 +9,59 @@ import com.ecommerce.auth.service.SmsService;
 import com.ecommerce.auth.exception.ResourceNotFoundException;
 import com.ecommerce.auth.exception.InvalidRequestException;
 
-import java.time.LocalDateTime;
-import java.util.Random;
+import java.security.SecureRandom;
+import java.time.Duration;
 
 @Service
 @RequiredArgsConstructor
 public class TwoFactorAuthenticationService {
     
     private static final int CODE_LENGTH = 6;
-    private static final int CODE_EXPIRATION_MINUTES = 5;
+    private static final Duration CODE_EXPIRATION = Duration.ofMinutes(5);
+    private static final SecureRandom RANDOM = new SecureRandom();
     
     private final UserRepository userRepository;
+    private final TwoFactorCodeStore codeStore;
     private final EmailService emailService;
     private final SmsService smsService;
     
-    @Transactional
+    // Read-only on the users table; the code lives in the code store and delivery is an outbox insert
     public String generateTwoFactorCode(String userId) {
-        String code = generateRandomCode();
         User user = userRepository.findById(userId)
             .orElseThrow(() -> new ResourceNotFoundException("User not found"));
         
-        user.setTwoFactorCode(code);
-        user.setTwoFactorCodeExpiry(LocalDateTime.now().plusMinutes(CODE_EXPIRATION_MINUTES));
-        userRepository.save(user);
+        String code = generateRandomCode();
+        codeStore.put(userId, code, CODE_EXPIRATION);
         
         // Send code via email and SMS
         emailService.sendVerificationCode(user.getEmail(), code);
-        smsService.sendVerificationCode(user.getPhoneNumber(), code);
+        if (user.getPhoneNumber() != null) {
+            smsService.sendVerificationCode(user.getPhoneNumber(), code);
+        }
         
         return code;
     }
 
-    @Transactional
     public boolean verifyTwoFactorCode(String userId, String code) {
-        User user = userRepository.findById(userId)
-            .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-        
-        if (user.getTwoFactorCode() == null) {
-            throw new InvalidRequestException("No verification code generated");
+        switch (codeStore.verify(userId, code)) {
+            case VALID:
+                return true;
+            case NOT_FOUND:
+                throw new InvalidRequestException("No verification code generated");
+            case EXPIRED:
+                throw new InvalidRequestException("Verification code expired");
+            case TOO_MANY_ATTEMPTS:
+                throw new InvalidRequestException("Too many invalid attempts, request a new verification code");
+            default:
+                throw new InvalidRequestException("Invalid verification code");
         }
-        
-        if (!user.getTwoFactorCode().equals(code)) {
-            throw new InvalidRequestException("Invalid verification code");
-        }
-        
-        if (user.getTwoFactorCodeExpiry().isBefore(LocalDateTime.now())) {
-            throw new InvalidRequestException("Verification code expired");
-        }
-        
-        // Clear the code after successful verification
-        user.setTwoFactorCode(null);
-        user.setTwoFactorCodeExpiry(null);
-        userRepository.save(user);
-        
-        return true;
     }
 
     private String generateRandomCode() {
         StringBuilder code = new StringBuilder();
-        Random random = new Random();
         
         for (int i = 0; i < CODE_LENGTH; i++) {
-            code.append(random.nextInt(10));
+            code.append(RANDOM.nextInt(10));
         }
         
         return code.toString();
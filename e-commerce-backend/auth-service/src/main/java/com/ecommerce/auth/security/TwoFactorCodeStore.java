@@ -0,0 +1,198 @@
+package com.ecommerce.auth.security;
+
+import com.ecommerce.auth.entity.TwoFactorCode;
+import com.ecommerce.auth.repository.TwoFactorCodeRepository;
+import com.ecommerce.common.cache.TimingWheel;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Short-lived two-factor codes, one per user. Codes are kept only as an HMAC under a server key, each code
+ * allows a limited number of guesses, and expiry is driven by a {@link TimingWheel} so stale codes are dropped
+ * without scanning. With {@code security.two-factor.persistent=true} codes are also written to their own table
+ * so they survive restarts and can be verified by any instance.
+ */
+@Slf4j
+@Component
+public class TwoFactorCodeStore implements DisposableBean {
+
+    public enum Result {
+        VALID,
+        INVALID,
+        EXPIRED,
+        NOT_FOUND,
+        TOO_MANY_ATTEMPTS
+    }
+
+    private final TwoFactorCodeRepository repository;
+    private final boolean persistent;
+    private final int maxAttempts;
+    private final SecretKeySpec hmacKey;
+    private final Map<String, StoredCode> codes = new ConcurrentHashMap<>();
+    private final TimingWheel<String> expiries;
+    private final ScheduledExecutorService ticker;
+
+    public TwoFactorCodeStore(TwoFactorCodeRepository repository,
+                              @Value("${security.two-factor.persistent:false}") boolean persistent,
+                              @Value("${security.two-factor.max-attempts:5}") int maxAttempts,
+                              @Value("${security.two-factor.secret:}") String secret,
+                              @Value("${security.two-factor.tick:1s}") Duration tick,
+                              MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.persistent = persistent;
+        this.maxAttempts = maxAttempts;
+        this.hmacKey = new SecretKeySpec(keyBytes(secret, persistent), "HmacSHA256");
+        // 1024 one-second slots cover the usual five-minute codes in a single rotation
+        this.expiries = new TimingWheel<>(tick.toMillis(), 1024, System.currentTimeMillis());
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "two-factor-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(this::expire, tick.toMillis(), tick.toMillis(), TimeUnit.MILLISECONDS);
+        Gauge.builder("auth.two-factor.codes", codes, Map::size).register(meterRegistry);
+    }
+
+    public void put(String userId, String code, Duration ttl) {
+        long expiresAt = System.currentTimeMillis() + ttl.toMillis();
+        StoredCode stored = new StoredCode(hash(userId, code), expiresAt, new AtomicInteger());
+        StoredCode previous = codes.put(userId, stored);
+        if (previous != null) {
+            expiries.cancel(userId, previous.expiresAt());
+        }
+        expiries.schedule(userId, expiresAt);
+        if (persistent) {
+            repository.save(toEntity(userId, stored));
+        }
+    }
+
+    /**
+     * Checks a code and consumes it on success. Every guess counts; once the limit is reached the code is
+     * discarded and a new one has to be requested.
+     */
+    public Result verify(String userId, String code) {
+        StoredCode stored = codes.get(userId);
+        if (stored == null && persistent) {
+            stored = repository.findById(userId).map(TwoFactorCodeStore::fromEntity).orElse(null);
+        }
+        if (stored == null) {
+            return Result.NOT_FOUND;
+        }
+        if (stored.expiresAt() <= System.currentTimeMillis()) {
+            remove(userId, stored);
+            return Result.EXPIRED;
+        }
+        if (!reserveAttempt(userId, stored)) {
+            remove(userId, stored);
+            return Result.TOO_MANY_ATTEMPTS;
+        }
+        if (MessageDigest.isEqual(stored.hash(), hash(userId, code))) {
+            remove(userId, stored);
+            return Result.VALID;
+        }
+        if (stored.attempts().get() >= maxAttempts) {
+            remove(userId, stored);
+            return Result.TOO_MANY_ATTEMPTS;
+        }
+        return Result.INVALID;
+    }
+
+    @Override
+    public void destroy() {
+        ticker.shutdownNow();
+    }
+
+    private void expire() {
+        try {
+            expiries.advance(System.currentTimeMillis(), (userId, deadline) -> {
+                StoredCode stored = codes.get(userId);
+                // A newer code may have replaced the one this deadline belonged to
+                if (stored != null && stored.expiresAt() == deadline) {
+                    remove(userId, stored);
+                }
+            });
+        } catch (RuntimeException e) {
+            log.warn("Failed to expire two-factor codes", e);
+        }
+    }
+
+    // The guess is counted before the code is compared, so parallel guesses cannot all get past the limit.
+    // Persisted codes are counted in the table, which every instance checking the same code shares.
+    private boolean reserveAttempt(String userId, StoredCode stored) {
+        int attempts = stored.attempts().incrementAndGet();
+        if (persistent) {
+            String codeHash = Base64.getEncoder().encodeToString(stored.hash());
+            return repository.reserveAttempt(userId, codeHash, maxAttempts) == 1;
+        }
+        return attempts <= maxAttempts;
+    }
+
+    private void remove(String userId, StoredCode stored) {
+        boolean removed = codes.remove(userId, stored);
+        if (removed) {
+            expiries.cancel(userId, stored.expiresAt());
+        }
+        // Leave the row alone if a newer code has replaced this one in the meantime
+        if (persistent && (removed || !codes.containsKey(userId))) {
+            repository.deleteById(userId);
+        }
+    }
+
+    private byte[] hash(String userId, String code) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(hmacKey);
+            return mac.doFinal((userId + ':' + code).getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+
+    private static byte[] keyBytes(String secret, boolean persistent) {
+        if (secret != null && !secret.isBlank()) {
+            return secret.getBytes(StandardCharsets.UTF_8);
+        }
+        if (persistent) {
+            log.warn("security.two-factor.secret is not set; persisted codes will not verify after a restart or on other instances");
+        }
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        return key;
+    }
+
+    private static TwoFactorCode toEntity(String userId, StoredCode stored) {
+        TwoFactorCode entity = new TwoFactorCode();
+        entity.setUserId(userId);
+        entity.setCodeHash(Base64.getEncoder().encodeToString(stored.hash()));
+        entity.setExpiresAt(stored.expiresAt());
+        entity.setAttempts(stored.attempts().get());
+        return entity;
+    }
+
+    private static StoredCode fromEntity(TwoFactorCode entity) {
+        return new StoredCode(Base64.getDecoder().decode(entity.getCodeHash()), entity.getExpiresAt(),
+                new AtomicInteger(entity.getAttempts()));
+    }
+
+    private record StoredCode(byte[] hash, long expiresAt, AtomicInteger attempts) {
+    }
+}
@@ -0,0 +1,123 @@
+package com.ecommerce.auth.security;
+
+import com.ecommerce.common.cache.BoundedTtlCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of user snapshots keyed by email, including "no such user" results so floods of logins for
+ * unknown emails do not reach the database. Snapshots are immutable; a fresh {@link AuthenticatedUser} is built
+ * per lookup because Spring Security erases credentials on the instances it is handed. A userId to email index,
+ * kept in step through the cache's removal listener, lets events that only carry the user id evict in O(1).
+ */
+@Component
+public class UserDetailsCache {
+
+    private static final Snapshot NOT_FOUND = new Snapshot(null, null, null, false, List.of());
+
+    private final BoundedTtlCache<String, Snapshot> snapshots;
+    private final Map<String, String> emailsByUserId = new ConcurrentHashMap<>();
+    private final long ttlMillis;
+    private final long negativeTtlMillis;
+    private final Counter hits;
+    private final Counter negativeHits;
+    private final Counter misses;
+
+    public UserDetailsCache(@Value("${security.user-cache.max-entries:10000}") int maxEntries,
+                            @Value("${security.user-cache.ttl:5m}") Duration ttl,
+                            @Value("${security.user-cache.negative-ttl:30s}") Duration negativeTtl,
+                            MeterRegistry meterRegistry) {
+        this.snapshots = new BoundedTtlCache<>(maxEntries, (email, snapshot, cause) -> {
+            if (snapshot.userId() != null) {
+                emailsByUserId.remove(snapshot.userId(), email);
+            }
+        });
+        this.ttlMillis = ttl.toMillis();
+        this.negativeTtlMillis = negativeTtl.toMillis();
+        this.hits = Counter.builder("auth.user-cache.requests").tag("result", "hit").register(meterRegistry);
+        this.negativeHits = Counter.builder("auth.user-cache.requests").tag("result", "negative-hit").register(meterRegistry);
+        this.misses = Counter.builder("auth.user-cache.requests").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("auth.user-cache.size", snapshots, BoundedTtlCache::size).register(meterRegistry);
+    }
+
+    /**
+     * @param loader returns the user for the email, or {@code null} if there is none
+     * @return a new user instance, or {@code null} if the email is unknown
+     */
+    public AuthenticatedUser get(String email, Function<String, AuthenticatedUser> loader) {
+        String key = normalize(email);
+        Snapshot snapshot = snapshots.get(key);
+        if (snapshot == NOT_FOUND) {
+            negativeHits.increment();
+            return null;
+        }
+        if (snapshot != null) {
+            hits.increment();
+            return snapshot.toUser();
+        }
+        misses.increment();
+
+        AuthenticatedUser user = loader.apply(email);
+        if (user == null) {
+            snapshots.put(key, NOT_FOUND, negativeTtlMillis);
+            return null;
+        }
+        // Indexed first so an eviction racing with the put cannot leave an index entry behind
+        Snapshot loaded = Snapshot.of(user);
+        if (loaded.userId() != null) {
+            emailsByUserId.put(loaded.userId(), key);
+        }
+        snapshots.put(key, loaded, ttlMillis);
+        return user;
+    }
+
+    public void invalidate(String email) {
+        if (email != null) {
+            snapshots.invalidate(normalize(email));
+        }
+    }
+
+    // Covers email changes, where the event only carries the new address
+    public void invalidateUser(String userId) {
+        if (userId == null) {
+            return;
+        }
+        String email = emailsByUserId.remove(userId);
+        if (email != null) {
+            snapshots.invalidate(email);
+        }
+    }
+
+    public void invalidateAll() {
+        snapshots.invalidateAll();
+    }
+
+    private static String normalize(String email) {
+        return email.trim().toLowerCase();
+    }
+
+    private record Snapshot(String userId, String username, String password, boolean enabled,
+                            List<GrantedAuthority> authorities) {
+
+        static Snapshot of(AuthenticatedUser user) {
+            Collection<GrantedAuthority> authorities = user.getAuthorities();
+            return new Snapshot(user.getUserId(), user.getUsername(), user.getPassword(), user.isEnabled(),
+                    List.copyOf(authorities));
+        }
+
+        AuthenticatedUser toUser() {
+            return new AuthenticatedUser(userId, username, password, enabled, authorities);
+        }
+    }
+}
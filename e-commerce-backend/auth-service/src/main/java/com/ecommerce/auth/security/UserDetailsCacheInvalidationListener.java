@@ -0,0 +1,26 @@
+package com.ecommerce.auth.security;
+
+import com.ecommerce.common.kafka.event.UserEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserDetailsCacheInvalidationListener {
+
+    private final UserDetailsCache userDetailsCache;
+
+    // Every instance holds its own cache, so every instance needs every event
+    @KafkaListener(topics = "ecommerce.users", groupId = "auth-service-user-cache-${random.uuid}")
+    public void listenUserEvents(UserEvent userEvent) {
+        userDetailsCache.invalidate(userEvent.getEmail());
+        // A new user has nothing cached under another address; imports send these by the hundred thousand
+        if (!UserEvent.EventType.USER_CREATED.name().equals(userEvent.getEventType())) {
+            userDetailsCache.invalidateUser(userEvent.getUserId());
+        }
+        log.debug("Evicted cached user {} ({})", userEvent.getUserId(), userEvent.getEventType());
+    }
+}
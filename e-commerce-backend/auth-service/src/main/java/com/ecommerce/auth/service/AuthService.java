@@ -4,7 +4,9 @@ import com.ecommerce.auth.dto.LoginRequest;
 import com.ecommerce.auth.dto.LoginResponse;
 import com.ecommerce.auth.dto.RegisterRequest;
 
+import java.util.concurrent.CompletableFuture;
+
 public interface AuthService {
-    LoginResponse authenticate(LoginRequest loginRequest);
-    LoginResponse register(RegisterRequest registerRequest);
+    CompletableFuture<LoginResponse> authenticate(LoginRequest loginRequest, String clientAddress);
+    CompletableFuture<LoginResponse> register(RegisterRequest registerRequest);
 }
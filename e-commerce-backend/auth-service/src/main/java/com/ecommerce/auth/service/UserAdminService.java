@@ -0,0 +1,8 @@
+package com.ecommerce.auth.service;
+
+import com.ecommerce.auth.entity.User;
+
+public interface UserAdminService {
+    void changeRole(String userId, User.UserRole role);
+    void changeStatus(String userId, boolean active);
+}
@@ -5,20 +5,27 @@ import com.ecommerce.auth.dto.LoginResponse;
 import com.ecommerce.auth.dto.RegisterRequest;
 import com.ecommerce.auth.entity.User;
 import com.ecommerce.auth.exception.EmailAlreadyExistsException;
+import com.ecommerce.auth.kafka.UserKafkaProducer;
 import com.ecommerce.auth.repository.UserRepository;
+import com.ecommerce.auth.security.AuthenticatedUser;
 import com.ecommerce.auth.security.JwtTokenProvider;
+import com.ecommerce.auth.security.LoginThrottle;
+import com.ecommerce.auth.security.PasswordHashingExecutor;
+import com.ecommerce.auth.security.UserDetailsCache;
 import com.ecommerce.auth.service.AuthService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 
 @Service
@@ -26,48 +33,72 @@ import java.util.stream.Collectors;
 public class AuthServiceImpl implements AuthService {
 
     private final AuthenticationManager authenticationManager;
-    private final UserDetailsService userDetailsService;
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider tokenProvider;
+    private final UserDetailsCache userDetailsCache;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final LoginThrottle loginThrottle;
+    private final UserKafkaProducer userKafkaProducer;
 
     @Override
-    @Transactional
-    public LoginResponse register(RegisterRequest registerRequest) {
+    public CompletableFuture<LoginResponse> register(RegisterRequest registerRequest) {
         // Check if email already exists
         if (userRepository.existsByEmail(registerRequest.getEmail())) {
-            throw new EmailAlreadyExistsException("Email is already in use");
+            return CompletableFuture.failedFuture(new EmailAlreadyExistsException("Email is already in use"));
         }
 
-        // Create new user
-        User user = new User();
-        user.setName(registerRequest.getName());
-        user.setEmail(registerRequest.getEmail());
-        user.setPassword(passwordEncoder.encode(registerRequest.getPassword()));
-        user.setPhoneNumber(registerRequest.getPhoneNumber());
-        
-        // Save user
-        userRepository.save(user);
+        // Hash once; the new account is signed in directly instead of verifying the password we just hashed
+        return passwordHashingExecutor.submit(() -> passwordEncoder.encode(registerRequest.getPassword()))
+                .thenApply(passwordHash -> {
+                    User user = new User();
+                    user.setName(registerRequest.getName());
+                    user.setEmail(registerRequest.getEmail());
+                    user.setPassword(passwordHash);
+                    user.setPhoneNumber(registerRequest.getPhoneNumber());
+                    User saved = transactionTemplate.execute(status -> userRepository.save(user));
 
-        // Authenticate the user
-        return authenticate(new LoginRequest(
-            registerRequest.getEmail(),
-            registerRequest.getPassword()
-        ));
+                    // A login attempt before registering may have cached this email as unknown, here or on
+                    // another instance; the event evicts it everywhere once the row is committed
+                    userDetailsCache.invalidate(saved.getEmail());
+                    userKafkaProducer.sendUserEvent(UserKafkaProducer.userCreated(saved));
+                    return toLoginResponse(AuthenticatedUser.from(saved));
+                });
     }
 
     @Override
-    public LoginResponse authenticate(LoginRequest loginRequest) {
-        // Authenticate user
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        loginRequest.getEmail(),
-                        loginRequest.getPassword()
-                )
-        );
+    public CompletableFuture<LoginResponse> authenticate(LoginRequest loginRequest, String clientAddress) {
+        // Locked-out callers are turned away before any lookup or BCrypt work
+        try {
+            loginThrottle.checkAllowed(loginRequest.getEmail(), clientAddress);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        // BCrypt verification (and any hash upgrade) runs on the hashing pool, not the request thread
+        return passwordHashingExecutor.submit(() -> {
+            Authentication authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(
+                            loginRequest.getEmail(),
+                            loginRequest.getPassword()
+                    )
+            );
+
+            // The principal is the user loaded during authentication; no second lookup needed
+            return toLoginResponse((UserDetails) authentication.getPrincipal());
+        }).whenComplete((response, failure) -> {
+            Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                    ? failure.getCause() : failure;
+            if (cause == null) {
+                loginThrottle.recordSuccess(loginRequest.getEmail());
+            } else if (cause instanceof AuthenticationException) {
+                loginThrottle.recordFailure(loginRequest.getEmail(), clientAddress);
+            }
+        });
+    }
 
-        // Generate JWT token
-        UserDetails userDetails = userDetailsService.loadUserByUsername(loginRequest.getEmail());
+    private LoginResponse toLoginResponse(UserDetails userDetails) {
         String token = tokenProvider.generateToken(userDetails);
 
         // Get user roles
@@ -1,34 +1,34 @@
 package com.ecommerce.auth.service.impl;
 
+import com.ecommerce.auth.entity.NotificationOutboxMessage.Channel;
+import com.ecommerce.auth.notification.NotificationOutbox;
 import lombok.RequiredArgsConstructor;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 import com.ecommerce.auth.service.EmailService;
 
+import java.time.Duration;
+
+// Messages go through the outbox; NotificationDispatcher does the SMTP work in the background
 @Service
 @RequiredArgsConstructor
 public class EmailServiceImpl implements EmailService {
     
-    private final JavaMailSender mailSender;
+    private static final Duration CODE_VALIDITY = Duration.ofMinutes(5);
+    private static final Duration RESET_LINK_VALIDITY = Duration.ofHours(1);
+
+    private final NotificationOutbox notificationOutbox;
 
     @Override
     public void sendVerificationCode(String email, String code) {
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setTo(email);
-        message.setSubject("Two-Factor Authentication Code");
-        message.setText("Your verification code is: " + code + 
-            "\nThis code will expire in 5 minutes.");
-        mailSender.send(message);
+        notificationOutbox.enqueue(Channel.EMAIL, email, "Two-Factor Authentication Code",
+            "Your verification code is: " + code + 
+            "\nThis code will expire in 5 minutes.", CODE_VALIDITY);
     }
 
     @Override
     public void sendPasswordResetLink(String email, String resetLink) {
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setTo(email);
-        message.setSubject("Password Reset Request");
-        message.setText("Click the following link to reset your password: " + resetLink +
-            "\nThis link will expire in 1 hour.");
-        mailSender.send(message);
+        notificationOutbox.enqueue(Channel.EMAIL, email, "Password Reset Request",
+            "Click the following link to reset your password: " + resetLink +
+            "\nThis link will expire in 1 hour.", RESET_LINK_VALIDITY);
     }
 }
@@ -1,34 +1,45 @@
 package com.ecommerce.auth.service.impl;
 
+import com.ecommerce.auth.entity.NotificationOutboxMessage.Channel;
+import com.ecommerce.auth.notification.NotificationOutbox;
 import com.ecommerce.auth.service.SmsService;
-import org.springframework.stereotype.Service;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import lombok.extern.slf4j.Slf4j;
 
+import java.time.Duration;
+
 @Slf4j
 @Component
+@RequiredArgsConstructor
 public class SmsServiceImpl implements SmsService {
+
+    private static final Duration CODE_VALIDITY = Duration.ofMinutes(5);
+    private static final Duration RESET_CODE_VALIDITY = Duration.ofHours(1);
+
+    private final NotificationOutbox notificationOutbox;
+
     @Value("${sms.enabled:false}")
     private boolean smsEnabled;
 
     @Override
     public void sendVerificationCode(String phoneNumber, String code) {
         if (!smsEnabled) {
-            log.info("SMS service is disabled. Skipping SMS for verification code: {} to number: {}", code, phoneNumber);
+            log.info("SMS service is disabled. Skipping verification code SMS to number: {}", phoneNumber);
             return;
         }
-        // TODO: Implement actual SMS sending logic
-        log.info("Sending verification code: {} to phone number: {}", code, phoneNumber);
+        notificationOutbox.enqueue(Channel.SMS, phoneNumber, "Verification Code", "Your verification code is: " + code,
+                CODE_VALIDITY);
     }
 
     @Override
     public void sendPasswordResetCode(String phoneNumber, String resetCode) {
         if (!smsEnabled) {
-            log.info("SMS service is disabled. Skipping SMS for password reset code: {} to number: {}", resetCode, phoneNumber);
+            log.info("SMS service is disabled. Skipping password reset SMS to number: {}", phoneNumber);
             return;
         }
-        // TODO: Implement actual SMS sending logic
-        log.info("Sending password reset code: {} to phone number: {}", resetCode, phoneNumber);
+        notificationOutbox.enqueue(Channel.SMS, phoneNumber, "Password Reset Code", "Your password reset code is: " + resetCode,
+                RESET_CODE_VALIDITY);
     }
 }
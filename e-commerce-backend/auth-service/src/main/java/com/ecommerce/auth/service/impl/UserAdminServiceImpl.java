@@ -0,0 +1,62 @@
+package com.ecommerce.auth.service.impl;
+
+import com.ecommerce.auth.entity.User;
+import com.ecommerce.auth.exception.ResourceNotFoundException;
+import com.ecommerce.auth.kafka.UserKafkaProducer;
+import com.ecommerce.auth.repository.UserRepository;
+import com.ecommerce.auth.service.UserAdminService;
+import com.ecommerce.common.kafka.event.UserEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.LongFunction;
+
+/**
+ * Role and status changes. Each one publishes an event that revokes the user's existing tokens in every service
+ * and evicts the user from every auth-service instance's cache.
+ */
+@Service
+@RequiredArgsConstructor
+public class UserAdminServiceImpl implements UserAdminService {
+
+    private final UserRepository userRepository;
+    private final UserKafkaProducer userKafkaProducer;
+
+    @Override
+    @Transactional
+    public void changeRole(String userId, User.UserRole role) {
+        User user = findUser(userId);
+        if (user.getRole() != role) {
+            user.setRole(role);
+            publishAfterCommit(changedAt -> UserKafkaProducer.roleUpdated(user, changedAt));
+        }
+    }
+
+    @Override
+    @Transactional
+    public void changeStatus(String userId, boolean active) {
+        User user = findUser(userId);
+        if (user.isActive() != active) {
+            user.setActive(active);
+            publishAfterCommit(changedAt -> UserKafkaProducer.statusChanged(user, changedAt));
+        }
+    }
+
+    private User findUser(String userId) {
+        return userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+    }
+
+    // The cut-off is taken once the change is committed, so a token issued while it was pending is revoked too
+    private void publishAfterCommit(LongFunction<UserEvent> event) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                userKafkaProducer.sendUserEvent(event.apply(System.currentTimeMillis()));
+            }
+        });
+    }
+}
@@ -0,0 +1,236 @@
+package com.ecommerce.auth.notification;
+
+import com.ecommerce.auth.entity.NotificationOutboxMessage;
+import com.ecommerce.auth.entity.NotificationOutboxMessage.Channel;
+import com.ecommerce.auth.entity.NotificationOutboxMessage.Status;
+import com.ecommerce.auth.repository.NotificationOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs {@link NotificationDispatcher} against the outbox table and {@link LocalNotificationSink}. The dispatcher
+ * is driven by hand; its poller is never started.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class NotificationDispatcherTest {
+
+    @Autowired
+    private NotificationOutboxRepository repository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private LocalNotificationSink sink;
+    private NotificationOutbox outbox;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+        sink = new LocalNotificationSink();
+        outbox = new NotificationOutbox(repository);
+    }
+
+    @Test
+    void deliversDueMessagesAndDeletesThem() {
+        outbox.enqueue(Channel.EMAIL, "a@example.com", "Code", "Your code is 1", Duration.ofMinutes(5));
+        outbox.enqueue(Channel.EMAIL, "b@example.com", "Code", "Your code is 2", Duration.ofMinutes(5));
+        outbox.enqueue(Channel.SMS, "+100", "Code", "Your code is 3", Duration.ofMinutes(5));
+
+        dispatcher().dispatchAll();
+
+        assertEquals(3, sink.getDelivered().size());
+        assertEquals(0, repository.count());
+    }
+
+    @Test
+    void claimSkipsMessagesThatAreNotDue() {
+        outbox.enqueue(Channel.EMAIL, "due@example.com", "Code", "1", Duration.ofMinutes(5));
+        outbox.enqueue(Channel.EMAIL, "later@example.com", "Code", "2", Duration.ofMinutes(5));
+        NotificationOutboxMessage later = find("later@example.com");
+        later.setNextAttemptAt(LocalDateTime.now().plusMinutes(1));
+        repository.save(later);
+
+        dispatcher().dispatchAll();
+
+        assertEquals(List.of("due@example.com"), deliveredRecipients());
+        assertEquals(1, repository.count());
+    }
+
+    @Test
+    void claimedMessagesAreLeasedWhileTheProviderSends() {
+        outbox.enqueue(Channel.EMAIL, "a@example.com", "Code", "1", Duration.ofMinutes(5));
+        List<LocalDateTime> leasedUntil = new ArrayList<>();
+        NotificationProvider probe = new NotificationProvider() {
+            @Override
+            public String name() {
+                return "probe";
+            }
+
+            @Override
+            public Channel channel() {
+                return Channel.EMAIL;
+            }
+
+            @Override
+            public Map<String, Exception> sendBatch(List<NotificationMessage> messages) {
+                messages.forEach(m -> leasedUntil.add(repository.findById(m.id()).orElseThrow().getNextAttemptAt()));
+                return Map.of();
+            }
+        };
+
+        dispatcher(List.of(probe), "notifications.email.provider", "probe", "notifications.lease", "2m").dispatchAll();
+
+        assertEquals(1, leasedUntil.size());
+        assertTrue(leasedUntil.get(0).isAfter(LocalDateTime.now().plusSeconds(90)));
+        assertEquals(0, repository.count());
+    }
+
+    @Test
+    void rateLimitCapsHowManyMessagesAreHandedToTheProvider() {
+        for (int i = 0; i < 5; i++) {
+            outbox.enqueue(Channel.SMS, "+10" + i, "Code", "code " + i, Duration.ofMinutes(5));
+        }
+
+        dispatcher("notifications.sms.rate-per-second", "0.001", "notifications.sms.burst", "2").dispatchAll();
+
+        assertEquals(2, sink.getDelivered().size());
+        assertEquals(3, repository.count());
+    }
+
+    @Test
+    void failedMessageIsRetriedWithBackoffWhileTheRestOfTheBatchIsDelivered() {
+        sink.reject("bad@example.com");
+        outbox.enqueue(Channel.EMAIL, "good@example.com", "Code", "1", Duration.ofMinutes(5));
+        outbox.enqueue(Channel.EMAIL, "bad@example.com", "Code", "2", Duration.ofMinutes(5));
+        LocalDateTime before = LocalDateTime.now();
+
+        dispatcher("notifications.base-backoff", "10s").dispatchAll();
+
+        assertEquals(List.of("good@example.com"), deliveredRecipients());
+        NotificationOutboxMessage bad = find("bad@example.com");
+        assertEquals(Status.PENDING, bad.getStatus());
+        assertEquals(1, bad.getAttempts());
+        assertNotNull(bad.getLastError());
+        assertEquals("2", bad.getBody());
+        // Jittered into [50%, 100%] of the base backoff
+        assertTrue(!bad.getNextAttemptAt().isBefore(before.plusSeconds(5)));
+        assertTrue(!bad.getNextAttemptAt().isAfter(LocalDateTime.now().plusSeconds(10)));
+    }
+
+    @Test
+    void givesUpAfterMaxAttemptsAndClearsTheBody() {
+        sink.reject("bad@example.com");
+        outbox.enqueue(Channel.EMAIL, "bad@example.com", "Code", "Your code is 123456", Duration.ofMinutes(5));
+
+        dispatcher("notifications.max-attempts", "1").dispatchAll();
+
+        NotificationOutboxMessage bad = find("bad@example.com");
+        assertEquals(Status.FAILED, bad.getStatus());
+        assertNull(bad.getBody());
+    }
+
+    @Test
+    void givesUpWhenTheNextRetryWouldMissTheDeadline() {
+        sink.reject("bad@example.com");
+        outbox.enqueue(Channel.SMS, "bad@example.com", "Code", "Your code is 123456", Duration.ofSeconds(3));
+
+        dispatcher("notifications.base-backoff", "10s").dispatchAll();
+
+        NotificationOutboxMessage bad = find("bad@example.com");
+        assertEquals(Status.FAILED, bad.getStatus());
+        assertEquals(1, bad.getAttempts());
+        assertNull(bad.getBody());
+    }
+
+    @Test
+    void dropsMessagesPastTheirDeadlineInsteadOfSendingThem() {
+        outbox.enqueue(Channel.EMAIL, "late@example.com", "Code", "1", Duration.ofMinutes(5));
+        NotificationOutboxMessage late = find("late@example.com");
+        late.setDeliverBy(LocalDateTime.now().minusSeconds(1));
+        repository.save(late);
+
+        dispatcher().dispatchAll();
+
+        assertTrue(sink.getDelivered().isEmpty());
+        assertEquals(0, repository.count());
+    }
+
+    @Test
+    void purgeDropsUnclaimedExpiredMessagesAndOldFailures() {
+        LocalDateTime now = LocalDateTime.now();
+        save("old-failure", Status.FAILED, now.minusDays(8), now.minusDays(8), now.minusDays(8));
+        save("recent-failure", Status.FAILED, now.minusDays(1), now.minusDays(1), now.minusDays(1));
+        save("expired", Status.PENDING, now.minusMinutes(10), now.minusMinutes(5), now.minusMinutes(1));
+        save("leased", Status.PENDING, now.minusMinutes(10), now.minusMinutes(5), now.plusMinutes(1));
+
+        dispatcher("notifications.failed-retention", "7d").purge();
+
+        List<String> left = repository.findAll().stream().map(NotificationOutboxMessage::getRecipient).sorted().toList();
+        assertEquals(List.of("leased", "recent-failure"), left);
+    }
+
+    private NotificationDispatcher dispatcher(String... properties) {
+        return dispatcher(List.of(), properties);
+    }
+
+    private NotificationDispatcher dispatcher(List<NotificationProvider> providers, String... properties) {
+        MockEnvironment env = new MockEnvironment()
+                .withProperty("notifications.email.provider", "local")
+                .withProperty("notifications.sms.provider", "local");
+        env.setConversionService(new ApplicationConversionService());
+        for (int i = 0; i < properties.length; i += 2) {
+            env.setProperty(properties[i], properties[i + 1]);
+        }
+        return new NotificationDispatcher(repository, new TransactionTemplate(transactionManager), providers, sink,
+                new SimpleMeterRegistry(), env);
+    }
+
+    private NotificationOutboxMessage find(String recipient) {
+        return repository.findAll().stream()
+                .filter(m -> m.getRecipient().equals(recipient))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private List<String> deliveredRecipients() {
+        return sink.getDelivered().stream().map(d -> d.message().recipient()).toList();
+    }
+
+    private void save(String recipient, Status status, LocalDateTime createdAt, LocalDateTime deliverBy,
+                      LocalDateTime nextAttemptAt) {
+        NotificationOutboxMessage message = new NotificationOutboxMessage();
+        message.setChannel(Channel.EMAIL);
+        message.setRecipient(recipient);
+        message.setBody(status == Status.FAILED ? null : "body");
+        message.setStatus(status);
+        message.setCreatedAt(createdAt);
+        message.setDeliverBy(deliverBy);
+        message.setNextAttemptAt(nextAttemptAt);
+        repository.save(message);
+    }
+}
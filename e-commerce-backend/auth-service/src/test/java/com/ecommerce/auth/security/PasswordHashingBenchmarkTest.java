@@ -0,0 +1,61 @@
+package com.ecommerce.auth.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Measures BCrypt logins/sec per core through {@link PasswordHashingExecutor}. Excluded from {@code test};
+ * run with {@code ./gradlew benchmark}, which shows the logged result.
+ */
+@Tag("benchmark")
+class PasswordHashingBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordHashingBenchmarkTest.class);
+    private static final int STRENGTH = 12;
+    private static final int WARMUP_LOGINS = 8;
+
+    @Test
+    void loginsPerSecondPerCore() {
+        int cores = Runtime.getRuntime().availableProcessors();
+        int logins = Integer.getInteger("benchmark.logins", cores * 16);
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(STRENGTH);
+        String hash = encoder.encode("correct horse battery staple");
+        PasswordHashingExecutor executor = new PasswordHashingExecutor(cores, logins, new SimpleMeterRegistry());
+        try {
+            runLogins(executor, encoder, hash, WARMUP_LOGINS);
+
+            long start = System.nanoTime();
+            runLogins(executor, encoder, hash, logins);
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            double perSecond = logins / seconds;
+            log.info("BCrypt({}): {} logins on {} threads in {}s -> {} logins/s, {} logins/s per core",
+                    STRENGTH, logins, executor.getPoolSize(), round(seconds), round(perSecond), round(perSecond / cores));
+            assertTrue(perSecond > 0);
+        } finally {
+            executor.destroy();
+        }
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    private static void runLogins(PasswordHashingExecutor executor, BCryptPasswordEncoder encoder, String hash, int count) {
+        List<CompletableFuture<Boolean>> futures = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            futures.add(executor.submit(() -> encoder.matches("correct horse battery staple", hash)));
+        }
+        futures.forEach(future -> assertTrue(future.join()));
+    }
+}
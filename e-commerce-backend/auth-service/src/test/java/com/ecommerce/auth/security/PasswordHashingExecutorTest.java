@@ -0,0 +1,54 @@
+package com.ecommerce.auth.security;
+
+import com.ecommerce.auth.exception.PasswordHashingOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PasswordHashingExecutorTest {
+
+    @Test
+    void rejectsWorkBeyondQueueCapacity() throws InterruptedException {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        PasswordHashingExecutor executor = new PasswordHashingExecutor(1, 2, registry);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            // One task holds the only thread, two wait in the queue, the rest are refused
+            List<CompletableFuture<Boolean>> futures = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                futures.add(executor.submit(() -> {
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return true;
+                }));
+            }
+
+            List<CompletableFuture<Boolean>> rejected = futures.stream()
+                    .filter(CompletableFuture::isCompletedExceptionally)
+                    .toList();
+            assertEquals(7, rejected.size());
+            assertEquals(7.0, registry.get("auth.password-hashing.rejections").counter().count());
+            CompletionException failure = assertThrows(CompletionException.class, () -> rejected.get(0).join());
+            assertInstanceOf(PasswordHashingOverloadedException.class, failure.getCause());
+
+            release.countDown();
+            futures.stream().filter(future -> !rejected.contains(future))
+                    .forEach(future -> assertEquals(true, future.join()));
+        } finally {
+            release.countDown();
+            executor.destroy();
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.ecommerce.cart;
+
+import com.ecommerce.common.config.LoadBalancingConfig;
+import com.ecommerce.common.config.ProductLookupConfig;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
+import org.springframework.context.annotation.Import;
+
+@SpringBootApplication
+@EnableDiscoveryClient
+@Import({LoadBalancingConfig.class, ProductLookupConfig.class})
+public class CartServiceApplication {
+    public static void main(String[] args) {
+        SpringApplication.run(CartServiceApplication.class, args);
+    }
+}
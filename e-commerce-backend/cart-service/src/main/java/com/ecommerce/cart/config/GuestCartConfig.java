@@ -0,0 +1,18 @@
+package com.ecommerce.cart.config;
+
+import com.ecommerce.cart.guest.GuestCartCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class GuestCartConfig {
+
+    @Bean
+    public GuestCartCodec guestCartCodec(@Value("${cart.guest.secret:${security.identity.secret}}") String secret,
+                                         @Value("${cart.guest.ttl:30d}") Duration ttl) {
+        return new GuestCartCodec(secret, ttl);
+    }
+}
@@ -0,0 +1,18 @@
+package com.ecommerce.cart.config;
+
+import com.ecommerce.common.security.identity.IdentityHeaderSigner;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class IdentityHeaderConfig {
+
+    @Bean
+    public IdentityHeaderSigner identityHeaderSigner(@Value("${security.identity.secret}") String secret,
+                                                     @Value("${security.identity.max-age:60s}") Duration maxAge) {
+        return new IdentityHeaderSigner(secret, maxAge);
+    }
+}
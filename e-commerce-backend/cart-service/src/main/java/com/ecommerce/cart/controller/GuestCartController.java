@@ -0,0 +1,122 @@
+package com.ecommerce.cart.controller;
+
+import com.ecommerce.cart.guest.GuestCartService;
+import com.ecommerce.cart.guest.GuestCartService.GuestCart;
+import com.ecommerce.cart.model.Cart;
+import com.ecommerce.common.security.identity.IdentityHeaderSigner;
+import com.ecommerce.common.security.identity.IdentityHeaders;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseCookie;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+
+/**
+ * Cart endpoints for visitors who are not signed in. The cart travels in the {@code GUEST_CART} cookie or the
+ * {@code X-Guest-Cart} header; every response carries the updated token in both, and the merge response clears both.
+ */
+@RestController
+@RequestMapping("/guest")
+public class GuestCartController {
+
+    static final String COOKIE = "GUEST_CART";
+    static final String HEADER = "X-Guest-Cart";
+
+    private final GuestCartService guestCartService;
+    private final IdentityHeaderSigner identityHeaderSigner;
+    private final Duration ttl;
+
+    public GuestCartController(GuestCartService guestCartService,
+                               IdentityHeaderSigner identityHeaderSigner,
+                               @Value("${cart.guest.ttl:30d}") Duration ttl) {
+        this.guestCartService = guestCartService;
+        this.identityHeaderSigner = identityHeaderSigner;
+        this.ttl = ttl;
+    }
+
+    @GetMapping
+    public ResponseEntity<Cart> getCart(HttpServletRequest request) {
+        return respond(guestCartService.getCart(token(request)));
+    }
+
+    @GetMapping("/total")
+    public ResponseEntity<Double> getTotal(HttpServletRequest request) {
+        return ResponseEntity.ok(guestCartService.calculateTotal(token(request)));
+    }
+
+    @PostMapping("/items")
+    public ResponseEntity<Cart> addItem(@RequestParam String productId,
+                                        @RequestParam(defaultValue = "1") int quantity,
+                                        HttpServletRequest request) {
+        return respond(guestCartService.addItem(token(request), productId, quantity));
+    }
+
+    @PutMapping("/items/{productId}")
+    public ResponseEntity<Cart> updateItemQuantity(@PathVariable String productId,
+                                                   @RequestParam int quantity,
+                                                   HttpServletRequest request) {
+        return respond(guestCartService.updateItemQuantity(token(request), productId, quantity));
+    }
+
+    @DeleteMapping("/items/{productId}")
+    public ResponseEntity<Cart> removeItem(@PathVariable String productId, HttpServletRequest request) {
+        return respond(guestCartService.removeItem(token(request), productId));
+    }
+
+    @DeleteMapping
+    public ResponseEntity<Cart> clear(HttpServletRequest request) {
+        return respond(guestCartService.clear(token(request)));
+    }
+
+    /**
+     * Called by the client right after sign-in: folds the guest cart into the user's cart and drops the token.
+     * Safe to retry; see {@link GuestCartService#mergeInto}.
+     */
+    @PostMapping("/merge")
+    public ResponseEntity<Cart> merge(HttpServletRequest request) {
+        String userId = request.getHeader(IdentityHeaders.USER_ID);
+        if (!identityHeaderSigner.verify(userId, request.getHeader(IdentityHeaders.USER_ROLES),
+                request.getHeader(IdentityHeaders.TIMESTAMP), request.getHeader(IdentityHeaders.SIGNATURE))) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        Cart cart = guestCartService.mergeInto(userId, token(request));
+        ResponseCookie expired = ResponseCookie.from(COOKIE, "").path("/").maxAge(0).build();
+        return ResponseEntity.ok()
+                .header(HttpHeaders.SET_COOKIE, expired.toString())
+                .header(HEADER, "")
+                .body(cart);
+    }
+
+    private ResponseEntity<Cart> respond(GuestCart guestCart) {
+        ResponseCookie cookie = ResponseCookie.from(COOKIE, guestCart.token())
+                .path("/")
+                .httpOnly(true)
+                .secure(true)
+                .sameSite("Lax")
+                .maxAge(ttl)
+                .build();
+        return ResponseEntity.ok()
+                .header(HttpHeaders.SET_COOKIE, cookie.toString())
+                .header(HEADER, guestCart.token())
+                .body(guestCart.cart());
+    }
+
+    private static String token(HttpServletRequest request) {
+        String header = request.getHeader(HEADER);
+        if (header != null) {
+            return header;
+        }
+        if (request.getCookies() != null) {
+            for (var cookie : request.getCookies()) {
+                if (COOKIE.equals(cookie.getName())) {
+                    return cookie.getValue();
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,11 @@
+package com.ecommerce.cart.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class ProductUnavailableException extends RuntimeException {
+    public ProductUnavailableException(String message) {
+        super(message);
+    }
+}
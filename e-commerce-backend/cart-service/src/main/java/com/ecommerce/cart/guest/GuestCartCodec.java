@@ -0,0 +1,200 @@
+package com.ecommerce.cart.guest;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Encodes a guest cart into a token the client keeps, so anonymous carts need no server-side state.
+ * <p>
+ * Layout: version (1 byte), flags (1 byte, bit 0 = deflated), issued-at epoch seconds (4 bytes), body, then the
+ * first 16 bytes of an HMAC-SHA256 over everything before it. The body is a line count followed by
+ * (product id, quantity) pairs; it is deflated only when that makes it smaller. The whole token is base64url.
+ */
+public class GuestCartCodec {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final byte VERSION = 1;
+    private static final int FLAG_DEFLATED = 1;
+    private static final int MAC_LENGTH = 16;
+    private static final int HEADER_LENGTH = 6;
+    private static final int MAX_BODY_BYTES = 16 * 1024;
+
+    private final SecretKeySpec key;
+    private final long ttlSeconds;
+    private final ThreadLocal<Mac> macs;
+
+    public GuestCartCodec(String secret, Duration ttl) {
+        if (secret == null || secret.length() < 32) {
+            throw new IllegalArgumentException("Guest cart secret must be at least 32 characters");
+        }
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        this.ttlSeconds = ttl.toSeconds();
+        this.macs = ThreadLocal.withInitial(this::newMac);
+    }
+
+    public String encode(Map<String, Integer> lines, long nowMillis) {
+        byte[] body = writeBody(lines);
+        byte[] deflated = deflate(body);
+        boolean compress = deflated.length < body.length;
+        byte[] payload = compress ? deflated : body;
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(HEADER_LENGTH + payload.length + MAC_LENGTH);
+        out.write(VERSION);
+        out.write(compress ? FLAG_DEFLATED : 0);
+        int issuedAt = (int) (nowMillis / 1000);
+        out.write(issuedAt >>> 24);
+        out.write(issuedAt >>> 16);
+        out.write(issuedAt >>> 8);
+        out.write(issuedAt);
+        out.writeBytes(payload);
+        byte[] signed = out.toByteArray();
+        out.writeBytes(mac(signed, signed.length));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(out.toByteArray());
+    }
+
+    /**
+     * Returns the lines, or {@code null} if the token is malformed, tampered with or expired.
+     */
+    public Map<String, Integer> decode(String token, long nowMillis) {
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(token);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        if (bytes.length < HEADER_LENGTH + MAC_LENGTH || bytes[0] != VERSION) {
+            return null;
+        }
+        int signedLength = bytes.length - MAC_LENGTH;
+        byte[] expected = mac(bytes, signedLength);
+        if (!MessageDigest.isEqual(expected, Arrays.copyOfRange(bytes, signedLength, bytes.length))) {
+            return null;
+        }
+        long issuedAt = ((bytes[2] & 0xFFL) << 24) | ((bytes[3] & 0xFFL) << 16) | ((bytes[4] & 0xFFL) << 8) | (bytes[5] & 0xFFL);
+        if (nowMillis / 1000 - issuedAt > ttlSeconds) {
+            return null;
+        }
+        byte[] payload = Arrays.copyOfRange(bytes, HEADER_LENGTH, signedLength);
+        try {
+            return readBody((bytes[1] & FLAG_DEFLATED) != 0 ? inflate(payload) : payload);
+        } catch (IOException | DataFormatException e) {
+            return null;
+        }
+    }
+
+    private static byte[] writeBody(Map<String, Integer> lines) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            writeVarInt(out, lines.size());
+            for (Map.Entry<String, Integer> line : lines.entrySet()) {
+                out.writeUTF(line.getKey());
+                writeVarInt(out, line.getValue());
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Map<String, Integer> readBody(byte[] body) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(body));
+        int count = readVarInt(in);
+        Map<String, Integer> lines = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            String productId = in.readUTF();
+            lines.put(productId, readVarInt(in));
+        }
+        return lines;
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    private static byte[] deflate(byte[] body) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION, true);
+        try {
+            deflater.setInput(body);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(body.length);
+            byte[] buffer = new byte[512];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] payload) throws DataFormatException {
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(payload);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(payload.length * 4);
+            byte[] buffer = new byte[512];
+            while (!inflater.finished()) {
+                int n = inflater.inflate(buffer);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new DataFormatException("Truncated guest cart");
+                }
+                out.write(buffer, 0, n);
+                // Signed, so only our own output gets here, but keep a bound anyway
+                if (out.size() > MAX_BODY_BYTES) {
+                    throw new DataFormatException("Guest cart too large");
+                }
+            }
+            return out.toByteArray();
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private byte[] mac(byte[] bytes, int length) {
+        Mac mac = macs.get();
+        mac.update(bytes, 0, length);
+        return Arrays.copyOf(mac.doFinal(), MAC_LENGTH);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", e);
+        }
+    }
+}
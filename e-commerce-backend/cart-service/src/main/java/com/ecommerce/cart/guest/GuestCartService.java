@@ -0,0 +1,130 @@
+package com.ecommerce.cart.guest;
+
+import com.ecommerce.cart.exception.InvalidRequestException;
+import com.ecommerce.cart.model.Cart;
+import com.ecommerce.cart.model.CartItem;
+import com.ecommerce.cart.service.CartService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Carts for anonymous visitors. The cart lives only in the token the client sends back on every request; each
+ * operation decodes it, applies the change and returns a fresh token. Nothing is stored until the visitor signs
+ * in and the cart is merged into their persistent one.
+ */
+@Slf4j
+@Service
+public class GuestCartService {
+
+    private final GuestCartCodec codec;
+    private final CartService cartService;
+    private final int maxLines;
+
+    public GuestCartService(GuestCartCodec codec,
+                            CartService cartService,
+                            @Value("${cart.guest.max-lines:50}") int maxLines) {
+        this.codec = codec;
+        this.cartService = cartService;
+        this.maxLines = maxLines;
+    }
+
+    public record GuestCart(Cart cart, String token) {
+    }
+
+    public GuestCart getCart(String token) {
+        return toGuestCart(decode(token));
+    }
+
+    public GuestCart addItem(String token, String productId, int quantity) {
+        requirePositive(quantity);
+        return update(token, lines -> {
+            if (!lines.containsKey(productId) && lines.size() >= maxLines) {
+                throw new InvalidRequestException("A guest cart holds at most " + maxLines + " products");
+            }
+            lines.merge(productId, quantity, Integer::sum);
+        });
+    }
+
+    public GuestCart updateItemQuantity(String token, String productId, int quantity) {
+        return update(token, lines -> {
+            if (!lines.containsKey(productId)) {
+                throw new RuntimeException("Item not found in cart");
+            }
+            if (quantity <= 0) {
+                lines.remove(productId);
+            } else {
+                lines.put(productId, quantity);
+            }
+        });
+    }
+
+    public GuestCart removeItem(String token, String productId) {
+        return update(token, lines -> lines.remove(productId));
+    }
+
+    public GuestCart clear(String token) {
+        return update(token, Map::clear);
+    }
+
+    public double calculateTotal(String token) {
+        return cartService.calculateTotal(toCart(decode(token)));
+    }
+
+    /**
+     * Folds the guest lines into the user's cart. Each line ends up with the larger of the two quantities rather
+     * than their sum, so merging the same token again (a retried login, a second tab, a stale header copy) leaves
+     * the cart unchanged.
+     */
+    public Cart mergeInto(String userId, String token) {
+        Map<String, Integer> lines = decode(token);
+        if (lines.isEmpty()) {
+            return cartService.getCart(userId);
+        }
+        return cartService.mergeItems(userId, lines);
+    }
+
+    private GuestCart update(String token, Consumer<Map<String, Integer>> change) {
+        Map<String, Integer> lines = decode(token);
+        change.accept(lines);
+        return toGuestCart(lines);
+    }
+
+    private Map<String, Integer> decode(String token) {
+        if (token == null || token.isBlank()) {
+            return new LinkedHashMap<>();
+        }
+        Map<String, Integer> lines = codec.decode(token, System.currentTimeMillis());
+        if (lines == null) {
+            // Tampered, truncated or expired: start over rather than fail the visitor's request
+            log.debug("Discarding invalid guest cart token");
+            return new LinkedHashMap<>();
+        }
+        return lines;
+    }
+
+    private GuestCart toGuestCart(Map<String, Integer> lines) {
+        return new GuestCart(toCart(lines), codec.encode(lines, System.currentTimeMillis()));
+    }
+
+    private static Cart toCart(Map<String, Integer> lines) {
+        Cart cart = new Cart();
+        lines.forEach((productId, quantity) -> {
+            CartItem item = new CartItem();
+            item.setProductId(productId);
+            item.setQuantity(quantity);
+            cart.getItems().add(item);
+        });
+        return cart;
+    }
+
+    private static void requirePositive(int quantity) {
+        if (quantity <= 0) {
+            throw new InvalidRequestException("Quantity must be positive");
+        }
+    }
+}
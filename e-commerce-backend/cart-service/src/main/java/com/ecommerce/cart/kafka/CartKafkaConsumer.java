@@ -2,21 +2,52 @@ package com.ecommerce.cart.kafka;
 
 import com.ecommerce.common.kafka.event.OrderEvent;
 import com.ecommerce.cart.service.CartService;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Service;
 
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
 @Service
-@RequiredArgsConstructor
 public class CartKafkaConsumer {
 
     private final CartService cartService;
+    private final DistributionSummary batchSize;
+    private final Counter cartsCleared;
+    private final Timer batchTimer;
+
+    public CartKafkaConsumer(CartService cartService, MeterRegistry meterRegistry) {
+        this.cartService = cartService;
+        this.batchSize = DistributionSummary.builder("cart.order-events.batch-size").register(meterRegistry);
+        this.cartsCleared = Counter.builder("cart.order-events.carts-cleared").register(meterRegistry);
+        this.batchTimer = Timer.builder("cart.order-events.batch").register(meterRegistry);
+    }
 
-    @KafkaListener(topics = "ecommerce.orders", groupId = "cart-group")
-    public void listenOrderEvents(OrderEvent orderEvent) {
-        if (orderEvent.getStatus().equals("COMPLETED")) {
-            // Clear cart after successful order
-            cartService.clearCart(orderEvent.getUserId());
+    // Whole poll at once; with the default BATCH ack mode the offsets are committed once per batch
+    @KafkaListener(
+        topics = "ecommerce.orders",
+        groupId = "cart-group",
+        batch = "true",
+        properties = "max.poll.records=${cart.order-events.max-poll-records:500}"
+    )
+    public void listenOrderEvents(List<OrderEvent> orderEvents) {
+        batchSize.record(orderEvents.size());
+        // Clear carts after successful orders; a user with several completed orders in the poll is cleared once
+        Set<String> userIds = new LinkedHashSet<>();
+        for (OrderEvent orderEvent : orderEvents) {
+            if ("COMPLETED".equals(orderEvent.getStatus()) && orderEvent.getUserId() != null) {
+                userIds.add(orderEvent.getUserId());
+            }
+        }
+        if (userIds.isEmpty()) {
+            return;
         }
+        batchTimer.record(() -> cartService.clearCarts(userIds));
+        cartsCleared.increment(userIds.size());
     }
 }
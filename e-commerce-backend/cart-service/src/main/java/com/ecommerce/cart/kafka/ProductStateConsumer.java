@@ -0,0 +1,32 @@
+package com.ecommerce.cart.kafka;
+
+import com.ecommerce.cart.product.ProductProjection;
+import com.ecommerce.common.kafka.event.ProductEvent;
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class ProductStateConsumer {
+
+    private final ProductProjection productProjection;
+
+    // A fresh group per start reads the compacted topic from the beginning, which is the startup snapshot
+    @KafkaListener(
+        topics = "ecommerce.products.state",
+        groupId = "cart-product-projection-${random.uuid}",
+        properties = {
+            "auto.offset.reset=earliest",
+            "spring.json.value.default.type=com.ecommerce.common.kafka.event.ProductEvent"
+        }
+    )
+    public void listenProductState(ConsumerRecord<String, ProductEvent> record, Consumer<?, ?> consumer) {
+        productProjection.apply(record.key(), record.value(), record.timestamp());
+        consumer.currentLag(new TopicPartition(record.topic(), record.partition()))
+            .ifPresent(lag -> productProjection.recordLag(record.partition(), lag));
+    }
+}
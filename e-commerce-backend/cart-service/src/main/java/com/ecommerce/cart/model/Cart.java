@@ -0,0 +1,28 @@
+package com.ecommerce.cart.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A whole cart as one row plus its item collection. Persisted carts now live in {@code cart_lines}; this entity
+ * is kept to read carts saved in the old layout, which {@link com.ecommerce.cart.store.CartStore} migrates on
+ * first access, and as the response shape of the cart endpoints.
+ */
+@Data
+@Entity
+@Table(name = "carts")
+public class Cart {
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private String id;
+
+    @Column(name = "user_id", unique = true)
+    private String userId;
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "cart_items", joinColumns = @JoinColumn(name = "cart_id"))
+    private List<CartItem> items = new ArrayList<>();
+}
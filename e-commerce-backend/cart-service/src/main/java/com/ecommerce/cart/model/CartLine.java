@@ -0,0 +1,44 @@
+package com.ecommerce.cart.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * One product line of a cart as stored by {@link com.ecommerce.cart.store.CartStore}. Lines are keyed by
+ * (user, product) so a change is a single-row upsert or delete rather than a rewrite of the whole cart.
+ */
+@Data
+@Entity
+@Table(name = "cart_lines")
+@IdClass(CartLine.Key.class)
+public class CartLine {
+    @Id
+    @Column(name = "user_id")
+    private String userId;
+
+    @Id
+    @Column(name = "product_id")
+    private String productId;
+
+    @Column(nullable = false)
+    private int quantity;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private String userId;
+        private String productId;
+    }
+}
@@ -0,0 +1,31 @@
+package com.ecommerce.cart.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Per-cart write counter. Every flush of a cart bumps it, so an instance holding the cart in memory can tell
+ * whether someone else wrote it since it last read it. {@code touched_at} is the time of that write; its index is
+ * what {@link com.ecommerce.cart.store.CartExpiryJob} scans for abandoned carts. A purged cart keeps its row as a
+ * tombstone, with the version bumped, {@code touched_at} cleared and {@code purged_at} set, so its version never
+ * goes backwards.
+ */
+@Data
+@Entity
+@Table(name = "cart_versions", indexes = @Index(name = "idx_cart_versions_touched_at", columnList = "touched_at, purged_at"))
+public class CartVersion {
+    @Id
+    @Column(name = "user_id")
+    private String userId;
+
+    @Column(nullable = false)
+    private long version;
+
+    @Column(name = "touched_at")
+    private LocalDateTime touchedAt;
+
+    @Column(name = "purged_at")
+    private LocalDateTime purgedAt;
+}
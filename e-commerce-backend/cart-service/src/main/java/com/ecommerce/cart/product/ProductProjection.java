@@ -0,0 +1,130 @@
+package com.ecommerce.cart.product;
+
+import com.ecommerce.common.cache.BoundedTtlCache;
+import com.ecommerce.common.kafka.event.ProductEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory copy of product id -> name/price/stock, rebuilt on startup by replaying the compacted
+ * {@code ecommerce.products.state} topic and kept current by tailing it. Cart totals read from here only.
+ * A record older than the state already held for its product (by {@code stateVersion}) is ignored, so a late
+ * startup snapshot cannot roll back a newer change.
+ * <p>
+ * Products that a direct lookup did not find are remembered separately: their ids come from cart lines, so that
+ * set is bounded and its entries expire, after which the next read asks product-service again.
+ */
+@Component
+public class ProductProjection {
+
+    public record ProductSnapshot(String productId, String name, BigDecimal price, int stockQuantity, long version) {
+    }
+
+    private final Map<String, ProductSnapshot> products = new ConcurrentHashMap<>();
+    // Version of the tombstone for each deleted product
+    private final Map<String, Long> deleted = new ConcurrentHashMap<>();
+    // Start time of the lookup that found each product missing
+    private final BoundedTtlCache<String, Long> missing;
+    private final long missingTtlMillis;
+    private final Map<Integer, Long> partitionLag = new ConcurrentHashMap<>();
+    private final Timer eventDelay;
+    private final Counter staleRecords;
+
+    public ProductProjection(MeterRegistry meterRegistry,
+                             @Value("${cart.product-projection.missing-ttl:5m}") Duration missingTtl,
+                             @Value("${cart.product-projection.missing-max-entries:10000}") int missingMaxEntries) {
+        this.missing = new BoundedTtlCache<>(missingMaxEntries);
+        this.missingTtlMillis = missingTtl.toMillis();
+        Gauge.builder("cart.product-projection.size", products, Map::size)
+                .description("Products held in the local projection")
+                .register(meterRegistry);
+        Gauge.builder("cart.product-projection.missing", missing, BoundedTtlCache::size)
+                .description("Products remembered as missing from product-service")
+                .register(meterRegistry);
+        Gauge.builder("cart.product-projection.lag.records", partitionLag,
+                        lag -> lag.values().stream().mapToLong(Long::longValue).sum())
+                .description("State topic records not yet applied")
+                .register(meterRegistry);
+        this.eventDelay = Timer.builder("cart.product-projection.lag")
+                .description("Time between a product change being published and applied here")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.staleRecords = Counter.builder("cart.product-projection.stale")
+                .description("State records ignored because a newer state was already applied")
+                .register(meterRegistry);
+    }
+
+    public ProductSnapshot get(String productId) {
+        return products.get(productId);
+    }
+
+    /**
+     * True when the product was deleted, or was recently missing from product-service, as of the newest state
+     * seen here.
+     */
+    public boolean isDeleted(String productId) {
+        return deleted.containsKey(productId) || missing.get(productId) != null;
+    }
+
+    /**
+     * Records that a direct lookup started at {@code asOfMillis} did not find the product, so later reads skip it
+     * without asking again until the entry expires. A state record published after that time still brings the
+     * product back.
+     */
+    public void markMissing(String productId, long asOfMillis) {
+        if (products.containsKey(productId) || deleted.containsKey(productId)) {
+            return;
+        }
+        Long previous = missing.get(productId);
+        missing.put(productId, previous == null ? asOfMillis : Math.max(previous, asOfMillis), missingTtlMillis);
+    }
+
+    public void apply(String productId, ProductEvent state, long publishedAtMillis) {
+        // Tombstones and records from before versioning carry no version of their own
+        long version = state == null || state.getStateVersion() == 0 ? publishedAtMillis : state.getStateVersion();
+        if (version < heldVersion(productId)) {
+            staleRecords.increment();
+        } else if (state == null) {
+            products.remove(productId);
+            deleted.put(productId, version);
+            missing.invalidate(productId);
+        } else {
+            deleted.remove(productId);
+            missing.invalidate(productId);
+            products.put(productId, new ProductSnapshot(productId, state.getName(), state.getPrice(),
+                    state.getStockQuantity(), version));
+        }
+        eventDelay.record(Math.max(0, System.currentTimeMillis() - publishedAtMillis), TimeUnit.MILLISECONDS);
+    }
+
+    private long heldVersion(String productId) {
+        ProductSnapshot held = products.get(productId);
+        if (held != null) {
+            return held.version();
+        }
+        Long tombstone = deleted.get(productId);
+        if (tombstone != null) {
+            return tombstone;
+        }
+        Long missingSince = missing.get(productId);
+        return missingSince != null ? missingSince : Long.MIN_VALUE;
+    }
+
+    public void recordLag(int partition, long records) {
+        partitionLag.put(partition, records);
+    }
+
+    public int size() {
+        return products.size();
+    }
+}
@@ -0,0 +1,12 @@
+package com.ecommerce.cart.repository;
+
+import com.ecommerce.cart.model.Cart;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface CartRepository extends JpaRepository<Cart, String> {
+    Optional<Cart> findByUserId(String userId);
+}
@@ -1,84 +1,111 @@
 package com.ecommerce.cart.service;
 
+import com.ecommerce.cart.exception.ProductUnavailableException;
 import com.ecommerce.cart.model.Cart;
 import com.ecommerce.cart.model.CartItem;
-import com.ecommerce.cart.repository.CartRepository;
+import com.ecommerce.cart.product.ProductProjection;
+import com.ecommerce.cart.store.CartStore;
+import com.ecommerce.common.client.ProductLookupClient;
+import com.ecommerce.common.client.ProductSummary;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class CartService {
     
-    private final CartRepository cartRepository;
-    private final ProductClient productClient;
+    private final CartStore cartStore;
+    private final ProductProjection productProjection;
+    private final ProductLookupClient productLookupClient;
 
     public Cart getCart(String userId) {
-        return cartRepository.findByUserId(userId)
-            .orElseGet(() -> createNewCart(userId));
-    }
-
-    private Cart createNewCart(String userId) {
-        Cart cart = new Cart();
-        cart.setUserId(userId);
-        return cartRepository.save(cart);
+        return cartStore.getCart(userId);
     }
 
     public Cart addItemToCart(String userId, String productId, int quantity) {
-        Cart cart = getCart(userId);
-        CartItem existingItem = cart.getItems().stream()
-            .filter(item -> item.getProductId().equals(productId))
-            .findFirst()
-            .orElse(null);
-
-        if (existingItem != null) {
-            existingItem.setQuantity(existingItem.getQuantity() + quantity);
-        } else {
-            CartItem newItem = new CartItem();
-            newItem.setProductId(productId);
-            newItem.setQuantity(quantity);
-            cart.getItems().add(newItem);
-        }
+        return cartStore.addItem(userId, productId, quantity);
+    }
 
-        return cartRepository.save(cart);
+    public Cart mergeItems(String userId, Map<String, Integer> quantities) {
+        return cartStore.raiseQuantities(userId, quantities);
     }
 
     public Cart removeItemFromCart(String userId, String productId) {
-        Cart cart = getCart(userId);
-        cart.getItems().removeIf(item -> item.getProductId().equals(productId));
-        return cartRepository.save(cart);
+        return cartStore.removeItem(userId, productId);
     }
 
     public Cart updateItemQuantity(String userId, String productId, int quantity) {
-        Cart cart = getCart(userId);
-        CartItem item = cart.getItems().stream()
-            .filter(i -> i.getProductId().equals(productId))
-            .findFirst()
-            .orElseThrow(() -> new RuntimeException("Item not found in cart"));
-
-        item.setQuantity(quantity);
-        return cartRepository.save(cart);
+        return cartStore.setQuantity(userId, productId, quantity);
     }
 
     public void clearCart(String userId) {
-        Cart cart = getCart(userId);
-        cart.getItems().clear();
-        cartRepository.save(cart);
+        cartStore.clear(userId);
+    }
+
+    public void clearCarts(Collection<String> userIds) {
+        cartStore.clearAll(userIds);
     }
 
     public double calculateTotal(String userId) {
-        Cart cart = getCart(userId);
-        return cart.getItems().stream()
-            .mapToDouble(item -> {
-                try {
-                    return productClient.getProductPrice(item.getProductId()) * item.getQuantity();
-                } catch (Exception e) {
-                    return 0;
-                }
-            })
-            .sum();
+        return calculateTotal(getCart(userId));
+    }
+
+    /**
+     * Sums the lines whose product is still sold; lines for deleted products are left out of the total.
+     */
+    public double calculateTotal(Cart cart) {
+        Map<String, BigDecimal> prices = resolvePrices(cart);
+        BigDecimal total = BigDecimal.ZERO;
+        for (CartItem item : cart.getItems()) {
+            BigDecimal price = prices.get(item.getProductId());
+            if (price != null) {
+                total = total.add(price.multiply(BigDecimal.valueOf(item.getQuantity())));
+            }
+        }
+        return total.doubleValue();
+    }
+
+    private Map<String, BigDecimal> resolvePrices(Cart cart) {
+        Map<String, BigDecimal> prices = new HashMap<>();
+        Set<String> unknown = new LinkedHashSet<>();
+        for (CartItem item : cart.getItems()) {
+            ProductProjection.ProductSnapshot product = productProjection.get(item.getProductId());
+            if (product != null && product.price() != null) {
+                prices.put(item.getProductId(), product.price());
+            } else if (!productProjection.isDeleted(item.getProductId())) {
+                unknown.add(item.getProductId());
+            }
+        }
+        if (unknown.isEmpty()) {
+            return prices;
+        }
+
+        // Only while the projection is still replaying or has not seen a new product yet
+        long askedAt = System.currentTimeMillis();
+        Map<String, ProductSummary> fetched;
+        try {
+            fetched = productLookupClient.getProducts(unknown).join();
+        } catch (CompletionException e) {
+            throw new ProductUnavailableException("Prices are temporarily unavailable");
+        }
+        for (String productId : unknown) {
+            ProductSummary product = fetched.get(productId);
+            if (product == null || product.getPrice() == null) {
+                productProjection.markMissing(productId, askedAt);
+            } else {
+                prices.put(productId, product.getPrice());
+            }
+        }
+        return prices;
     }
 }
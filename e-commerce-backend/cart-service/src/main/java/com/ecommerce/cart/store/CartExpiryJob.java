@@ -0,0 +1,148 @@
+package com.ecommerce.cart.store;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Purges carts nobody has written to for {@code cart.expiry.after}. Candidates come oldest first from the
+ * {@code touched_at} index on {@code cart_versions}, so a run only reads the carts it deletes.
+ * <p>
+ * Work is throttled so it stays out of the way of shoppers: small batches, each in its own short transaction,
+ * rows locked by foreground writes are skipped, and after every batch the job sleeps at least as long as the
+ * batch took. Several instances can run it at the same time; they skip each other's locked rows. The job runs
+ * on its own thread, so those pauses never hold up the application's shared scheduler.
+ */
+@Slf4j
+@Component
+public class CartExpiryJob implements DisposableBean {
+
+    private final CartLineWriter writer;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration expireAfter;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Duration pause;
+
+    private final Map<String, AtomicLong> tableRows = Map.of(
+            "cart_lines", new AtomicLong(),
+            "cart_versions", new AtomicLong());
+    private final Counter purgedCarts;
+    private final Counter purgedLines;
+    private final Timer batchTimer;
+    private final ScheduledExecutorService scheduler;
+
+    public CartExpiryJob(CartLineWriter writer,
+                         TransactionTemplate transactionTemplate,
+                         MeterRegistry meterRegistry,
+                         @Value("${cart.expiry.enabled:true}") boolean enabled,
+                         @Value("${cart.expiry.after:30d}") Duration expireAfter,
+                         @Value("${cart.expiry.batch-size:500}") int batchSize,
+                         @Value("${cart.expiry.max-batches-per-run:200}") int maxBatchesPerRun,
+                         @Value("${cart.expiry.pause:200ms}") Duration pause,
+                         @Value("${cart.expiry.initial-delay:5m}") Duration initialDelay,
+                         @Value("${cart.expiry.interval:10m}") Duration interval) {
+        this.writer = writer;
+        this.transactionTemplate = transactionTemplate;
+        this.expireAfter = expireAfter;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.pause = pause;
+        tableRows.forEach((table, rows) -> Gauge.builder("cart.expiry.table.rows", rows, AtomicLong::get)
+                .tag("table", table)
+                .register(meterRegistry));
+        this.purgedCarts = Counter.builder("cart.expiry.purged.carts").register(meterRegistry);
+        this.purgedLines = Counter.builder("cart.expiry.purged.lines").register(meterRegistry);
+        this.batchTimer = Timer.builder("cart.expiry.batch").register(meterRegistry);
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cart-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (enabled) {
+            scheduler.scheduleWithFixedDelay(this::run, initialDelay.toMillis(), interval.toMillis(),
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        // Interrupts a run mid-pause; the batch in flight commits or rolls back on its own
+        scheduler.shutdownNow();
+        try {
+            scheduler.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    void run() {
+        try {
+            int purged = purgeExpired();
+            if (purged > 0) {
+                log.info("Purged {} abandoned carts not touched for {}", purged, expireAfter);
+            }
+            refreshTableRows();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.warn("Cart expiry run failed: {}", e.getMessage());
+        }
+    }
+
+    int purgeExpired() throws InterruptedException {
+        // Carts from before touched_at existed get a full expiry period from now rather than being purged at once
+        while (writer.backfillTouchedAt(batchSize) == batchSize) {
+            Thread.sleep(pause.toMillis());
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minus(expireAfter);
+        int total = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            long started = System.nanoTime();
+            int done = transactionTemplate.execute(status -> purgeBatch(cutoff));
+            long elapsed = System.nanoTime() - started;
+            batchTimer.record(Duration.ofNanos(elapsed));
+            total += done;
+            if (done < batchSize) {
+                break;
+            }
+            Thread.sleep(Math.max(pause.toMillis(), Duration.ofNanos(elapsed).toMillis()));
+        }
+        return total;
+    }
+
+    private int purgeBatch(LocalDateTime cutoff) {
+        List<String> userIds = writer.lockExpired(cutoff, batchSize);
+        if (userIds.isEmpty()) {
+            return 0;
+        }
+        purgedLines.increment(writer.purge(userIds));
+        purgedCarts.increment(userIds.size());
+        return userIds.size();
+    }
+
+    private void refreshTableRows() {
+        writer.tableRows().forEach((table, rows) -> {
+            AtomicLong gauge = tableRows.get(table);
+            if (gauge != null) {
+                gauge.set(rows);
+            }
+        });
+    }
+}
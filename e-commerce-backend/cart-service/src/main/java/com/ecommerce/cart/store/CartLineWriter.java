@@ -0,0 +1,199 @@
+package com.ecommerce.cart.store;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * JDBC access to {@code cart_lines} and {@code cart_versions}. Writes are batched across carts so a flush is a
+ * handful of statements regardless of how many carts changed.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CartLineWriter {
+
+    private static final String SELECT_LINES =
+            "SELECT product_id, quantity FROM cart_lines WHERE user_id = ? ORDER BY created_at, product_id";
+    private static final String SELECT_VERSION = "SELECT version FROM cart_versions WHERE user_id = ?";
+    private static final String BUMP_VERSION =
+            "UPDATE cart_versions SET version = version + 1, touched_at = CURRENT_TIMESTAMP WHERE user_id = ? AND version = ?";
+    private static final String FORCE_VERSION = "INSERT INTO cart_versions (user_id, version, touched_at) "
+            + "VALUES (?, 1, CURRENT_TIMESTAMP) ON DUPLICATE KEY UPDATE version = version + 1, touched_at = VALUES(touched_at)";
+    private static final String DELETE_CART = "DELETE FROM cart_lines WHERE user_id = ?";
+    private static final String DELETE_CARTS = "DELETE FROM cart_lines WHERE user_id IN (%s)";
+    private static final int MAX_IN_LIST = 1000;
+    // Tombstone rather than delete: a version that restarted at 0 would reopen legacy migration and let a hot copy
+    // elsewhere mistake a recreated cart for the one it read
+    private static final String PURGE_VERSIONS = "UPDATE cart_versions SET version = version + 1, touched_at = NULL, "
+            + "purged_at = CURRENT_TIMESTAMP WHERE user_id IN (%s)";
+    // SKIP LOCKED: carts being flushed right now are not abandoned, and the purge never waits on foreground writes
+    private static final String LOCK_EXPIRED = "SELECT user_id FROM cart_versions WHERE touched_at < ? "
+            + "ORDER BY touched_at LIMIT ? FOR UPDATE SKIP LOCKED";
+    private static final String BACKFILL_TOUCHED =
+            "UPDATE cart_versions SET touched_at = CURRENT_TIMESTAMP WHERE touched_at IS NULL AND purged_at IS NULL LIMIT ?";
+    private static final String TABLE_ROWS = "SELECT table_name, table_rows FROM information_schema.tables "
+            + "WHERE table_schema = DATABASE() AND table_name IN ('cart_lines', 'cart_versions')";
+    private static final String DELETE_LINE = "DELETE FROM cart_lines WHERE user_id = ? AND product_id = ?";
+    private static final String SET_LINE = "INSERT INTO cart_lines (user_id, product_id, quantity, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE quantity = VALUES(quantity), updated_at = VALUES(updated_at)";
+    private static final String INCREMENT_LINE = "INSERT INTO cart_lines (user_id, product_id, quantity, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE quantity = quantity + VALUES(quantity), updated_at = VALUES(updated_at)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record StoredCart(Map<String, Integer> lines, long version) {
+    }
+
+    /**
+     * Reads lines and version. Call inside a transaction so both come from the same snapshot.
+     */
+    public StoredCart load(String userId) {
+        Map<String, Integer> lines = new LinkedHashMap<>();
+        jdbcTemplate.query(SELECT_LINES, rs -> {
+            lines.put(rs.getString("product_id"), rs.getInt("quantity"));
+        }, userId);
+        return new StoredCart(lines, currentVersion(userId));
+    }
+
+    public long currentVersion(String userId) {
+        List<Long> versions = jdbcTemplate.queryForList(SELECT_VERSION, Long.class, userId);
+        return versions.isEmpty() ? 0 : versions.get(0);
+    }
+
+    /**
+     * Applies the deltas inside the caller's transaction and returns the carts that were written by someone
+     * else since their base version; their in-memory copies need reloading. The changes are applied either way:
+     * increments commute, and sets and removes are meant to overwrite.
+     */
+    WriteResult write(List<HotCart.CartDelta> deltas) {
+        // Same lock order in every instance so concurrent flushes cannot deadlock
+        List<HotCart.CartDelta> ordered = new ArrayList<>(deltas);
+        ordered.sort(Comparator.comparing(HotCart.CartDelta::userId));
+
+        List<Object[]> bumps = new ArrayList<>(ordered.size());
+        ordered.forEach(delta -> bumps.add(new Object[] {delta.userId(), delta.baseVersion()}));
+        int[] bumped = jdbcTemplate.batchUpdate(BUMP_VERSION, bumps);
+        Set<String> conflicts = new HashSet<>();
+        List<Object[]> forced = new ArrayList<>();
+        for (int i = 0; i < ordered.size(); i++) {
+            // 0 rows: changed elsewhere, or the cart has no version row yet; a driver that reports no count is treated the same
+            if (bumped[i] != 1) {
+                conflicts.add(ordered.get(i).userId());
+                forced.add(new Object[] {ordered.get(i).userId()});
+            }
+        }
+        if (!forced.isEmpty()) {
+            jdbcTemplate.batchUpdate(FORCE_VERSION, forced);
+        }
+
+        List<Object[]> clears = new ArrayList<>();
+        List<Object[]> deletes = new ArrayList<>();
+        List<Object[]> sets = new ArrayList<>();
+        List<Object[]> increments = new ArrayList<>();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (HotCart.CartDelta delta : ordered) {
+            if (delta.cleared()) {
+                clears.add(new Object[] {delta.userId()});
+            }
+            delta.changes().forEach((productId, change) -> {
+                if (!change.absolute()) {
+                    increments.add(new Object[] {delta.userId(), productId, change.quantity(), now, now});
+                } else if (change.quantity() > 0) {
+                    sets.add(new Object[] {delta.userId(), productId, change.quantity(), now, now});
+                } else {
+                    deletes.add(new Object[] {delta.userId(), productId});
+                }
+            });
+        }
+        // Clears first: lines changed after a clear were drained together with it
+        if (!clears.isEmpty()) {
+            jdbcTemplate.batchUpdate(DELETE_CART, clears);
+        }
+        if (!deletes.isEmpty()) {
+            jdbcTemplate.batchUpdate(DELETE_LINE, deletes);
+        }
+        if (!sets.isEmpty()) {
+            jdbcTemplate.batchUpdate(SET_LINE, sets);
+        }
+        if (!increments.isEmpty()) {
+            jdbcTemplate.batchUpdate(INCREMENT_LINE, increments);
+        }
+        int rows = bumps.size() + forced.size() + clears.size() + deletes.size() + sets.size() + increments.size();
+        return new WriteResult(rows, conflicts);
+    }
+
+    /**
+     * Deletes every line of the given carts with one statement per {@value #MAX_IN_LIST} carts and bumps their
+     * versions. Call inside a transaction.
+     */
+    void clearAll(List<String> userIds) {
+        List<String> ordered = new ArrayList<>(userIds);
+        Collections.sort(ordered);
+        List<Object[]> versions = new ArrayList<>(ordered.size());
+        ordered.forEach(userId -> versions.add(new Object[] {userId}));
+        jdbcTemplate.batchUpdate(FORCE_VERSION, versions);
+        updateIn(DELETE_CARTS, ordered);
+    }
+
+    /**
+     * Locks up to {@code limit} carts last written before {@code cutoff}, oldest first, skipping carts locked by
+     * a concurrent flush. Call inside the transaction that purges them.
+     */
+    List<String> lockExpired(LocalDateTime cutoff, int limit) {
+        return jdbcTemplate.queryForList(LOCK_EXPIRED, String.class, Timestamp.valueOf(cutoff), limit);
+    }
+
+    /**
+     * Deletes the carts' lines, turns their version rows into tombstones and returns the number of lines deleted.
+     * A cart still held in memory somewhere sees its version move on and reloads on its next revalidation or flush.
+     */
+    int purge(List<String> userIds) {
+        int lines = updateIn(DELETE_CARTS, userIds);
+        updateIn(PURGE_VERSIONS, userIds);
+        return lines;
+    }
+
+    /**
+     * Stamps up to {@code limit} carts written before {@code touched_at} existed with the current time; purged
+     * carts are left alone.
+     */
+    int backfillTouchedAt(int limit) {
+        return jdbcTemplate.update(BACKFILL_TOUCHED, limit);
+    }
+
+    /**
+     * Row counts of the cart tables from the storage engine's statistics; approximate, but free to read.
+     */
+    Map<String, Long> tableRows() {
+        Map<String, Long> rows = new HashMap<>();
+        jdbcTemplate.query(TABLE_ROWS, rs -> {
+            rows.put(rs.getString(1).toLowerCase(), rs.getLong(2));
+        });
+        return rows;
+    }
+
+    private int updateIn(String sql, List<String> userIds) {
+        int updated = 0;
+        for (int from = 0; from < userIds.size(); from += MAX_IN_LIST) {
+            List<String> chunk = userIds.subList(from, Math.min(from + MAX_IN_LIST, userIds.size()));
+            String placeholders = String.join(",", Collections.nCopies(chunk.size(), "?"));
+            updated += jdbcTemplate.update(String.format(sql, placeholders), chunk.toArray());
+        }
+        return updated;
+    }
+
+    record WriteResult(int rows, Set<String> conflicts) {
+    }
+}
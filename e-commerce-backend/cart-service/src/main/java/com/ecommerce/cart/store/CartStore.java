@@ -0,0 +1,392 @@
+package com.ecommerce.cart.store;
+
+import com.ecommerce.cart.model.Cart;
+import com.ecommerce.cart.model.CartItem;
+import com.ecommerce.cart.repository.CartRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Write-behind cart storage. Carts in use are held in memory with their lines indexed by product id; each
+ * mutation only records the changed lines, and a background flusher writes the accumulated changes of all
+ * carts in one batched transaction every {@code cart.store.flush-interval}. Repeated changes to the same line
+ * between flushes collapse into one row write.
+ * <p>
+ * Concurrency: within an instance every cart is mutated under its own monitor, so concurrent requests for one
+ * cart are applied one after another and never lose updates. Across instances, added quantities are written
+ * as increments and merge with whatever the other instance wrote; each flush bumps the cart's version, and an
+ * instance that finds the version moved reloads the cart and replays its unwritten changes on top. Carts that
+ * are only read are revalidated against the version after {@code cart.store.revalidate-after}. No database
+ * lock is held outside the short flush transaction.
+ * <p>
+ * Durability bound: a crash loses at most the changes made since the last successful flush (one interval,
+ * 100ms by default). A failed flush keeps the changes queued and retries them on the next tick; shutdown
+ * flushes whatever is pending.
+ */
+@Slf4j
+@Component
+public class CartStore implements DisposableBean {
+
+    private final CartLineWriter writer;
+    private final CartRepository cartRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean migrateLegacyCarts;
+    private final long revalidateAfterMillis;
+    private final long idleEvictionMillis;
+    private final int maxHotCarts;
+    private final int maxCartsPerFlush;
+    private final Map<String, HotCart> carts = new ConcurrentHashMap<>();
+    private final Set<String> dirtyCarts = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService flusher;
+    private final Counter mutations;
+    private final Counter rowsWritten;
+    private final Counter conflicts;
+    private final Timer flushTimer;
+
+    public CartStore(CartLineWriter writer,
+                     CartRepository cartRepository,
+                     TransactionTemplate transactionTemplate,
+                     MeterRegistry meterRegistry,
+                     @Value("${cart.store.flush-interval:100ms}") Duration flushInterval,
+                     @Value("${cart.store.revalidate-after:5s}") Duration revalidateAfter,
+                     @Value("${cart.store.idle-eviction:10m}") Duration idleEviction,
+                     @Value("${cart.store.max-hot-carts:100000}") int maxHotCarts,
+                     @Value("${cart.store.max-carts-per-flush:2000}") int maxCartsPerFlush,
+                     @Value("${cart.store.migrate-legacy-carts:true}") boolean migrateLegacyCarts) {
+        this.writer = writer;
+        this.cartRepository = cartRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.migrateLegacyCarts = migrateLegacyCarts;
+        this.revalidateAfterMillis = revalidateAfter.toMillis();
+        this.idleEvictionMillis = idleEviction.toMillis();
+        this.maxHotCarts = maxHotCarts;
+        this.maxCartsPerFlush = maxCartsPerFlush;
+        this.mutations = Counter.builder("cart.store.mutations").register(meterRegistry);
+        this.rowsWritten = Counter.builder("cart.store.rows-written").register(meterRegistry);
+        this.conflicts = Counter.builder("cart.store.conflicts")
+                .description("Flushes that found the cart written by another instance and merged")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("cart.store.flush").register(meterRegistry);
+        Gauge.builder("cart.store.hot-carts", carts, Map::size).register(meterRegistry);
+        Gauge.builder("cart.store.dirty-carts", dirtyCarts, Set::size).register(meterRegistry);
+
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cart-store-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = flushInterval.toMillis();
+        flusher.scheduleWithFixedDelay(this::flushAndEvict, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    public Cart getCart(String userId) {
+        return read(userId);
+    }
+
+    public Cart addItem(String userId, String productId, int quantity) {
+        return mutate(userId, cart -> cart.add(productId, quantity));
+    }
+
+    public Cart setQuantity(String userId, String productId, int quantity) {
+        return mutate(userId, cart -> {
+            if (!cart.lines.containsKey(productId)) {
+                throw new RuntimeException("Item not found in cart");
+            }
+            cart.set(productId, quantity);
+        });
+    }
+
+    /**
+     * Raises each line to at least the given quantity and adds the missing ones. Lines already at or above it are
+     * left alone, so applying the same lines twice changes nothing.
+     */
+    public Cart raiseQuantities(String userId, Map<String, Integer> quantities) {
+        return mutate(userId, cart -> quantities.forEach((productId, quantity) -> {
+            if (cart.lines.getOrDefault(productId, 0) < quantity) {
+                cart.set(productId, quantity);
+            }
+        }));
+    }
+
+    public Cart removeItem(String userId, String productId) {
+        return mutate(userId, cart -> cart.remove(productId));
+    }
+
+    public Cart clear(String userId) {
+        return mutate(userId, HotCart::clear);
+    }
+
+    /**
+     * Empties many carts at once with a bulk delete instead of loading and clearing each one. Carts held in memory
+     * drop their lines and pending changes; changes made while the delete runs are kept and written after it.
+     */
+    public void clearAll(Collection<String> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        // Holding the flusher keeps any pending change of these carts from being written before the delete
+        synchronized (flusher) {
+            for (String userId : userIds) {
+                HotCart cart = carts.get(userId);
+                if (cart != null) {
+                    synchronized (cart) {
+                        cart.discardLines();
+                    }
+                }
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> writer.clearAll(List.copyOf(userIds)));
+            } catch (RuntimeException e) {
+                userIds.stream().map(carts::get).filter(cart -> cart != null).forEach(this::reload);
+                throw e;
+            }
+            for (String userId : userIds) {
+                HotCart cart = carts.get(userId);
+                if (cart != null) {
+                    // Also covers carts loaded while the delete was running: their next access picks up the new version
+                    synchronized (cart) {
+                        cart.lastValidated = 0;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes all pending changes now. Used on shutdown and by callers that need the database to be current.
+     */
+    public void flush() {
+        synchronized (flusher) {
+            while (!dirtyCarts.isEmpty()) {
+                if (!flushBatch()) {
+                    return;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    private Cart read(String userId) {
+        while (true) {
+            HotCart cart = hotCart(userId);
+            revalidateIfStale(cart);
+            synchronized (cart) {
+                if (!cart.evicted) {
+                    cart.lastTouched = System.currentTimeMillis();
+                    return toCart(cart);
+                }
+            }
+        }
+    }
+
+    private Cart mutate(String userId, Consumer<HotCart> mutation) {
+        while (true) {
+            HotCart cart = hotCart(userId);
+            revalidateIfStale(cart);
+            synchronized (cart) {
+                if (cart.evicted) {
+                    continue;
+                }
+                mutation.accept(cart);
+                cart.lastTouched = System.currentTimeMillis();
+                if (cart.isDirty()) {
+                    dirtyCarts.add(userId);
+                }
+                mutations.increment();
+                return toCart(cart);
+            }
+        }
+    }
+
+    private HotCart hotCart(String userId) {
+        HotCart cart = carts.get(userId);
+        if (cart != null) {
+            return cart;
+        }
+        // Load outside the map so a slow query does not block other carts; the first load to land wins
+        CartLineWriter.StoredCart stored = load(userId);
+        // Version 0: never written by this store, so a legacy row (if any) is still the current cart
+        if (stored.lines().isEmpty() && stored.version() == 0 && migrateLegacyCarts && migrateLegacyCart(userId)) {
+            stored = load(userId);
+        }
+        HotCart loaded = new HotCart(userId, stored, System.currentTimeMillis());
+        HotCart existing = carts.putIfAbsent(userId, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    private CartLineWriter.StoredCart load(String userId) {
+        return transactionTemplate.execute(status -> writer.load(userId));
+    }
+
+    /**
+     * Picks up writes made by other instances to a cart this instance has not written for a while.
+     */
+    private void revalidateIfStale(HotCart cart) {
+        long now = System.currentTimeMillis();
+        long seenVersion;
+        synchronized (cart) {
+            if (cart.evicted || now - cart.lastValidated < revalidateAfterMillis) {
+                return;
+            }
+            cart.lastValidated = now;
+            seenVersion = cart.version;
+        }
+        if (writer.currentVersion(cart.userId) != seenVersion) {
+            reload(cart);
+        }
+    }
+
+    private void reload(HotCart cart) {
+        CartLineWriter.StoredCart stored = load(cart.userId);
+        synchronized (cart) {
+            if (!cart.evicted) {
+                cart.rebase(stored);
+            }
+        }
+    }
+
+    /**
+     * Moves a cart saved as a whole {@link Cart} row before this store existed into {@code cart_lines}.
+     */
+    private boolean migrateLegacyCart(String userId) {
+        return cartRepository.findByUserId(userId).map(legacy -> {
+            HotCart cart = new HotCart(userId, new CartLineWriter.StoredCart(Map.of(), 0), System.currentTimeMillis());
+            legacy.getItems().forEach(item -> cart.set(item.getProductId(), item.getQuantity()));
+            HotCart.CartDelta delta = cart.drain();
+            transactionTemplate.executeWithoutResult(status -> {
+                writer.write(List.of(delta));
+                cartRepository.delete(legacy);
+            });
+            return true;
+        }).orElse(false);
+    }
+
+    private void flushAndEvict() {
+        try {
+            synchronized (flusher) {
+                flush();
+                evictIdle();
+            }
+        } catch (Exception e) {
+            log.error("Cart store flush failed", e);
+        }
+    }
+
+    private boolean flushBatch() {
+        List<HotCart.CartDelta> deltas = new ArrayList<>();
+        Iterator<String> it = dirtyCarts.iterator();
+        while (it.hasNext() && deltas.size() < maxCartsPerFlush) {
+            String userId = it.next();
+            it.remove();
+            HotCart cart = carts.get(userId);
+            if (cart == null) {
+                continue;
+            }
+            synchronized (cart) {
+                if (cart.isDirty()) {
+                    deltas.add(cart.drain());
+                }
+            }
+        }
+        if (deltas.isEmpty()) {
+            return true;
+        }
+
+        long start = System.nanoTime();
+        CartLineWriter.WriteResult result;
+        try {
+            result = transactionTemplate.execute(status -> writer.write(deltas));
+        } catch (RuntimeException e) {
+            log.warn("Could not write {} cart changes, will retry: {}", deltas.size(), e.getMessage());
+            for (HotCart.CartDelta delta : deltas) {
+                HotCart cart = carts.get(delta.userId());
+                synchronized (cart) {
+                    cart.restore(delta);
+                }
+                dirtyCarts.add(delta.userId());
+            }
+            return false;
+        } finally {
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+
+        rowsWritten.increment(result.rows());
+        for (HotCart.CartDelta delta : deltas) {
+            HotCart cart = carts.get(delta.userId());
+            boolean stale;
+            synchronized (cart) {
+                // Also stale if a revalidation rebased the cart while this delta was in flight
+                stale = result.conflicts().contains(delta.userId()) || cart.version != delta.baseVersion();
+                if (!stale) {
+                    cart.version = delta.baseVersion() + 1;
+                }
+            }
+            if (stale) {
+                conflicts.increment();
+                reload(cart);
+            }
+        }
+        return true;
+    }
+
+    private void evictIdle() {
+        long idleBefore = System.currentTimeMillis() - idleEvictionMillis;
+        boolean overCapacity = carts.size() > maxHotCarts;
+        Iterator<HotCart> it = carts.values().iterator();
+        while (it.hasNext()) {
+            HotCart cart = it.next();
+            synchronized (cart) {
+                // Dirty carts stay until written, so evicting never drops a change
+                if (!cart.isDirty() && (cart.lastTouched < idleBefore || overCapacity)) {
+                    cart.evicted = true;
+                    it.remove();
+                }
+            }
+            if (overCapacity && carts.size() <= maxHotCarts) {
+                overCapacity = false;
+            }
+        }
+    }
+
+    private static Cart toCart(HotCart hot) {
+        Cart cart = new Cart();
+        cart.setUserId(hot.userId);
+        hot.lines.forEach((productId, quantity) -> {
+            CartItem item = new CartItem();
+            item.setProductId(productId);
+            item.setQuantity(quantity);
+            cart.getItems().add(item);
+        });
+        return cart;
+    }
+}
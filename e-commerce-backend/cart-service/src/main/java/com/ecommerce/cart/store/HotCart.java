@@ -0,0 +1,134 @@
+package com.ecommerce.cart.store;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * In-memory state of one cart plus the changes not yet written. Not thread-safe: {@link CartStore} holds the
+ * cart's monitor around every call, which makes each cart single-writer within this instance.
+ */
+final class HotCart {
+
+    final String userId;
+    // productId -> quantity, in the order products were added
+    final LinkedHashMap<String, Integer> lines = new LinkedHashMap<>();
+    private final Map<String, LineChange> changes = new HashMap<>();
+    private boolean cleared;
+    // cart_versions.version the lines reflect
+    long version;
+    long lastTouched;
+    long lastValidated;
+    boolean evicted;
+
+    HotCart(String userId, CartLineWriter.StoredCart stored, long now) {
+        this.userId = userId;
+        this.lines.putAll(stored.lines());
+        this.version = stored.version();
+        this.lastTouched = now;
+        this.lastValidated = now;
+    }
+
+    void add(String productId, int quantity) {
+        lines.merge(productId, quantity, Integer::sum);
+        changes.merge(productId, LineChange.increment(quantity), LineChange::then);
+    }
+
+    void set(String productId, int quantity) {
+        if (quantity <= 0) {
+            remove(productId);
+            return;
+        }
+        lines.put(productId, quantity);
+        changes.put(productId, LineChange.set(quantity));
+    }
+
+    void remove(String productId) {
+        // Recorded even if this copy never saw the line: another instance may have added it
+        lines.remove(productId);
+        changes.put(productId, LineChange.set(0));
+    }
+
+    void clear() {
+        lines.clear();
+        changes.clear();
+        cleared = true;
+    }
+
+    /**
+     * Forgets the lines and pending changes because the caller is deleting the stored lines itself.
+     */
+    void discardLines() {
+        lines.clear();
+        changes.clear();
+        cleared = false;
+    }
+
+    boolean isDirty() {
+        return cleared || !changes.isEmpty();
+    }
+
+    CartDelta drain() {
+        CartDelta delta = new CartDelta(userId, version, cleared, new HashMap<>(changes));
+        changes.clear();
+        cleared = false;
+        return delta;
+    }
+
+    /**
+     * Puts back a delta whose write failed, ahead of anything that changed since it was drained.
+     */
+    void restore(CartDelta delta) {
+        if (cleared) {
+            // Cleared again since the drain: the older line changes no longer matter
+            return;
+        }
+        cleared = delta.cleared();
+        delta.changes().forEach((productId, older) -> changes.merge(productId, older, (newer, old) -> old.then(newer)));
+    }
+
+    /**
+     * Replaces the lines with what is stored and replays the changes not yet written on top.
+     */
+    void rebase(CartLineWriter.StoredCart stored) {
+        lines.clear();
+        if (!cleared) {
+            lines.putAll(stored.lines());
+        }
+        changes.forEach((productId, change) -> {
+            int quantity = change.applyTo(lines.get(productId));
+            if (quantity > 0) {
+                lines.put(productId, quantity);
+            } else {
+                lines.remove(productId);
+            }
+        });
+        version = stored.version();
+    }
+
+    /**
+     * A pending change to one line. Increments commute with changes made elsewhere and are written as
+     * {@code quantity + n}; absolute values (set, remove) are intents that overwrite, last writer wins.
+     */
+    record LineChange(boolean absolute, int quantity) {
+
+        static LineChange increment(int quantity) {
+            return new LineChange(false, quantity);
+        }
+
+        static LineChange set(int quantity) {
+            return new LineChange(true, quantity);
+        }
+
+        LineChange then(LineChange next) {
+            return next.absolute ? next : new LineChange(absolute, quantity + next.quantity);
+        }
+
+        int applyTo(Integer current) {
+            return absolute ? quantity : (current != null ? current : 0) + quantity;
+        }
+    }
+
+    record CartDelta(String userId, long baseVersion, boolean cleared, Map<String, LineChange> changes) {
+    }
+}
@@ -0,0 +1,57 @@
+package com.ecommerce.cart.product;
+
+import com.ecommerce.common.kafka.event.ProductEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProductProjectionTest {
+
+    @Test
+    void missingLookupsAreCappedWhileTombstonesAreKept() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ProductProjection projection = new ProductProjection(registry, Duration.ofMinutes(5), 3);
+        projection.apply("deleted", null, 1);
+
+        for (int i = 0; i < 100; i++) {
+            projection.markMissing("unknown-" + i, System.currentTimeMillis());
+        }
+
+        assertEquals(3.0, registry.get("cart.product-projection.missing").gauge().value());
+        assertTrue(projection.isDeleted("unknown-99"));
+        assertFalse(projection.isDeleted("unknown-0"));
+        assertTrue(projection.isDeleted("deleted"));
+    }
+
+    @Test
+    void missingLookupExpiresAndANewerStateBringsTheProductBack() throws InterruptedException {
+        ProductProjection projection = new ProductProjection(new SimpleMeterRegistry(), Duration.ofMillis(20), 10);
+        long askedAt = System.currentTimeMillis();
+
+        projection.markMissing("late", askedAt);
+        projection.markMissing("expiring", askedAt);
+        projection.apply("late", product("late"), askedAt + 1);
+
+        assertFalse(projection.isDeleted("late"));
+        assertNotNull(projection.get("late"));
+        assertTrue(projection.isDeleted("expiring"));
+        Thread.sleep(50);
+        assertFalse(projection.isDeleted("expiring"));
+    }
+
+    private static ProductEvent product(String productId) {
+        ProductEvent event = new ProductEvent();
+        event.setProductId(productId);
+        event.setName(productId);
+        event.setPrice(BigDecimal.TEN);
+        event.setStockQuantity(1);
+        return event;
+    }
+}
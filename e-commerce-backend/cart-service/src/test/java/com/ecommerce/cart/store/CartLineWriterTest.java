@@ -0,0 +1,164 @@
+package com.ecommerce.cart.store;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Runs the statements of {@link CartLineWriter} against H2 in MySQL mode, with the tables laid out as the
+ * {@code CartLine} and {@code CartVersion} entities map them.
+ */
+class CartLineWriterTest {
+
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private CartLineWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE cart_lines (user_id VARCHAR(255) NOT NULL, product_id VARCHAR(255) NOT NULL, "
+                + "quantity INT NOT NULL, created_at TIMESTAMP NOT NULL, updated_at TIMESTAMP NOT NULL, "
+                + "PRIMARY KEY (user_id, product_id))");
+        jdbcTemplate.execute("CREATE TABLE cart_versions (user_id VARCHAR(255) NOT NULL PRIMARY KEY, "
+                + "version BIGINT NOT NULL, touched_at TIMESTAMP, purged_at TIMESTAMP)");
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        writer = new CartLineWriter(jdbcTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("SHUTDOWN");
+    }
+
+    @Test
+    void firstWriteCreatesTheVersionAndAppliesEveryKindOfChange() {
+        HotCart cart = new HotCart("user", new CartLineWriter.StoredCart(Map.of(), 0), System.currentTimeMillis());
+        cart.add("added", 2);
+        cart.add("added", 3);
+        cart.set("set", 4);
+
+        CartLineWriter.WriteResult result = write(cart.drain());
+
+        // No version row yet counts as a conflict and is forced into existence
+        assertEquals(Set.of("user"), result.conflicts());
+        assertEquals(new CartLineWriter.StoredCart(Map.of("added", 5, "set", 4), 1), load("user"));
+    }
+
+    @Test
+    void writeOnTheCurrentVersionBumpsItWithoutConflict() {
+        write(cartWith("user", Map.of(), 0, "kept", 1));
+        HotCart cart = new HotCart("user", load("user"), System.currentTimeMillis());
+        cart.add("kept", 2);
+        cart.remove("missing");
+        cart.add("new", 1);
+
+        CartLineWriter.WriteResult result = write(cart.drain());
+
+        assertEquals(Set.of(), result.conflicts());
+        assertEquals(new CartLineWriter.StoredCart(Map.of("kept", 3, "new", 1), 2), load("user"));
+    }
+
+    @Test
+    void staleBaseVersionIsReportedAndIncrementsStillMerge() {
+        write(cartWith("user", Map.of(), 0, "shared", 1));
+        CartLineWriter.StoredCart seen = load("user");
+        HotCart first = new HotCart("user", seen, System.currentTimeMillis());
+        HotCart second = new HotCart("user", seen, System.currentTimeMillis());
+        first.add("shared", 2);
+        second.add("shared", 5);
+
+        assertEquals(Set.of(), write(first.drain()).conflicts());
+        assertEquals(Set.of("user"), write(second.drain()).conflicts());
+        assertEquals(new CartLineWriter.StoredCart(Map.of("shared", 8), 3), load("user"));
+    }
+
+    @Test
+    void clearAndRemoveDeleteRows() {
+        write(cartWith("user", Map.of(), 0, "a", 1));
+        HotCart cart = new HotCart("user", load("user"), System.currentTimeMillis());
+        cart.clear();
+        cart.add("b", 1);
+        write(cart.drain());
+        assertEquals(Map.of("b", 1), load("user").lines());
+
+        HotCart again = new HotCart("user", load("user"), System.currentTimeMillis());
+        again.set("b", 0);
+        write(again.drain());
+        assertEquals(Map.of(), load("user").lines());
+    }
+
+    @Test
+    void clearAllDeletesLinesAndBumpsVersions() {
+        write(cartWith("a", Map.of(), 0, "p", 1));
+        write(cartWith("b", Map.of(), 0, "p", 1));
+
+        transactionTemplate.executeWithoutResult(status -> writer.clearAll(List.of("b", "a", "never-written")));
+
+        assertEquals(new CartLineWriter.StoredCart(Map.of(), 2), load("a"));
+        assertEquals(new CartLineWriter.StoredCart(Map.of(), 2), load("b"));
+        assertEquals(1, writer.currentVersion("never-written"));
+    }
+
+    @Test
+    void expiredCartsArePurgedIntoTombstonesThatBackfillLeavesAlone() {
+        write(cartWith("old", Map.of(), 0, "p", 1));
+        write(cartWith("fresh", Map.of(), 0, "p", 1));
+        jdbcTemplate.update("UPDATE cart_versions SET touched_at = ? WHERE user_id = 'old'",
+                LocalDateTime.now().minusDays(40));
+
+        int purged = transactionTemplate.execute(status -> {
+            List<String> expired = writer.lockExpired(LocalDateTime.now().minusDays(30), 10);
+            assertEquals(List.of("old"), expired);
+            return writer.purge(expired);
+        });
+
+        assertEquals(1, purged);
+        assertEquals(new CartLineWriter.StoredCart(Map.of(), 2), load("old"));
+        assertNull(touchedAt("old"));
+        assertNotNull(jdbcTemplate.queryForObject("SELECT purged_at FROM cart_versions WHERE user_id = 'old'",
+                LocalDateTime.class));
+
+        jdbcTemplate.update("INSERT INTO cart_versions (user_id, version) VALUES ('legacy', 1)");
+        assertEquals(1, writer.backfillTouchedAt(10));
+        assertNotNull(touchedAt("legacy"));
+        assertNull(touchedAt("old"));
+    }
+
+    private HotCart.CartDelta cartWith(String userId, Map<String, Integer> stored, long version,
+                                       String productId, int quantity) {
+        HotCart cart = new HotCart(userId, new CartLineWriter.StoredCart(stored, version), System.currentTimeMillis());
+        cart.add(productId, quantity);
+        return cart.drain();
+    }
+
+    private CartLineWriter.WriteResult write(HotCart.CartDelta delta) {
+        return transactionTemplate.execute(status -> writer.write(List.of(delta)));
+    }
+
+    private CartLineWriter.StoredCart load(String userId) {
+        return transactionTemplate.execute(status -> writer.load(userId));
+    }
+
+    private LocalDateTime touchedAt(String userId) {
+        return jdbcTemplate.queryForObject("SELECT touched_at FROM cart_versions WHERE user_id = ?",
+                LocalDateTime.class, userId);
+    }
+}
@@ -0,0 +1,255 @@
+package com.ecommerce.cart.store;
+
+import com.ecommerce.cart.model.CartItem;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Hammers carts with concurrent increments from many threads, across two store instances sharing one database,
+ * and checks that no increment is lost in memory or in the stored rows.
+ */
+class CartStoreConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int CARTS = 8;
+    private static final int PRODUCTS = 4;
+
+    private final InMemoryCartDatabase database = new InMemoryCartDatabase();
+    private final List<CartStore> stores = new ArrayList<>();
+    private final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        stores.forEach(CartStore::destroy);
+    }
+
+    @Test
+    void concurrentIncrementsOnOneInstanceAreNotLost() throws Exception {
+        CartStore store = newStore(Duration.ofMillis(5));
+        int incrementsPerThread = 5_000;
+
+        AtomicIntegerArray expected = runIncrements(List.of(store), incrementsPerThread);
+
+        // Before anything is flushed, the in-memory carts already hold every increment
+        assertCartsMatch(store, expected);
+        store.flush();
+        assertDatabaseMatches(expected);
+    }
+
+    @Test
+    void concurrentIncrementsAcrossInstancesMergeInTheDatabase() throws Exception {
+        CartStore first = newStore(Duration.ofMillis(2));
+        CartStore second = newStore(Duration.ofMillis(3));
+        int incrementsPerThread = 5_000;
+
+        AtomicIntegerArray expected = runIncrements(List.of(first, second), incrementsPerThread);
+        first.flush();
+        second.flush();
+
+        assertDatabaseMatches(expected);
+        // Each instance sees the merged totals once it revalidates or reloads after a conflict
+        assertCartsMatch(first, expected);
+        assertCartsMatch(second, expected);
+    }
+
+    @Test
+    void setAndRemoveOverwriteWhileIncrementsKeepCounting() throws Exception {
+        CartStore first = newStore(Duration.ofMillis(2));
+        CartStore second = newStore(Duration.ofMillis(2));
+        first.addItem("user", "kept", 1);
+        first.addItem("user", "removed", 1);
+        first.flush();
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            CartStore store = t % 2 == 0 ? first : second;
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 1_000; i++) {
+                    store.addItem("user", "counted", 1);
+                }
+            }));
+        }
+        second.getCart("user");
+        second.removeItem("user", "removed");
+        first.setQuantity("user", "kept", 7);
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        first.flush();
+        second.flush();
+
+        Map<String, Integer> stored = database.lines("user");
+        assertEquals(7, stored.get("kept"));
+        assertEquals(THREADS * 1_000, stored.get("counted"));
+        assertEquals(null, stored.get("removed"));
+    }
+
+    @Test
+    void raisingQuantitiesTwiceKeepsTheLargerQuantity() {
+        CartStore store = newStore(Duration.ofMillis(2));
+        store.addItem("user", "owned", 2);
+        Map<String, Integer> guestLines = Map.of("owned", 1, "guest", 3);
+
+        store.raiseQuantities("user", guestLines);
+        store.raiseQuantities("user", guestLines);
+        store.flush();
+
+        assertEquals(Map.of("owned", 2, "guest", 3), database.lines("user"));
+    }
+
+    private CartStore newStore(Duration flushInterval) {
+        CartStore store = new CartStore(database, null, new TransactionTemplate(new NoOpTransactionManager()),
+                new SimpleMeterRegistry(), flushInterval, Duration.ZERO, Duration.ofMinutes(10), 10_000, 2_000, false);
+        stores.add(store);
+        return store;
+    }
+
+    private AtomicIntegerArray runIncrements(List<CartStore> targets, int incrementsPerThread) throws Exception {
+        AtomicIntegerArray expected = new AtomicIntegerArray(CARTS * PRODUCTS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < incrementsPerThread; i++) {
+                    int cart = random.nextInt(CARTS);
+                    int product = random.nextInt(PRODUCTS);
+                    int quantity = 1 + random.nextInt(3);
+                    targets.get(random.nextInt(targets.size())).addItem("user-" + cart, "product-" + product, quantity);
+                    expected.addAndGet(cart * PRODUCTS + product, quantity);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        return expected;
+    }
+
+    private void assertCartsMatch(CartStore store, AtomicIntegerArray expected) {
+        for (int cart = 0; cart < CARTS; cart++) {
+            Map<String, Integer> lines = new HashMap<>();
+            for (CartItem item : store.getCart("user-" + cart).getItems()) {
+                lines.put(item.getProductId(), item.getQuantity());
+            }
+            assertEquals(expectedLines(expected, cart), lines, "cart user-" + cart);
+        }
+    }
+
+    private void assertDatabaseMatches(AtomicIntegerArray expected) {
+        for (int cart = 0; cart < CARTS; cart++) {
+            assertEquals(expectedLines(expected, cart), database.lines("user-" + cart), "stored user-" + cart);
+        }
+    }
+
+    private static Map<String, Integer> expectedLines(AtomicIntegerArray expected, int cart) {
+        Map<String, Integer> lines = new HashMap<>();
+        for (int product = 0; product < PRODUCTS; product++) {
+            int quantity = expected.get(cart * PRODUCTS + product);
+            if (quantity > 0) {
+                lines.put("product-" + product, quantity);
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Stands in for MySQL with the statement semantics {@link CartLineWriter} relies on: a conditional version
+     * bump, increments applied as {@code quantity + n}, and absolute sets and deletes.
+     */
+    private static class InMemoryCartDatabase extends CartLineWriter {
+
+        private final Map<String, Map<String, Integer>> lines = new HashMap<>();
+        private final Map<String, Long> versions = new HashMap<>();
+
+        InMemoryCartDatabase() {
+            super(null);
+        }
+
+        @Override
+        public synchronized StoredCart load(String userId) {
+            return new StoredCart(new LinkedHashMap<>(lines.getOrDefault(userId, Map.of())), currentVersion(userId));
+        }
+
+        @Override
+        public synchronized long currentVersion(String userId) {
+            return versions.getOrDefault(userId, 0L);
+        }
+
+        @Override
+        synchronized WriteResult write(List<HotCart.CartDelta> deltas) {
+            Set<String> conflicts = new HashSet<>();
+            int rows = 0;
+            for (HotCart.CartDelta delta : deltas) {
+                long version = versions.getOrDefault(delta.userId(), 0L);
+                if (!versions.containsKey(delta.userId()) || version != delta.baseVersion()) {
+                    conflicts.add(delta.userId());
+                }
+                versions.put(delta.userId(), version + 1);
+                Map<String, Integer> cart = lines.computeIfAbsent(delta.userId(), key -> new LinkedHashMap<>());
+                if (delta.cleared()) {
+                    cart.clear();
+                    rows++;
+                }
+                for (Map.Entry<String, HotCart.LineChange> change : delta.changes().entrySet()) {
+                    int quantity = change.getValue().applyTo(cart.get(change.getKey()));
+                    if (quantity > 0) {
+                        cart.put(change.getKey(), quantity);
+                    } else {
+                        cart.remove(change.getKey());
+                    }
+                    rows++;
+                }
+            }
+            return new WriteResult(rows, conflicts);
+        }
+
+        synchronized Map<String, Integer> lines(String userId) {
+            return new HashMap<>(lines.getOrDefault(userId, Map.of()));
+        }
+    }
+
+    private static class NoOpTransactionManager implements PlatformTransactionManager {
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.ecommerce.common.batch;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Collapses concurrent single-key lookups into batch calls. Keys requested within {@code window} of the first
+ * pending key (or until {@code maxBatchSize} distinct keys are pending) are sent as one batch; repeated keys
+ * share a future. Keys the batch function does not return complete with {@code null}.
+ * <p>
+ * If a batch call throws an exception accepted by {@code splitOn} (the remote side rejected the request, which
+ * may be down to a single key), the batch is split in halves and retried so that the bad key only fails its own
+ * future; a batch of one fails with the original exception. Any other failure, such as a timeout or a server
+ * error, fails the whole batch at once: retrying halves of it would only multiply calls to a service that is
+ * already struggling.
+ */
+@Slf4j
+public class BatchLoader<K, V> {
+
+    @FunctionalInterface
+    public interface BatchFunction<K, V> {
+        Map<K, V> load(Set<K> keys) throws Exception;
+    }
+
+    private final String name;
+    private final BatchFunction<K, V> batchFunction;
+    private final Predicate<Throwable> splitOn;
+    private final int maxBatchSize;
+    private final long windowNanos;
+    private final Executor executor;
+    private final ScheduledExecutorService scheduler;
+
+    private final Object lock = new Object();
+    private Map<K, CompletableFuture<V>> pending = new LinkedHashMap<>();
+    private ScheduledFuture<?> scheduledFlush;
+
+    public BatchLoader(String name, BatchFunction<K, V> batchFunction, Predicate<Throwable> splitOn,
+                       int maxBatchSize, Duration window, Executor executor, ScheduledExecutorService scheduler) {
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("maxBatchSize must be positive");
+        }
+        this.name = name;
+        this.batchFunction = batchFunction;
+        this.splitOn = splitOn;
+        this.maxBatchSize = maxBatchSize;
+        this.windowNanos = window.toNanos();
+        this.executor = executor;
+        this.scheduler = scheduler;
+    }
+
+    public CompletableFuture<V> load(K key) {
+        CompletableFuture<V> future;
+        Map<K, CompletableFuture<V>> full = null;
+        synchronized (lock) {
+            future = pending.get(key);
+            if (future != null) {
+                return future;
+            }
+            future = new CompletableFuture<>();
+            pending.put(key, future);
+            if (pending.size() >= maxBatchSize) {
+                full = takePending();
+            } else if (pending.size() == 1) {
+                scheduledFlush = scheduler.schedule(this::flush, windowNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+        if (full != null) {
+            dispatch(full);
+        }
+        return future;
+    }
+
+    /**
+     * Loads all keys; the returned map holds only the keys that were found. Fails if any key's lookup failed,
+     * callers that need per-key outcomes should use {@link #load} directly.
+     */
+    public CompletableFuture<Map<K, V>> loadMany(Collection<K> keys) {
+        Map<K, CompletableFuture<V>> futures = new LinkedHashMap<>();
+        for (K key : keys) {
+            futures.computeIfAbsent(key, this::load);
+        }
+        return CompletableFuture.allOf(futures.values().toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> {
+                    Map<K, V> result = new HashMap<>();
+                    futures.forEach((key, future) -> {
+                        V value = future.join();
+                        if (value != null) {
+                            result.put(key, value);
+                        }
+                    });
+                    return result;
+                });
+    }
+
+    /**
+     * Sends whatever is pending now instead of waiting for the window to close.
+     */
+    public void flush() {
+        Map<K, CompletableFuture<V>> batch;
+        synchronized (lock) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = takePending();
+        }
+        dispatch(batch);
+    }
+
+    private Map<K, CompletableFuture<V>> takePending() {
+        Map<K, CompletableFuture<V>> batch = pending;
+        pending = new LinkedHashMap<>();
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        return batch;
+    }
+
+    private void dispatch(Map<K, CompletableFuture<V>> batch) {
+        try {
+            executor.execute(() -> run(batch));
+        } catch (RejectedExecutionException e) {
+            batch.values().forEach(future -> future.completeExceptionally(e));
+        }
+    }
+
+    private void run(Map<K, CompletableFuture<V>> batch) {
+        Map<K, V> result;
+        try {
+            result = batchFunction.load(Collections.unmodifiableSet(batch.keySet()));
+        } catch (Throwable e) {
+            if (batch.size() == 1 || !splitOn.test(e)) {
+                batch.values().forEach(future -> future.completeExceptionally(e));
+                return;
+            }
+            log.debug("{} batch of {} failed, splitting: {}", name, batch.size(), e.toString());
+            List<Map.Entry<K, CompletableFuture<V>>> entries = new ArrayList<>(batch.entrySet());
+            int middle = entries.size() / 2;
+            run(toMap(entries.subList(0, middle)));
+            run(toMap(entries.subList(middle, entries.size())));
+            return;
+        }
+        batch.forEach((key, future) -> future.complete(result != null ? result.get(key) : null));
+    }
+
+    private static <K, V> Map<K, CompletableFuture<V>> toMap(List<Map.Entry<K, CompletableFuture<V>>> entries) {
+        Map<K, CompletableFuture<V>> map = new LinkedHashMap<>();
+        entries.forEach(entry -> map.put(entry.getKey(), entry.getValue()));
+        return map;
+    }
+}
@@ -0,0 +1,153 @@
+package com.ecommerce.common.cache;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiPredicate;
+import java.util.function.LongSupplier;
+
+/**
+ * Size-bounded LRU map where every entry carries its own expiry time.
+ * Removal listeners are called outside the lock so they may safely touch metrics or other caches.
+ */
+public class BoundedTtlCache<K, V> {
+
+    public enum RemovalCause {
+        EXPIRED,
+        SIZE,
+        EXPLICIT
+    }
+
+    @FunctionalInterface
+    public interface RemovalListener<K, V> {
+        void onRemoval(K key, V value, RemovalCause cause);
+    }
+
+    private final int maxEntries;
+    private final RemovalListener<K, V> removalListener;
+    private final LongSupplier clock;
+    private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    public BoundedTtlCache(int maxEntries) {
+        this(maxEntries, (key, value, cause) -> { }, System::currentTimeMillis);
+    }
+
+    public BoundedTtlCache(int maxEntries, RemovalListener<K, V> removalListener) {
+        this(maxEntries, removalListener, System::currentTimeMillis);
+    }
+
+    public BoundedTtlCache(int maxEntries, RemovalListener<K, V> removalListener, LongSupplier clock) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.removalListener = removalListener;
+        this.clock = clock;
+    }
+
+    public V get(K key) {
+        V expired;
+        synchronized (this) {
+            Entry<V> entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expiresAt > clock.getAsLong()) {
+                return entry.value;
+            }
+            entries.remove(key);
+            expired = entry.value;
+        }
+        removalListener.onRemoval(key, expired, RemovalCause.EXPIRED);
+        return null;
+    }
+
+    public void put(K key, V value, long ttlMillis) {
+        putUntil(key, value, clock.getAsLong() + ttlMillis);
+    }
+
+    public void putUntil(K key, V value, long expiresAtMillis) {
+        List<Removal<K, V>> removals = new ArrayList<>(1);
+        synchronized (this) {
+            entries.put(key, new Entry<>(value, expiresAtMillis));
+            Iterator<Map.Entry<K, Entry<V>>> eldest = entries.entrySet().iterator();
+            while (entries.size() > maxEntries && eldest.hasNext()) {
+                Map.Entry<K, Entry<V>> evicted = eldest.next();
+                eldest.remove();
+                removals.add(new Removal<>(evicted.getKey(), evicted.getValue().value, RemovalCause.SIZE));
+            }
+        }
+        notifyRemovals(removals);
+    }
+
+    public V invalidate(K key) {
+        Entry<V> removed;
+        synchronized (this) {
+            removed = entries.remove(key);
+        }
+        if (removed == null) {
+            return null;
+        }
+        removalListener.onRemoval(key, removed.value, RemovalCause.EXPLICIT);
+        return removed.value;
+    }
+
+    public int invalidateIf(BiPredicate<K, V> predicate) {
+        List<Removal<K, V>> removals = new ArrayList<>();
+        synchronized (this) {
+            Iterator<Map.Entry<K, Entry<V>>> it = entries.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<K, Entry<V>> entry = it.next();
+                if (predicate.test(entry.getKey(), entry.getValue().value)) {
+                    it.remove();
+                    removals.add(new Removal<>(entry.getKey(), entry.getValue().value, RemovalCause.EXPLICIT));
+                }
+            }
+        }
+        notifyRemovals(removals);
+        return removals.size();
+    }
+
+    public void invalidateAll() {
+        invalidateIf((key, value) -> true);
+    }
+
+    public int purgeExpired() {
+        long now = clock.getAsLong();
+        List<Removal<K, V>> removals = new ArrayList<>();
+        synchronized (this) {
+            Iterator<Map.Entry<K, Entry<V>>> it = entries.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<K, Entry<V>> entry = it.next();
+                if (entry.getValue().expiresAt <= now) {
+                    it.remove();
+                    removals.add(new Removal<>(entry.getKey(), entry.getValue().value, RemovalCause.EXPIRED));
+                }
+            }
+        }
+        notifyRemovals(removals);
+        return removals.size();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    private void notifyRemovals(List<Removal<K, V>> removals) {
+        for (Removal<K, V> removal : removals) {
+            removalListener.onRemoval(removal.key, removal.value, removal.cause);
+        }
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+
+    private record Removal<K, V>(K key, V value, RemovalCause cause) {
+    }
+}
@@ -24,24 +24,4 @@ public class CacheConfig {
             USER_CACHE
         );
     }
-
-    @Bean
-    public ProductCache productCache() {
-        return new ProductCache();
-    }
-
-    @Bean
-    public CartCache cartCache() {
-        return new CartCache();
-    }
-
-    @Bean
-    public OrderCache orderCache() {
-        return new OrderCache();
-    }
-
-    @Bean
-    public UserCache userCache() {
-        return new UserCache();
-    }
 }
@@ -0,0 +1,96 @@
+package com.ecommerce.common.cache;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/**
+ * Hashed timing wheel for expiring keys: scheduling and cancelling are O(1), and each tick only looks at the
+ * keys due in that slot. Deadlines further out than one rotation stay in their slot until a later pass.
+ * <p>
+ * The wheel does not own a thread; the caller drives it with {@link #advance(long, BiConsumer)}. A key that is
+ * rescheduled without being cancelled may fire for its old deadline too, so callers should check the deadline
+ * passed to the expiry callback against their current one.
+ */
+public class TimingWheel<K> {
+
+    private final long tickMillis;
+    private final int mask;
+    private final Map<K, Long>[] slots;
+    private volatile long lastTick;
+
+    public TimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("tickMillis and wheelSize must be positive");
+        }
+        int size = Integer.highestOneBit(wheelSize - 1) << 1;
+        this.tickMillis = tickMillis;
+        this.mask = Math.max(1, size) - 1;
+        this.slots = newSlots(mask + 1);
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = new ConcurrentHashMap<>();
+        }
+        this.lastTick = startMillis / tickMillis;
+    }
+
+    // Generic arrays cannot be created directly; every element is set to a Map<K, Long> before use
+    @SuppressWarnings("unchecked")
+    private static <K> Map<K, Long>[] newSlots(int count) {
+        return (Map<K, Long>[]) new Map<?, ?>[count];
+    }
+
+    public void schedule(K key, long deadlineMillis) {
+        slotFor(deadlineMillis).put(key, deadlineMillis);
+    }
+
+    public void cancel(K key, long deadlineMillis) {
+        slotFor(deadlineMillis).remove(key, deadlineMillis);
+    }
+
+    /**
+     * Fires every key whose deadline is at or before {@code nowMillis}. Not thread-safe against itself; call it
+     * from a single driver thread.
+     *
+     * @return the number of keys that expired
+     */
+    public int advance(long nowMillis, BiConsumer<K, Long> onExpired) {
+        long currentTick = nowMillis / tickMillis;
+        int expired = 0;
+        // After a long pause every slot is due once; there is no point in visiting them twice
+        long from = Math.max(lastTick + 1, currentTick - mask);
+        for (long tick = from; tick <= currentTick; tick++) {
+            expired += expireSlot(slots[(int) (tick & mask)], nowMillis, onExpired);
+        }
+        lastTick = Math.max(lastTick, currentTick);
+        return expired;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Map<K, Long> slot : slots) {
+            size += slot.size();
+        }
+        return size;
+    }
+
+    private int expireSlot(Map<K, Long> slot, long nowMillis, BiConsumer<K, Long> onExpired) {
+        int expired = 0;
+        Iterator<Map.Entry<K, Long>> it = slot.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<K, Long> entry = it.next();
+            long deadline = entry.getValue();
+            if (deadline <= nowMillis && slot.remove(entry.getKey(), deadline)) {
+                onExpired.accept(entry.getKey(), deadline);
+                expired++;
+            }
+        }
+        return expired;
+    }
+
+    // First tick at or after the deadline; deadlines already behind the wheel go into the next slot to be visited
+    private Map<K, Long> slotFor(long deadlineMillis) {
+        long tick = Math.max(Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis), lastTick + 1);
+        return slots[(int) (tick & mask)];
+    }
+}
@@ -0,0 +1,71 @@
+package com.ecommerce.common.client;
+
+import com.ecommerce.common.batch.BatchLoader;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Data;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Product name/price/stock lookups against product-service's batch endpoint. Concurrent lookups from any
+ * thread in the service are collapsed by a {@link BatchLoader}; a product that does not exist resolves to
+ * {@code null}. Every returned future fails after {@code timeout}, so callers may {@code join()} them.
+ */
+public class ProductLookupClient {
+
+    private static final List<String> FIELDS = List.of("name", "price", "stockQuantity");
+
+    private final RestTemplate restTemplate;
+    private final String batchUrl;
+    private final long timeoutMillis;
+    private final BatchLoader<String, ProductSummary> loader;
+
+    public ProductLookupClient(RestTemplate restTemplate, String batchUrl, int maxBatchSize, Duration window,
+                               Duration timeout, Executor executor, ScheduledExecutorService scheduler) {
+        this.restTemplate = restTemplate;
+        this.batchUrl = batchUrl;
+        this.timeoutMillis = timeout.toMillis();
+        // Only a 4xx can be down to one bad id; connection failures and 5xx fail the batch without retries
+        this.loader = new BatchLoader<>("product-lookup", this::fetch, HttpClientErrorException.class::isInstance,
+                maxBatchSize, window, executor, scheduler);
+    }
+
+    public CompletableFuture<ProductSummary> getProduct(String productId) {
+        // The loader's future is shared by everyone asking for the same id, so time out a copy
+        return loader.load(productId).copy().orTimeout(timeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public CompletableFuture<Map<String, ProductSummary>> getProducts(Collection<String> productIds) {
+        return loader.loadMany(productIds).orTimeout(timeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private Map<String, ProductSummary> fetch(Set<String> ids) {
+        BatchResponse response = restTemplate.postForObject(batchUrl, Map.of("ids", ids, "fields", FIELDS),
+                BatchResponse.class);
+        Map<String, ProductSummary> products = new HashMap<>();
+        if (response != null && response.getProducts() != null) {
+            response.getProducts().forEach((id, product) -> {
+                product.setId(id);
+                products.put(id, product);
+            });
+        }
+        return products;
+    }
+
+    @Data
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    static class BatchResponse {
+        private Map<String, ProductSummary> products;
+    }
+}
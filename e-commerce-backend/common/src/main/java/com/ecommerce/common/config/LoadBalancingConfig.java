@@ -1,17 +1,28 @@
 package com.ecommerce.common.config;
 
+import com.ecommerce.common.loadbalancer.LatencyAwareLoadBalancerConfiguration;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+
 @Configuration
+@LoadBalancerClients(defaultConfiguration = LatencyAwareLoadBalancerConfiguration.class)
 public class LoadBalancingConfig {
     
     @Bean
     @LoadBalanced
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(@Value("${ecommerce.http.connect-timeout:1s}") Duration connectTimeout,
+                                     @Value("${ecommerce.http.read-timeout:3s}") Duration readTimeout) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(connectTimeout);
+        requestFactory.setReadTimeout(readTimeout);
+        return new RestTemplate(requestFactory);
     }
     
     @Bean
@@ -19,16 +30,3 @@ public class LoadBalancingConfig {
         return new RetryConfig();
     }
 }
-
-public class RetryConfig {
-    private static final int MAX_ATTEMPTS = 3;
-    private static final long BACKOFF_PERIOD = 1000; // 1 second
-    
-    public int getMaxAttempts() {
-        return MAX_ATTEMPTS;
-    }
-    
-    public long getBackoffPeriod() {
-        return BACKOFF_PERIOD;
-    }
-}
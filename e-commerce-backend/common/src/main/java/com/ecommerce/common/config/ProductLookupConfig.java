@@ -0,0 +1,46 @@
+package com.ecommerce.common.config;
+
+import com.ecommerce.common.client.ProductLookupClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class ProductLookupConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ScheduledExecutorService batchLoaderScheduler() {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("batch-loader-timer-");
+        threadFactory.setDaemon(true);
+        return Executors.newSingleThreadScheduledExecutor(threadFactory);
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService productLookupExecutor(@Value("${ecommerce.product-lookup.max-concurrent-batches:8}") int threads) {
+        return new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(1000), new CustomizableThreadFactory("product-lookup-"));
+    }
+
+    // Uses the @LoadBalanced RestTemplate from LoadBalancingConfig
+    @Bean
+    public ProductLookupClient productLookupClient(RestTemplate restTemplate,
+                                                   ExecutorService productLookupExecutor,
+                                                   ScheduledExecutorService batchLoaderScheduler,
+                                                   @Value("${ecommerce.product-lookup.url:http://product-service/batch}") String url,
+                                                   @Value("${ecommerce.product-lookup.max-batch-size:100}") int maxBatchSize,
+                                                   @Value("${ecommerce.product-lookup.window:2ms}") Duration window,
+                                                   @Value("${ecommerce.product-lookup.timeout:5s}") Duration timeout) {
+        return new ProductLookupClient(restTemplate, url, maxBatchSize, window, timeout, productLookupExecutor,
+            batchLoaderScheduler);
+    }
+}
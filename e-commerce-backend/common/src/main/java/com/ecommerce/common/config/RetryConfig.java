@@ -0,0 +1,14 @@
+package com.ecommerce.common.config;
+
+public class RetryConfig {
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long BACKOFF_PERIOD = 1000; // 1 second
+    
+    public int getMaxAttempts() {
+        return MAX_ATTEMPTS;
+    }
+    
+    public long getBackoffPeriod() {
+        return BACKOFF_PERIOD;
+    }
+}
@@ -1,11 +1,9 @@
 package com.ecommerce.common.config;
 
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
-import org.springframework.cloud.netflix.eureka.EnableEurekaClient;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
-@EnableEurekaClient
 @EnableDiscoveryClient
 public class ServiceDiscoveryConfig {
     
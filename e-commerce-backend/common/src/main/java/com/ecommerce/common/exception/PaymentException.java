@@ -0,0 +1,7 @@
+package com.ecommerce.common.exception;
+
+public class PaymentException extends RuntimeException {
+    public PaymentException(String message) {
+        super(message);
+    }
+}
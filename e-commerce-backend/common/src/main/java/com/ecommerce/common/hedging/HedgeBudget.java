@@ -0,0 +1,36 @@
+package com.ecommerce.common.hedging;
+
+/**
+ * Token bucket that caps hedging at a fixed fraction of primary traffic: every primary request earns
+ * {@code ratio} tokens and every hedge spends one, so under sustained slowness extra load stays near the ratio.
+ */
+public class HedgeBudget {
+
+    private final double ratio;
+    private final double maxTokens;
+    private double tokens;
+
+    public HedgeBudget(double ratio, double maxTokens) {
+        if (ratio <= 0 || ratio > 1) {
+            throw new IllegalArgumentException("ratio must be in (0, 1]");
+        }
+        this.ratio = ratio;
+        this.maxTokens = maxTokens;
+    }
+
+    public synchronized void onRequest() {
+        tokens = Math.min(maxTokens, tokens + ratio);
+    }
+
+    public synchronized boolean tryAcquire() {
+        if (tokens < 1) {
+            return false;
+        }
+        tokens -= 1;
+        return true;
+    }
+
+    public double getRatio() {
+        return ratio;
+    }
+}
@@ -0,0 +1,63 @@
+package com.ecommerce.common.hedging;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Sliding window of recent latencies used to derive the hedge delay. The percentile is recomputed at most
+ * once per {@code RECOMPUTE_INTERVAL_NANOS} so the hot path only pays for a ring-buffer write.
+ */
+public class LatencyPercentileTracker {
+
+    private static final int MIN_SAMPLES = 20;
+    private static final long RECOMPUTE_INTERVAL_NANOS = Duration.ofMillis(250).toNanos();
+
+    private final long[] samples;
+    private final double percentile;
+    private final long minDelayNanos;
+    private final long maxDelayNanos;
+
+    private int count;
+    private int next;
+    private volatile long delayNanos;
+    private volatile long recomputeAt;
+
+    public LatencyPercentileTracker(int windowSize, double percentile, Duration minDelay, Duration maxDelay) {
+        this.samples = new long[windowSize];
+        this.percentile = percentile;
+        this.minDelayNanos = minDelay.toNanos();
+        this.maxDelayNanos = maxDelay.toNanos();
+        // Until we have data, hedge late rather than early
+        this.delayNanos = maxDelayNanos;
+    }
+
+    public synchronized void record(long latencyNanos) {
+        samples[next] = latencyNanos;
+        next = (next + 1) % samples.length;
+        if (count < samples.length) {
+            count++;
+        }
+    }
+
+    public Duration hedgeDelay() {
+        long now = System.nanoTime();
+        if (now - recomputeAt > 0) {
+            recompute(now);
+        }
+        return Duration.ofNanos(delayNanos);
+    }
+
+    private synchronized void recompute(long now) {
+        if (now - recomputeAt <= 0) {
+            return;
+        }
+        recomputeAt = now + RECOMPUTE_INTERVAL_NANOS;
+        if (count < MIN_SAMPLES) {
+            return;
+        }
+        long[] window = Arrays.copyOf(samples, count);
+        Arrays.sort(window);
+        long value = window[Math.min(count - 1, (int) Math.ceil(percentile * count) - 1)];
+        delayNanos = Math.max(minDelayNanos, Math.min(maxDelayNanos, value));
+    }
+}
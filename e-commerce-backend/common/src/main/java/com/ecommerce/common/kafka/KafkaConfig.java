@@ -11,6 +11,7 @@ public class KafkaConfig {
     private static final String ORDER_TOPIC = "ecommerce.orders";
     private static final String CART_TOPIC = "ecommerce.cart";
     private static final String PRODUCT_TOPIC = "ecommerce.products";
+    private static final String PRODUCT_STATE_TOPIC = "ecommerce.products.state";
     private static final String USER_TOPIC = "ecommerce.users";
 
     @Bean
@@ -37,6 +38,16 @@ public class KafkaConfig {
             .build();
     }
 
+    // Latest full state per product id, deletes are tombstones; compaction keeps it replayable as a snapshot
+    @Bean
+    public NewTopic productStateTopic() {
+        return TopicBuilder.name(PRODUCT_STATE_TOPIC)
+            .partitions(3)
+            .replicas(1)
+            .compact()
+            .build();
+    }
+
     @Bean
     public NewTopic userTopic() {
         return TopicBuilder.name(USER_TOPIC)
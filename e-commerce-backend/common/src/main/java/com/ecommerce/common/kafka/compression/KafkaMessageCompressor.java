@@ -36,13 +36,13 @@ public class KafkaMessageCompressor {
     public static byte[] compressMessage(Object message) {
         try {
             // Convert message to JSON
-            String json = new JsonSerializer().serialize(message);
+            byte[] json = new JsonSerializer<Object>().serialize(null, message);
             
             // Compress the JSON string
-            byte[] compressed = json.getBytes();
+            byte[] compressed = json;
             
             // Log compression ratio
-            log.info("Compression ratio: {}", (double) compressed.length / json.length());
+            log.info("Compression ratio: {}", (double) compressed.length / json.length);
             
             return compressed;
         } catch (Exception e) {
@@ -12,6 +12,8 @@ public class ProductEvent extends KafkaEvent {
     private String category;
     private String description;
     private String imageUrl;
+    // Epoch millis at which this state was read; state-topic consumers keep the newest per product
+    private long stateVersion;
     
     public enum EventType {
         PRODUCT_CREATED,
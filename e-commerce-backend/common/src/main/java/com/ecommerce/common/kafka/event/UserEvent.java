@@ -11,6 +11,8 @@ public class UserEvent extends KafkaEvent {
     private String lastName;
     private Set<String> roles;
     private boolean active;
+    // When a role or status change took effect, in epoch millis; tokens issued up to then are revoked
+    private long changedAtMillis;
     
     public enum EventType {
         USER_CREATED,
@@ -1,21 +1,24 @@
 package com.ecommerce.common.kafka.handler;
 
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
-import org.springframework.kafka.listener.ConsumerAwareErrorHandler;
+import org.springframework.kafka.listener.CommonErrorHandler;
 import org.springframework.kafka.listener.ListenerExecutionFailedException;
+import org.springframework.kafka.listener.MessageListenerContainer;
 import org.springframework.retry.support.RetryTemplate;
 import org.springframework.stereotype.Component;
 
 @Component
 @Slf4j
-public class KafkaErrorHandler implements ConsumerAwareErrorHandler {
+public class KafkaErrorHandler implements CommonErrorHandler {
 
     private static final int MAX_RETRIES = 3;
     private static final long RETRY_INTERVAL = 1000L; // 1 second
 
     @Override
-    public void handle(Exception thrownException, ConsumerRecord<?, ?> data) {
+    public boolean handleOne(Exception thrownException, ConsumerRecord<?, ?> data, Consumer<?, ?> consumer,
+                             MessageListenerContainer container) {
         if (thrownException instanceof ListenerExecutionFailedException) {
             ListenerExecutionFailedException lefe = (ListenerExecutionFailedException) thrownException;
             
@@ -44,5 +47,6 @@ public class KafkaErrorHandler implements ConsumerAwareErrorHandler {
         } else {
             log.error("Unexpected exception while processing message", thrownException);
         }
+        return true;
     }
 }
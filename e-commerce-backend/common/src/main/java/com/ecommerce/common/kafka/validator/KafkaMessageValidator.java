@@ -40,7 +40,8 @@ public class KafkaMessageValidator implements Validator {
         }
         
         // Specific validations based on event type
-        EventValidator<?> validator = validators.get(event.getClass());
+        @SuppressWarnings("unchecked")
+        EventValidator<KafkaEvent> validator = (EventValidator<KafkaEvent>) validators.get(event.getClass());
         if (validator != null) {
             validator.validate(event, errors);
         }
@@ -0,0 +1,72 @@
+package com.ecommerce.common.loadbalancer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Peak-sensitive EWMA of response time plus the number of requests currently outstanding on one instance.
+ * Slow samples are taken immediately, fast ones decay the average over {@code decayNanos}.
+ */
+public class InstanceStats {
+
+    // Cost charged per outstanding request to an instance we have no latency sample for yet
+    private static final double UNKNOWN_LATENCY_PENALTY_NANOS = 50_000_000d;
+
+    private final double decayNanos;
+    private final LongSupplier clock;
+    private final AtomicInteger inflight = new AtomicInteger();
+
+    private double ewmaNanos;
+    private long lastUpdateNanos;
+    private boolean sampled;
+
+    public InstanceStats(long decayNanos, LongSupplier clock) {
+        this.decayNanos = decayNanos;
+        this.clock = clock;
+        this.lastUpdateNanos = clock.getAsLong();
+    }
+
+    public void requestStarted() {
+        inflight.incrementAndGet();
+    }
+
+    public void requestFinished(long latencyNanos) {
+        inflight.updateAndGet(current -> Math.max(0, current - 1));
+        record(latencyNanos);
+    }
+
+    public void requestAbandoned() {
+        inflight.updateAndGet(current -> Math.max(0, current - 1));
+    }
+
+    public synchronized void record(long latencyNanos) {
+        long now = clock.getAsLong();
+        if (!sampled || latencyNanos > ewmaNanos) {
+            ewmaNanos = latencyNanos;
+            sampled = true;
+        } else {
+            double weight = Math.exp(-Math.max(0, now - lastUpdateNanos) / decayNanos);
+            ewmaNanos = ewmaNanos * weight + latencyNanos * (1 - weight);
+        }
+        lastUpdateNanos = now;
+    }
+
+    /**
+     * Expected wait for one more request: latency estimate scaled by the queue it would join.
+     */
+    public synchronized double cost() {
+        int outstanding = inflight.get();
+        if (!sampled) {
+            return UNKNOWN_LATENCY_PENALTY_NANOS * outstanding;
+        }
+        return ewmaNanos * (outstanding + 1);
+    }
+
+    public synchronized double getEwmaNanos() {
+        return ewmaNanos;
+    }
+
+    public int getInflight() {
+        return inflight.get();
+    }
+}
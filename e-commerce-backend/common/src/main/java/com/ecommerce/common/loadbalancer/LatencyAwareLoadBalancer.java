@@ -0,0 +1,89 @@
+package com.ecommerce.common.loadbalancer;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestData;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Power-of-two-choices over the instance list: sample two instances at random and send the request to the
+ * one with the lower latency-times-load cost, so a slow pod sheds traffic without starving it of samples.
+ */
+@Slf4j
+public class LatencyAwareLoadBalancer implements ReactorServiceInstanceLoadBalancer {
+
+    // Exchange attribute set by the gateway's hedging filter: host:port of the instance the hedge should not use
+    public static final String AVOID_INSTANCE_ATTR = LatencyAwareLoadBalancer.class.getName() + ".avoidInstance";
+
+    private final ObjectProvider<ServiceInstanceListSupplier> supplierProvider;
+    private final String serviceId;
+    private final LatencyStatsRegistry statsRegistry;
+
+    public LatencyAwareLoadBalancer(ObjectProvider<ServiceInstanceListSupplier> supplierProvider,
+                                    String serviceId,
+                                    LatencyStatsRegistry statsRegistry) {
+        this.supplierProvider = supplierProvider;
+        this.serviceId = serviceId;
+        this.statsRegistry = statsRegistry;
+    }
+
+    // ReactorLoadBalancer declares choose with a raw Request, so the override has to as well
+    @Override
+    @SuppressWarnings("rawtypes")
+    public Mono<Response<ServiceInstance>> choose(Request request) {
+        ServiceInstanceListSupplier supplier = supplierProvider.getIfAvailable(NoopServiceInstanceListSupplier::new);
+        String avoid = avoidInstance(request);
+        return supplier.get(request).next().map(instances -> choose(instances, avoid));
+    }
+
+    private Response<ServiceInstance> choose(List<ServiceInstance> instances, String avoid) {
+        if (avoid != null && instances.size() > 1) {
+            List<ServiceInstance> others = instances.stream()
+                .filter(instance -> !avoid.equals(LatencyStatsRegistry.instanceKey(instance)))
+                .toList();
+            if (!others.isEmpty()) {
+                instances = others;
+            }
+        }
+        if (instances.isEmpty()) {
+            log.warn("No servers available for service: {}", serviceId);
+            return new EmptyResponse();
+        }
+        ServiceInstance chosen = instances.size() == 1 ? instances.get(0) : pickTwo(instances);
+        statsRegistry.recordSelection(chosen);
+        return new DefaultResponse(chosen);
+    }
+
+    private static String avoidInstance(Request<?> request) {
+        if (request.getContext() instanceof RequestDataContext context && context.getClientRequest() != null) {
+            RequestData data = context.getClientRequest();
+            Object attribute = data.getAttributes() != null ? data.getAttributes().get(AVOID_INSTANCE_ATTR) : null;
+            return attribute != null ? attribute.toString() : null;
+        }
+        return null;
+    }
+
+    private ServiceInstance pickTwo(List<ServiceInstance> instances) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(instances.size());
+        int second = random.nextInt(instances.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+        ServiceInstance a = instances.get(first);
+        ServiceInstance b = instances.get(second);
+        return statsRegistry.get(a).cost() <= statsRegistry.get(b).cost() ? a : b;
+    }
+}
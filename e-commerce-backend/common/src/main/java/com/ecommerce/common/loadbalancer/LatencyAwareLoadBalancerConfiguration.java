@@ -0,0 +1,48 @@
+package com.ecommerce.common.loadbalancer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.loadbalancer.core.ReactorLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+
+/**
+ * Per-client LoadBalancer configuration, registered through {@code @LoadBalancerClients(defaultConfiguration = ...)}.
+ * Not a component: each service id gets its own child context and therefore its own statistics.
+ * Set {@code ecommerce.loadbalancer.strategy=round-robin} to fall back to the Spring Cloud default.
+ */
+@ConditionalOnProperty(name = "ecommerce.loadbalancer.strategy", havingValue = "latency-aware", matchIfMissing = true)
+public class LatencyAwareLoadBalancerConfiguration {
+
+    @Bean
+    public LatencyStatsRegistry latencyStatsRegistry(Environment environment,
+                                                     ObjectProvider<MeterRegistry> meterRegistry) {
+        String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+        Duration decay = environment.getProperty("ecommerce.loadbalancer.ewma-decay", Duration.class, Duration.ofSeconds(10));
+        return new LatencyStatsRegistry(serviceId, decay, meterRegistry.getIfAvailable());
+    }
+
+    @Bean
+    public ReactorLoadBalancer<ServiceInstance> latencyAwareLoadBalancer(Environment environment,
+                                                                        LoadBalancerClientFactory loadBalancerClientFactory,
+                                                                        LatencyStatsRegistry latencyStatsRegistry) {
+        String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+        return new LatencyAwareLoadBalancer(
+            loadBalancerClientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class),
+            serviceId,
+            latencyStatsRegistry);
+    }
+
+    @Bean
+    public LoadBalancerLifecycle<Object, Object, ServiceInstance> latencyRecordingLifecycle(
+            LatencyStatsRegistry latencyStatsRegistry) {
+        return new LatencyRecordingLifecycle(latencyStatsRegistry);
+    }
+}
@@ -0,0 +1,63 @@
+package com.ecommerce.common.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.TimedRequestContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Feeds request outcomes back into {@link LatencyStatsRegistry}. Called by the gateway, the
+ * {@code @LoadBalanced} RestTemplate and WebClient alike.
+ */
+public class LatencyRecordingLifecycle implements LoadBalancerLifecycle<Object, Object, ServiceInstance> {
+
+    // Failed calls count as this slow at least, otherwise a pod that fails fast would attract traffic
+    private static final long FAILURE_PENALTY_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final LatencyStatsRegistry statsRegistry;
+
+    public LatencyRecordingLifecycle(LatencyStatsRegistry statsRegistry) {
+        this.statsRegistry = statsRegistry;
+    }
+
+    @Override
+    public void onStart(Request<Object> request) {
+    }
+
+    @Override
+    public void onStartRequest(Request<Object> request, Response<ServiceInstance> lbResponse) {
+        if (!lbResponse.hasServer()) {
+            return;
+        }
+        if (request.getContext() instanceof TimedRequestContext context) {
+            context.setRequestStartTime(System.nanoTime());
+        }
+        statsRegistry.get(lbResponse.getServer()).requestStarted();
+    }
+
+    @Override
+    public void onComplete(CompletionContext<Object, ServiceInstance, Object> completionContext) {
+        Response<ServiceInstance> lbResponse = completionContext.getLoadBalancerResponse();
+        if (completionContext.status() == CompletionContext.Status.DISCARD
+                || lbResponse == null || !lbResponse.hasServer()) {
+            return;
+        }
+        InstanceStats stats = statsRegistry.get(lbResponse.getServer());
+        Object context = completionContext.getLoadBalancerRequest() != null
+            ? completionContext.getLoadBalancerRequest().getContext() : null;
+        if (!(context instanceof TimedRequestContext timed) || timed.getRequestStartTime() == 0) {
+            stats.requestAbandoned();
+            return;
+        }
+
+        long latency = System.nanoTime() - timed.getRequestStartTime();
+        if (completionContext.status() == CompletionContext.Status.FAILED) {
+            latency = Math.max(latency, FAILURE_PENALTY_NANOS);
+        }
+        stats.requestFinished(latency);
+    }
+}
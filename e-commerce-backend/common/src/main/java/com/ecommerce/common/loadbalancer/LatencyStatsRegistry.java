@@ -0,0 +1,65 @@
+package com.ecommerce.common.loadbalancer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency and load statistics for the instances of one service, shared by the balancer and its lifecycle.
+ */
+public class LatencyStatsRegistry {
+
+    private final String serviceId;
+    private final long decayNanos;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, InstanceStats> stats = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Counter> selections = new ConcurrentHashMap<>();
+
+    public LatencyStatsRegistry(String serviceId, Duration decay, MeterRegistry meterRegistry) {
+        this.serviceId = serviceId;
+        this.decayNanos = decay.toNanos();
+        this.meterRegistry = meterRegistry;
+    }
+
+    public InstanceStats get(ServiceInstance instance) {
+        return stats.computeIfAbsent(instanceKey(instance), this::create);
+    }
+
+    public void recordSelection(ServiceInstance instance) {
+        if (meterRegistry == null) {
+            return;
+        }
+        selections.computeIfAbsent(instanceKey(instance), key -> Counter.builder("loadbalancer.selections")
+            .tag("service", serviceId)
+            .tag("instance", key)
+            .register(meterRegistry))
+            .increment();
+    }
+
+    public static String instanceKey(ServiceInstance instance) {
+        return instance.getHost() + ":" + instance.getPort();
+    }
+
+    private InstanceStats create(String key) {
+        InstanceStats instanceStats = new InstanceStats(decayNanos, System::nanoTime);
+        if (meterRegistry != null) {
+            Gauge.builder("loadbalancer.instance.latency.ewma", instanceStats,
+                    s -> s.getEwmaNanos() / TimeUnit.MILLISECONDS.toNanos(1))
+                .baseUnit("milliseconds")
+                .tag("service", serviceId)
+                .tag("instance", key)
+                .register(meterRegistry);
+            Gauge.builder("loadbalancer.instance.inflight", instanceStats, InstanceStats::getInflight)
+                .tag("service", serviceId)
+                .tag("instance", key)
+                .register(meterRegistry);
+        }
+        return instanceStats;
+    }
+}
@@ -0,0 +1,15 @@
+package com.ecommerce.common.security;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+public class IpReputation {
+    private String ipAddress;
+    private int reputationScore;
+    private boolean suspicious;
+    private LocalDateTime lastChecked;
+}
@@ -0,0 +1,68 @@
+package com.ecommerce.common.security.identity;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Base64;
+
+/**
+ * HMAC-SHA256 over user id, roles and timestamp. The timestamp bounds how long a captured set of headers
+ * can be replayed inside the cluster.
+ */
+public class IdentityHeaderSigner {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final SecretKeySpec key;
+    private final long maxAgeMillis;
+    private final ThreadLocal<Mac> macs;
+
+    public IdentityHeaderSigner(String secret, Duration maxAge) {
+        if (secret == null || secret.length() < 32) {
+            throw new IllegalArgumentException("Identity header secret must be at least 32 characters");
+        }
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        this.maxAgeMillis = maxAge.toMillis();
+        this.macs = ThreadLocal.withInitial(this::newMac);
+    }
+
+    public String sign(String userId, String roles, long timestampMillis) {
+        Mac mac = macs.get();
+        byte[] signature = mac.doFinal(payload(userId, roles, timestampMillis));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(signature);
+    }
+
+    public boolean verify(String userId, String roles, String timestamp, String signature) {
+        if (userId == null || timestamp == null || signature == null) {
+            return false;
+        }
+        long timestampMillis;
+        try {
+            timestampMillis = Long.parseLong(timestamp);
+        } catch (NumberFormatException e) {
+            return false;
+        }
+        if (Math.abs(System.currentTimeMillis() - timestampMillis) > maxAgeMillis) {
+            return false;
+        }
+        byte[] expected = sign(userId, roles != null ? roles : "", timestampMillis).getBytes(StandardCharsets.US_ASCII);
+        return MessageDigest.isEqual(expected, signature.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static byte[] payload(String userId, String roles, long timestampMillis) {
+        return (userId + '\n' + roles + '\n' + timestampMillis).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.ecommerce.common.security.identity;
+
+import java.util.List;
+
+/**
+ * Headers the gateway adds after verifying a JWT. Services trust them only when the signature checks out.
+ */
+public final class IdentityHeaders {
+
+    public static final String USER_ID = "X-User-Id";
+    public static final String USER_ROLES = "X-User-Roles";
+    public static final String TIMESTAMP = "X-Auth-Timestamp";
+    public static final String SIGNATURE = "X-Auth-Signature";
+
+    public static final List<String> ALL = List.of(USER_ID, USER_ROLES, TIMESTAMP, SIGNATURE);
+
+    private IdentityHeaders() {
+    }
+}
@@ -8,6 +8,10 @@ import java.util.HashSet;
 import java.util.Set;
 import java.util.regex.Pattern;
 
+/**
+ * Content and user-agent rules with no servlet dependency, so the reactive gateway can register it as well.
+ * Request-level checks for servlet services are in {@link BasicThreatDetector}.
+ */
 @Component
 @Slf4j
 @RequiredArgsConstructor
@@ -39,8 +43,7 @@ public class AdvancedThreatDetector {
         return false;
     }
 
-    public boolean detectBotTraffic(HttpServletRequest request) {
-        String userAgent = request.getHeader("User-Agent");
+    public boolean isBotUserAgent(String userAgent) {
         if (userAgent == null) return false;
         
         for (String botAgent : BOT_USER_AGENTS) {
@@ -1,10 +1,12 @@
 package com.ecommerce.common.security.threat;
 
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 import java.util.regex.Pattern;
 
@@ -16,8 +18,8 @@ public class BasicThreatDetector {
     private static final Set<String> SUSPICIOUS_IPS = new HashSet<>();
     private static final Set<String> SUSPICIOUS_USER_AGENTS = new HashSet<>();
     private static final Pattern SQL_INJECTION_PATTERN = 
-        Pattern.compile("[\-\+\*\%\&\|\^~<>!@#$\\[\\]{}()]+", Pattern.CASE_INSENSITIVE);
-    private static final Pattern XSS_PATTERN = Pattern.compile("[<>""'&=;()]+", Pattern.CASE_INSENSITIVE);
+        Pattern.compile("[\\-+*%&|\\^~<>!@#$\\[\\]{}()]+", Pattern.CASE_INSENSITIVE);
+    private static final Pattern XSS_PATTERN = Pattern.compile("[<>\"'&=;()]+", Pattern.CASE_INSENSITIVE);
     
     static {
         // Add known malicious IPs
@@ -28,6 +30,8 @@ public class BasicThreatDetector {
         SUSPICIOUS_USER_AGENTS.add("nikto");
     }
 
+    private final AdvancedThreatDetector advancedThreatDetector;
+
     public boolean isThreatDetected(HttpServletRequest request) {
         // Check for suspicious IP
         if (isSuspiciousIp(request.getRemoteAddr())) {
@@ -56,6 +60,10 @@ public class BasicThreatDetector {
         return false;
     }
 
+    public boolean detectBotTraffic(HttpServletRequest request) {
+        return advancedThreatDetector.isBotUserAgent(request.getHeader("User-Agent"));
+    }
+
     private boolean isSuspiciousIp(String ip) {
         return SUSPICIOUS_IPS.contains(ip);
     }
@@ -71,25 +79,27 @@ public class BasicThreatDetector {
         return false;
     }
 
-    private boolean containsSqlInjection(Object[] parameters) {
+    private boolean containsSqlInjection(Map<String, String[]> parameters) {
         if (parameters == null) return false;
         
-        for (Object param : parameters) {
-            if (param instanceof String && 
-                SQL_INJECTION_PATTERN.matcher((String) param).find()) {
-                return true;
+        for (String[] values : parameters.values()) {
+            for (String value : values) {
+                if (value != null && SQL_INJECTION_PATTERN.matcher(value).find()) {
+                    return true;
+                }
             }
         }
         return false;
     }
 
-    private boolean containsXss(Object[] parameters) {
+    private boolean containsXss(Map<String, String[]> parameters) {
         if (parameters == null) return false;
         
-        for (Object param : parameters) {
-            if (param instanceof String && 
-                XSS_PATTERN.matcher((String) param).find()) {
-                return true;
+        for (String[] values : parameters.values()) {
+            for (String value : values) {
+                if (value != null && XSS_PATTERN.matcher(value).find()) {
+                    return true;
+                }
             }
         }
         return false;
@@ -0,0 +1,18 @@
+package com.ecommerce.common.security.token;
+
+/**
+ * Claims carried by access tokens issued by auth-service. Everything a service needs to authorize a request
+ * is in the token, so validating one never requires a user lookup.
+ */
+public final class TokenClaims {
+
+    public static final String USER_ID = "userId";
+    public static final String ROLES = "roles";
+    public static final String VERSION = "ver";
+
+    // Bump when the claim layout changes; tokens of another version are rejected and clients log in again
+    public static final int CURRENT_VERSION = 1;
+
+    private TokenClaims() {
+    }
+}
@@ -0,0 +1,60 @@
+package com.ecommerce.common.security.token;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory revocation state for stateless tokens. A user-level cut-off revokes every token issued before it
+ * (role or status changes); single token ids can be revoked as well (logout). Entries are dropped once every
+ * token they could match has expired anyway, so the set stays proportional to recent revocations.
+ */
+public class TokenDenylist {
+
+    private final long tokenLifetimeMillis;
+    private final LongSupplier clock;
+    private final Map<String, Long> revokedBefore = new ConcurrentHashMap<>();
+    private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+
+    public TokenDenylist(Duration tokenLifetime) {
+        this(tokenLifetime, System::currentTimeMillis);
+    }
+
+    public TokenDenylist(Duration tokenLifetime, LongSupplier clock) {
+        this.tokenLifetimeMillis = tokenLifetime.toMillis();
+        this.clock = clock;
+    }
+
+    public void revokeUser(String userId, long cutoffMillis) {
+        revokedBefore.merge(userId, cutoffMillis, Math::max);
+        purgeExpired();
+    }
+
+    public void revokeToken(String tokenId, long expiresAtMillis) {
+        revokedTokens.put(tokenId, expiresAtMillis);
+        purgeExpired();
+    }
+
+    /**
+     * @param issuedAtMillis the token's {@code iat}; JWTs carry whole seconds, so a token issued in the same
+     *                       second as a cut-off counts as revoked
+     */
+    public boolean isRevoked(String userId, String tokenId, long issuedAtMillis) {
+        if (tokenId != null && revokedTokens.containsKey(tokenId)) {
+            return true;
+        }
+        Long cutoff = userId != null ? revokedBefore.get(userId) : null;
+        return cutoff != null && issuedAtMillis <= cutoff;
+    }
+
+    public int size() {
+        return revokedBefore.size() + revokedTokens.size();
+    }
+
+    public void purgeExpired() {
+        long now = clock.getAsLong();
+        revokedBefore.values().removeIf(cutoff -> cutoff + tokenLifetimeMillis < now);
+        revokedTokens.values().removeIf(expiresAt -> expiresAt < now);
+    }
+}
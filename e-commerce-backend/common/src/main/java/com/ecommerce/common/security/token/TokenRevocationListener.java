@@ -0,0 +1,40 @@
+package com.ecommerce.common.security.token;
+
+import com.ecommerce.common.kafka.event.UserEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+
+/**
+ * Feeds {@link TokenDenylist} from user events. Every instance keeps its own denylist, so every instance
+ * consumes the topic in its own group. Register it as a bean in each service that validates tokens.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class TokenRevocationListener {
+
+    private final TokenDenylist tokenDenylist;
+
+    @KafkaListener(
+        topics = "ecommerce.users",
+        groupId = "${spring.application.name}-revocation-${random.uuid}",
+        properties = {
+            "auto.offset.reset=latest",
+            "spring.json.value.default.type=com.ecommerce.common.kafka.event.UserEvent"
+        }
+    )
+    public void listenUserEvents(UserEvent userEvent) {
+        if (!isRevoking(userEvent.getEventType()) || userEvent.getUserId() == null) {
+            return;
+        }
+        // Epoch millis from the producer, so the cut-off does not depend on either side's time zone
+        long cutoff = userEvent.getChangedAtMillis() > 0 ? userEvent.getChangedAtMillis() : System.currentTimeMillis();
+        tokenDenylist.revokeUser(userEvent.getUserId(), cutoff);
+        log.info("Revoked tokens issued to user {} before {} ({})", userEvent.getUserId(), cutoff, userEvent.getEventType());
+    }
+
+    private static boolean isRevoking(String eventType) {
+        return UserEvent.EventType.USER_STATUS_CHANGED.name().equals(eventType)
+            || UserEvent.EventType.USER_ROLE_UPDATED.name().equals(eventType);
+    }
+}
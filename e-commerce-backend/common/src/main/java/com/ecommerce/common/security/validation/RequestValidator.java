@@ -4,20 +4,21 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
-import javax.servlet.FilterChain;
-import javax.servlet.ServletException;
-import javax.servlet.http.HttpServletRequest;
-import javax.servlet.http.HttpServletResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.Map;
 import java.util.regex.Pattern;
 
 @Component
 @RequiredArgsConstructor
 public class RequestValidator extends OncePerRequestFilter {
     
-    private static final Pattern XSS_PATTERN = Pattern.compile("[<>""'&=;()]+", Pattern.CASE_INSENSITIVE);
+    private static final Pattern XSS_PATTERN = Pattern.compile("[<>\"'&=;()]+", Pattern.CASE_INSENSITIVE);
     private static final Pattern SQL_INJECTION_PATTERN = 
-        Pattern.compile("[\-\+\*\%\&\|\^~<>!@#$\\[\\]{}()]+", Pattern.CASE_INSENSITIVE);
+        Pattern.compile("[\\-+*%&|\\^~<>!@#$\\[\\]{}()]+", Pattern.CASE_INSENSITIVE);
     
     @Override
     protected void doFilterInternal(HttpServletRequest request, 
@@ -36,12 +37,12 @@ public class RequestValidator extends OncePerRequestFilter {
 
     private boolean isSuspiciousRequest(HttpServletRequest request) {
         // Check for XSS attempts
-        if (containsSuspiciousPattern(request.getParameterMap().values(), XSS_PATTERN)) {
+        if (containsSuspiciousPattern(request.getParameterMap(), XSS_PATTERN)) {
             return true;
         }
         
         // Check for SQL injection attempts
-        if (containsSuspiciousPattern(request.getParameterMap().values(), SQL_INJECTION_PATTERN)) {
+        if (containsSuspiciousPattern(request.getParameterMap(), SQL_INJECTION_PATTERN)) {
             return true;
         }
         
@@ -53,12 +54,14 @@ public class RequestValidator extends OncePerRequestFilter {
         return false;
     }
 
-    private boolean containsSuspiciousPattern(Object[] values, Pattern pattern) {
-        if (values == null) return false;
+    private boolean containsSuspiciousPattern(Map<String, String[]> parameters, Pattern pattern) {
+        if (parameters == null) return false;
         
-        for (Object value : values) {
-            if (value instanceof String && pattern.matcher((String) value).find()) {
-                return true;
+        for (String[] values : parameters.values()) {
+            for (String value : values) {
+                if (value != null && pattern.matcher(value).find()) {
+                    return true;
+                }
             }
         }
         return false;
@@ -1,10 +1,13 @@
 package com.ecommerce.order.kafka;
 
-import com.ecommerce.common.kafka.KafkaTemplate;
 import com.ecommerce.common.kafka.event.OrderEvent;
 import lombok.RequiredArgsConstructor;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.CompletableFuture;
+
 @Service
 @RequiredArgsConstructor
 public class OrderKafkaProducer {
@@ -12,7 +15,7 @@ public class OrderKafkaProducer {
     private final KafkaTemplate<String, Object> kafkaTemplate;
     private static final String ORDER_TOPIC = "ecommerce.orders";
 
-    public void sendOrderEvent(OrderEvent orderEvent) {
-        kafkaTemplate.send(ORDER_TOPIC, orderEvent.getOrderId(), orderEvent);
+    public CompletableFuture<SendResult<String, Object>> sendOrderEvent(OrderEvent orderEvent) {
+        return kafkaTemplate.send(ORDER_TOPIC, orderEvent.getOrderId(), orderEvent);
     }
 }
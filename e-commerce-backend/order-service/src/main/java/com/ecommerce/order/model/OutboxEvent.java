@@ -0,0 +1,30 @@
+package com.ecommerce.order.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * An order event waiting to be published, written in the same transaction as the order change it describes.
+ * Rows are published in id order by {@link com.ecommerce.order.outbox.OutboxRelay} and deleted once Kafka has
+ * acknowledged them.
+ */
+@Data
+@Entity
+@Table(name = "order_outbox")
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "aggregate_id", nullable = false)
+    private String aggregateId;
+
+    @Lob
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,53 @@
+package com.ecommerce.order.outbox;
+
+import com.ecommerce.common.kafka.event.OrderEvent;
+import com.ecommerce.order.model.OutboxEvent;
+import com.ecommerce.order.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+
+/**
+ * Records order events in the outbox table. Must be called inside the transaction that changes the order, so the
+ * event exists if and only if the change was committed; Kafka is never touched on the request path.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderOutbox {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxRelay outboxRelay;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(OrderEvent orderEvent) {
+        OutboxEvent outboxEvent = new OutboxEvent();
+        outboxEvent.setAggregateId(orderEvent.getOrderId());
+        outboxEvent.setPayload(toJson(orderEvent));
+        outboxEvent.setCreatedAt(LocalDateTime.now());
+        outboxEventRepository.save(outboxEvent);
+
+        // Publish right after commit instead of waiting for the next poll
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                outboxRelay.wakeUp();
+            }
+        });
+    }
+
+    private String toJson(OrderEvent orderEvent) {
+        try {
+            return objectMapper.writeValueAsString(orderEvent);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Order event cannot be serialized", e);
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.ecommerce.order.outbox;
+
+import com.ecommerce.common.kafka.event.OrderEvent;
+import com.ecommerce.order.kafka.OrderKafkaProducer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Publishes the order outbox to Kafka in batches. A batch goes out in waves: each wave sends the next event of
+ * every order in the batch at once, so different orders are pipelined, while an order's following event is only
+ * sent once the previous one is acknowledged. The published rows are deleted with one statement.
+ * <p>
+ * Delivery is at least once, in id order per order: rows are keyed by order id, so an order's events share a
+ * partition, no event is in flight before the one ahead of it is acknowledged, and when one of its events fails
+ * the later events of that order stay in the outbox to be re-sent after it. Relays in several instances lock the batch they are working on, so they take turns instead of
+ * publishing the same order's events side by side. The relay runs with read-committed isolation, which locks only
+ * the selected rows; inserts from the request path never wait on it.
+ */
+@Slf4j
+@Component
+public class OutboxRelay implements DisposableBean {
+
+    private static final String SELECT_BATCH = "SELECT id, aggregate_id, payload FROM order_outbox ORDER BY id LIMIT ? FOR UPDATE";
+    private static final String DELETE_PUBLISHED = "DELETE FROM order_outbox WHERE id IN (%s)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final OrderKafkaProducer orderKafkaProducer;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final Duration sendTimeout;
+    private final ScheduledExecutorService relay;
+    private final AtomicBoolean wakeUpPending = new AtomicBoolean();
+    private final Counter published;
+    private final Counter failed;
+    private final Timer batchTimer;
+
+    public OutboxRelay(JdbcTemplate jdbcTemplate,
+                       PlatformTransactionManager transactionManager,
+                       OrderKafkaProducer orderKafkaProducer,
+                       ObjectMapper objectMapper,
+                       MeterRegistry meterRegistry,
+                       @Value("${order.outbox.poll-interval:500ms}") Duration pollInterval,
+                       @Value("${order.outbox.batch-size:500}") int batchSize,
+                       @Value("${order.outbox.send-timeout:10s}") Duration sendTimeout) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        this.orderKafkaProducer = orderKafkaProducer;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.sendTimeout = sendTimeout;
+        this.published = Counter.builder("order.outbox.published").register(meterRegistry);
+        this.failed = Counter.builder("order.outbox.failed").register(meterRegistry);
+        this.batchTimer = Timer.builder("order.outbox.batch").register(meterRegistry);
+
+        this.relay = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "order-outbox-relay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = pollInterval.toMillis();
+        relay.scheduleWithFixedDelay(this::drain, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Asks for a drain as soon as possible; wake-ups arriving while one is already queued are coalesced.
+     */
+    public void wakeUp() {
+        if (wakeUpPending.compareAndSet(false, true)) {
+            relay.execute(() -> {
+                wakeUpPending.set(false);
+                drain();
+            });
+        }
+    }
+
+    @Override
+    public void destroy() {
+        relay.shutdown();
+        try {
+            relay.awaitTermination(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void drain() {
+        try {
+            // Keep going while batches come back full; stop on failures so an outage does not become a busy loop
+            BatchResult result;
+            do {
+                result = batchTimer.record(() -> transactionTemplate.execute(status -> relayBatch()));
+            } while (result.published() == batchSize && result.failed() == 0 && !relay.isShutdown());
+        } catch (RuntimeException e) {
+            log.warn("Order outbox relay failed: {}", e.getMessage());
+        }
+    }
+
+    private BatchResult relayBatch() {
+        List<OutboxRow> rows = jdbcTemplate.query(SELECT_BATCH,
+                (rs, rowNum) -> new OutboxRow(rs.getLong("id"), rs.getString("aggregate_id"), rs.getString("payload")),
+                batchSize);
+        if (rows.isEmpty()) {
+            return new BatchResult(0, 0);
+        }
+
+        Map<String, Deque<OutboxRow>> pendingByOrder = new LinkedHashMap<>();
+        for (OutboxRow row : rows) {
+            pendingByOrder.computeIfAbsent(row.aggregateId(), id -> new ArrayDeque<>()).add(row);
+        }
+        long deadline = System.nanoTime() + sendTimeout.toNanos();
+        List<Long> publishedIds = new ArrayList<>(rows.size());
+        Set<String> failedOrders = new HashSet<>();
+        while (!pendingByOrder.isEmpty()) {
+            List<OutboxRow> wave = new ArrayList<>(pendingByOrder.size());
+            List<CompletableFuture<?>> sends = new ArrayList<>(pendingByOrder.size());
+            for (Deque<OutboxRow> pending : pendingByOrder.values()) {
+                OutboxRow row = pending.peekFirst();
+                wave.add(row);
+                sends.add(send(row));
+            }
+            await(sends, deadline);
+            for (int i = 0; i < wave.size(); i++) {
+                OutboxRow row = wave.get(i);
+                CompletableFuture<?> send = sends.get(i);
+                if (send.isDone() && !send.isCompletedExceptionally()) {
+                    publishedIds.add(row.id());
+                    Deque<OutboxRow> pending = pendingByOrder.get(row.aggregateId());
+                    pending.pollFirst();
+                    if (pending.isEmpty()) {
+                        pendingByOrder.remove(row.aggregateId());
+                    }
+                } else {
+                    // The rest of this order waits for the next batch, behind the event that failed
+                    failedOrders.add(row.aggregateId());
+                    pendingByOrder.remove(row.aggregateId());
+                }
+            }
+        }
+        if (!publishedIds.isEmpty()) {
+            String placeholders = String.join(",", Collections.nCopies(publishedIds.size(), "?"));
+            jdbcTemplate.update(String.format(DELETE_PUBLISHED, placeholders), publishedIds.toArray());
+        }
+        int failures = rows.size() - publishedIds.size();
+        published.increment(publishedIds.size());
+        failed.increment(failures);
+        if (failures > 0) {
+            log.warn("Order outbox: {} of {} events not published, {} orders held back", failures, rows.size(),
+                    failedOrders.size());
+        }
+        return new BatchResult(publishedIds.size(), failures);
+    }
+
+    // The timeout covers the whole batch; sends still pending when it runs out count as failed
+    private static void await(List<CompletableFuture<?>> sends, long deadline) {
+        try {
+            CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new))
+                    .get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            // Individual outcomes are read by the caller
+        }
+    }
+
+    private CompletableFuture<?> send(OutboxRow row) {
+        try {
+            return orderKafkaProducer.sendOrderEvent(objectMapper.readValue(row.payload(), OrderEvent.class));
+        } catch (Exception e) {
+            log.error("Order outbox event {} for order {} cannot be sent: {}", row.id(), row.aggregateId(), e.getMessage());
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private record OutboxRow(long id, String aggregateId, String payload) {
+    }
+
+    private record BatchResult(int published, int failed) {
+    }
+}
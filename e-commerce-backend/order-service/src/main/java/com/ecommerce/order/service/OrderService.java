@@ -5,11 +5,12 @@ import com.ecommerce.common.kafka.event.ProductEvent;
 import com.ecommerce.order.model.Order;
 import com.ecommerce.order.model.OrderItem;
 import com.ecommerce.order.repository.OrderRepository;
-import com.ecommerce.order.kafka.OrderKafkaProducer;
 import com.ecommerce.order.kafka.ProductKafkaProducer;
+import com.ecommerce.order.outbox.OrderOutbox;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -20,10 +21,11 @@ import java.util.UUID;
 public class OrderService {
     
     private final OrderRepository orderRepository;
-    private final OrderKafkaProducer orderKafkaProducer;
+    private final OrderOutbox orderOutbox;
     private final ProductKafkaProducer productKafkaProducer;
     private final CartClient cartClient;
     private final PaymentClient paymentClient;
+    private final TransactionTemplate transactionTemplate;
 
     @Transactional
     public Order createOrder(String userId) {
@@ -42,7 +44,7 @@ public class OrderService {
         // Save order
         Order savedOrder = orderRepository.save(order);
         
-        // Send order event
+        // Queue order event; published after commit
         OrderEvent orderEvent = new OrderEvent();
         orderEvent.setOrderId(savedOrder.getOrderId());
         orderEvent.setUserId(savedOrder.getUserId());
@@ -50,7 +52,7 @@ public class OrderService {
         orderEvent.setTotalAmount(savedOrder.getTotalAmount());
         orderEvent.setStatus(savedOrder.getStatus());
         
-        orderKafkaProducer.sendOrderEvent(orderEvent);
+        orderOutbox.append(orderEvent);
         
         return savedOrder;
     }
@@ -61,6 +63,7 @@ public class OrderService {
             .sum();
     }
 
+    @Transactional
     public void updateOrderStatus(String orderId, String status) {
         Order order = orderRepository.findById(orderId)
             .orElseThrow(() -> new RuntimeException("Order not found"));
@@ -71,9 +74,10 @@ public class OrderService {
         // Send updated order event
         OrderEvent orderEvent = new OrderEvent();
         orderEvent.setOrderId(order.getOrderId());
+        orderEvent.setUserId(order.getUserId());
         orderEvent.setStatus(status);
         
-        orderKafkaProducer.sendOrderEvent(orderEvent);
+        orderOutbox.append(orderEvent);
     }
 
     public void processPayment(String orderId) {
@@ -89,14 +93,17 @@ public class OrderService {
         
         order.setPaymentId(paymentId);
         order.setStatus("COMPLETED");
-        orderRepository.save(order);
         
-        // Send payment confirmation event
+        // Payment confirmation event, committed together with the order; the payment call stays outside the transaction
         OrderEvent orderEvent = new OrderEvent();
         orderEvent.setOrderId(order.getOrderId());
+        orderEvent.setUserId(order.getUserId());
         orderEvent.setStatus("COMPLETED");
         orderEvent.setPaymentId(paymentId);
         
-        orderKafkaProducer.sendOrderEvent(orderEvent);
+        transactionTemplate.executeWithoutResult(status -> {
+            orderRepository.save(order);
+            orderOutbox.append(orderEvent);
+        });
     }
 }
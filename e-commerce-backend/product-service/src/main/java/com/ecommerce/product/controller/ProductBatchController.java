@@ -0,0 +1,22 @@
+package com.ecommerce.product.controller;
+
+import com.ecommerce.product.dto.ProductBatchRequest;
+import com.ecommerce.product.dto.ProductBatchResponse;
+import com.ecommerce.product.service.ProductBatchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+public class ProductBatchController {
+
+    private final ProductBatchService productBatchService;
+
+    @PostMapping("/batch")
+    public ResponseEntity<ProductBatchResponse> getProducts(@RequestBody ProductBatchRequest request) {
+        return ResponseEntity.ok(productBatchService.getProducts(request));
+    }
+}
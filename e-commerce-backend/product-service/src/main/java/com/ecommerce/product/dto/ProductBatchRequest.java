@@ -0,0 +1,13 @@
+package com.ecommerce.product.dto;
+
+import lombok.Data;
+
+import java.util.List;
+import java.util.Set;
+
+@Data
+public class ProductBatchRequest {
+    private List<String> ids;
+    // Subset of name, description, price, stockQuantity; defaults to name and price
+    private Set<String> fields;
+}
@@ -0,0 +1,17 @@
+package com.ecommerce.product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductBatchResponse {
+    // product id -> requested field -> value
+    private Map<String, Map<String, Object>> products;
+    private List<String> missing;
+}
@@ -0,0 +1,102 @@
+package com.ecommerce.product.kafka;
+
+import com.ecommerce.common.kafka.event.ProductEvent;
+import com.ecommerce.product.model.Product;
+import lombok.RequiredArgsConstructor;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Publishes the current state of a product to the compacted state topic, keyed by product id.
+ * Consumers rebuild a full catalogue projection by reading the topic from the beginning.
+ * Every record carries a {@code stateVersion}; consumers ignore a record older than the one they hold.
+ */
+@Service
+@RequiredArgsConstructor
+public class ProductStateProducer {
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private static final String PRODUCT_STATE_TOPIC = "ecommerce.products.state";
+
+    // Live publishes seen while a snapshot runs, so the snapshot does not overwrite them with older rows
+    private volatile Map<String, Long> publishedDuringSnapshot;
+
+    public void publish(Product product) {
+        long version = System.currentTimeMillis();
+        send(product.getId(), version, () -> toState(product, version));
+    }
+
+    public void publishDeleted(String productId) {
+        // Tombstone: compaction eventually drops the key; consumers version it by the record timestamp
+        send(productId, System.currentTimeMillis(), () -> null);
+    }
+
+    void beginSnapshot() {
+        publishedDuringSnapshot = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Publishes a row read at {@code readAtMillis}, unless this instance already published a newer state for it.
+     * The row is versioned just below the read time, so any change published after the read outranks it.
+     * Returns false when the row was skipped.
+     */
+    boolean publishSnapshot(Product product, long readAtMillis) {
+        Map<String, Long> live = publishedDuringSnapshot;
+        if (live == null) {
+            kafkaTemplate.send(PRODUCT_STATE_TOPIC, product.getId(), toState(product, readAtMillis - 1));
+            return true;
+        }
+        boolean[] sent = new boolean[1];
+        live.compute(product.getId(), (id, liveVersion) -> {
+            if (liveVersion != null && liveVersion >= readAtMillis) {
+                return liveVersion;
+            }
+            kafkaTemplate.send(PRODUCT_STATE_TOPIC, id, toState(product, readAtMillis - 1));
+            sent[0] = true;
+            return liveVersion;
+        });
+        return sent[0];
+    }
+
+    void endSnapshot() {
+        publishedDuringSnapshot = null;
+    }
+
+    public void flush() {
+        kafkaTemplate.flush();
+    }
+
+    // Sends under the key's entry while a snapshot runs, so a snapshot row cannot slip in behind a live change
+    private void send(String productId, long version, Supplier<ProductEvent> state) {
+        Map<String, Long> live = publishedDuringSnapshot;
+        if (live == null) {
+            kafkaTemplate.send(PRODUCT_STATE_TOPIC, productId, state.get());
+            return;
+        }
+        live.compute(productId, (id, previous) -> {
+            kafkaTemplate.send(PRODUCT_STATE_TOPIC, id, state.get());
+            return previous == null ? version : Math.max(previous, version);
+        });
+    }
+
+    private static ProductEvent toState(Product product, long version) {
+        ProductEvent state = new ProductEvent();
+        state.setEventId(UUID.randomUUID().toString());
+        state.setTimestamp(LocalDateTime.now());
+        state.setEventType(ProductEvent.EventType.PRODUCT_UPDATED.name());
+        state.setSourceService("product-service");
+        state.setProductId(product.getId());
+        state.setName(product.getName());
+        state.setDescription(product.getDescription());
+        state.setPrice(product.getPrice());
+        state.setStockQuantity(product.getStockQuantity());
+        state.setStateVersion(version);
+        return state;
+    }
+}
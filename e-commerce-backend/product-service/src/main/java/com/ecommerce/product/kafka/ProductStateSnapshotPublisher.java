@@ -0,0 +1,67 @@
+package com.ecommerce.product.kafka;
+
+import com.ecommerce.product.model.Product;
+import com.ecommerce.product.repository.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes every product to the state topic at startup so the topic always holds a complete snapshot,
+ * including products that were last changed before the topic existed. Compaction folds the duplicates.
+ * Each row is versioned by the time its page was read, so a row changed since then loses to the live update,
+ * and rows this instance republished while the snapshot ran are not sent at all.
+ */
+@Slf4j
+@Component
+public class ProductStateSnapshotPublisher {
+
+    private final ProductRepository productRepository;
+    private final ProductStateProducer productStateProducer;
+    private final boolean enabled;
+    private final int pageSize;
+
+    public ProductStateSnapshotPublisher(ProductRepository productRepository,
+                                         ProductStateProducer productStateProducer,
+                                         @Value("${products.state-topic.snapshot-on-startup:true}") boolean enabled,
+                                         @Value("${products.state-topic.snapshot-page-size:500}") int pageSize) {
+        this.productRepository = productRepository;
+        this.productStateProducer = productStateProducer;
+        this.enabled = enabled;
+        this.pageSize = pageSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void publishSnapshot() {
+        if (!enabled) {
+            return;
+        }
+        long published = 0;
+        productStateProducer.beginSnapshot();
+        try {
+            long readAt = System.currentTimeMillis();
+            Page<Product> page = productRepository.findAll(PageRequest.of(0, pageSize, Sort.by("id")));
+            while (true) {
+                for (Product product : page) {
+                    if (productStateProducer.publishSnapshot(product, readAt)) {
+                        published++;
+                    }
+                }
+                if (!page.hasNext()) {
+                    break;
+                }
+                readAt = System.currentTimeMillis();
+                page = productRepository.findAll(page.nextPageable());
+            }
+            productStateProducer.flush();
+        } finally {
+            productStateProducer.endSnapshot();
+        }
+        log.info("Published state snapshot of {} products", published);
+    }
+}
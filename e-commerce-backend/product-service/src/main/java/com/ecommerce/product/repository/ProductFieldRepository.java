@@ -0,0 +1,50 @@
+package com.ecommerce.product.repository;
+
+import com.ecommerce.product.model.Product;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads selected product columns for many ids in one {@code IN} query, without loading entities.
+ */
+@Repository
+public class ProductFieldRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public Map<String, Map<String, Object>> findFields(Collection<String> ids, Collection<String> fields) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Product> product = query.from(Product.class);
+
+        List<Selection<?>> selections = new ArrayList<>(fields.size() + 1);
+        selections.add(product.get("id").alias("id"));
+        for (String field : fields) {
+            selections.add(product.get(field).alias(field));
+        }
+        query.multiselect(selections).where(product.get("id").in(ids));
+
+        Map<String, Map<String, Object>> result = new LinkedHashMap<>();
+        for (Tuple row : entityManager.createQuery(query).getResultList()) {
+            Map<String, Object> values = new LinkedHashMap<>();
+            for (String field : fields) {
+                values.put(field, row.get(field));
+            }
+            result.put(row.get("id", String.class), values);
+        }
+        return result;
+    }
+}
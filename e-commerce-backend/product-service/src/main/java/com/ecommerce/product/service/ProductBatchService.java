@@ -0,0 +1,77 @@
+package com.ecommerce.product.service;
+
+import com.ecommerce.product.dto.ProductBatchRequest;
+import com.ecommerce.product.dto.ProductBatchResponse;
+import com.ecommerce.product.exception.InvalidRequestException;
+import com.ecommerce.product.repository.ProductFieldRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+public class ProductBatchService {
+
+    // Exposed mask names are the entity attribute names
+    private static final Set<String> ALLOWED_FIELDS = Set.of("name", "description", "price", "stockQuantity");
+    private static final Set<String> DEFAULT_FIELDS = Set.of("name", "price");
+
+    private final ProductFieldRepository productFieldRepository;
+    private final int maxIds;
+    private final DistributionSummary batchSize;
+    private final Timer batchLatency;
+
+    public ProductBatchService(ProductFieldRepository productFieldRepository,
+                               MeterRegistry meterRegistry,
+                               @Value("${products.batch.max-ids:200}") int maxIds) {
+        this.productFieldRepository = productFieldRepository;
+        this.maxIds = maxIds;
+        this.batchSize = DistributionSummary.builder("products.batch.size")
+                .description("Distinct product ids per batch lookup")
+                .publishPercentileHistogram()
+                .maximumExpectedValue((double) maxIds)
+                .register(meterRegistry);
+        this.batchLatency = Timer.builder("products.batch.latency")
+                .description("Batch lookup latency")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @Transactional(readOnly = true)
+    public ProductBatchResponse getProducts(ProductBatchRequest request) {
+        if (request.getIds() == null || request.getIds().isEmpty()) {
+            throw new InvalidRequestException("ids must not be empty");
+        }
+        Set<String> ids = new LinkedHashSet<>(request.getIds());
+        if (ids.size() > maxIds) {
+            throw new InvalidRequestException("At most " + maxIds + " ids per batch");
+        }
+        Set<String> fields = request.getFields() == null || request.getFields().isEmpty()
+                ? DEFAULT_FIELDS : request.getFields();
+        for (String field : fields) {
+            if (!ALLOWED_FIELDS.contains(field)) {
+                throw new InvalidRequestException("Unknown field " + field);
+            }
+        }
+
+        batchSize.record(ids.size());
+        Map<String, Map<String, Object>> products = batchLatency.record(
+                () -> productFieldRepository.findFields(ids, fields));
+
+        List<String> missing = new ArrayList<>();
+        for (String id : ids) {
+            if (!products.containsKey(id)) {
+                missing.add(id);
+            }
+        }
+        return new ProductBatchResponse(products, missing);
+    }
+}
@@ -6,6 +6,7 @@ import com.ecommerce.product.model.Product;
 import com.ecommerce.product.repository.ProductRepository;
 import com.ecommerce.product.kafka.InventoryKafkaProducer;
 import com.ecommerce.product.kafka.ProductKafkaProducer;
+import com.ecommerce.product.kafka.ProductStateProducer;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -20,6 +21,7 @@ public class ProductService {
     private final ProductRepository productRepository;
     private final ProductKafkaProducer productKafkaProducer;
     private final InventoryKafkaProducer inventoryKafkaProducer;
+    private final ProductStateProducer productStateProducer;
 
     public Product createProduct(Product product) {
         Product savedProduct = productRepository.save(product);
@@ -30,6 +32,7 @@ public class ProductService {
         productEvent.setEventType(ProductEvent.EventType.PRODUCT_CREATED);
         
         productKafkaProducer.sendProductEvent(productEvent);
+        productStateProducer.publish(savedProduct);
         
         return savedProduct;
     }
@@ -51,6 +54,7 @@ public class ProductService {
             productEvent.setEventType(ProductEvent.EventType.PRODUCT_UPDATED);
             
             productKafkaProducer.sendProductEvent(productEvent);
+            productStateProducer.publish(savedProduct);
             
             return savedProduct;
         }
@@ -68,6 +72,7 @@ public class ProductService {
             productEvent.setEventType(ProductEvent.EventType.PRODUCT_DELETED);
             
             productKafkaProducer.sendProductEvent(productEvent);
+            productStateProducer.publishDeleted(productId);
         }
     }
 
@@ -91,6 +96,7 @@ public class ProductService {
             inventoryEvent.setCurrentStock(newQuantity);
             
             inventoryKafkaProducer.sendInventoryEvent(inventoryEvent);
+            productStateProducer.publish(product);
         }
     }
 
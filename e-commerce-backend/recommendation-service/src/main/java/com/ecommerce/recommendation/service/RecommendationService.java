@@ -1,5 +1,7 @@
 package com.ecommerce.recommendation.service;
 
+import com.ecommerce.common.client.ProductLookupClient;
+import com.ecommerce.common.client.ProductSummary;
 import com.ecommerce.recommendation.model.Recommendation;
 import com.ecommerce.recommendation.repository.RecommendationRepository;
 import lombok.RequiredArgsConstructor;
@@ -7,6 +9,7 @@ import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -15,6 +18,7 @@ public class RecommendationService {
     
     private final RecommendationRepository recommendationRepository;
     private final ProductClient productClient;
+    private final ProductLookupClient productLookupClient;
     private final UserClient userClient;
     
     @Cacheable(value = "recommendations", key = "#userId")
@@ -25,15 +29,7 @@ public class RecommendationService {
         // Get similar products based on purchase history
         List<String> similarProducts = getSimilarProducts(purchasedProducts);
         
-        return similarProducts.stream()
-            .map(productId -> {
-                Recommendation recommendation = new Recommendation();
-                recommendation.setProductId(productId);
-                recommendation.setProductName(productClient.getProductName(productId));
-                recommendation.setProductPrice(productClient.getProductPrice(productId));
-                return recommendation;
-            })
-            .collect(Collectors.toList());
+        return toRecommendations(similarProducts);
     }
     
     @Cacheable(value = "similarProducts", key = "#productId")
@@ -44,12 +40,20 @@ public class RecommendationService {
         // Get products in same category
         List<String> similarProducts = productClient.getProductsByCategory(category);
         
-        return similarProducts.stream()
-            .map(similarProductId -> {
+        return toRecommendations(similarProducts);
+    }
+
+    // Names and prices for all products come back from one batch lookup; products that no longer exist are dropped
+    private List<Recommendation> toRecommendations(List<String> productIds) {
+        Map<String, ProductSummary> products = productLookupClient.getProducts(productIds).join();
+        return productIds.stream()
+            .filter(products::containsKey)
+            .map(productId -> {
+                ProductSummary product = products.get(productId);
                 Recommendation recommendation = new Recommendation();
-                recommendation.setProductId(similarProductId);
-                recommendation.setProductName(productClient.getProductName(similarProductId));
-                recommendation.setProductPrice(productClient.getProductPrice(similarProductId));
+                recommendation.setProductId(productId);
+                recommendation.setProductName(product.getName());
+                recommendation.setProductPrice(product.getPrice());
                 return recommendation;
             })
             .collect(Collectors.toList());
@@ -1,5 +1,6 @@
 package com.ecommerce.review.service;
 
+import com.ecommerce.common.client.ProductLookupClient;
 import com.ecommerce.review.model.Review;
 import com.ecommerce.review.repository.ReviewRepository;
 import lombok.RequiredArgsConstructor;
@@ -15,13 +16,13 @@ import java.util.stream.Collectors;
 public class ReviewService {
     
     private final ReviewRepository reviewRepository;
-    private final ProductClient productClient;
+    private final ProductLookupClient productLookupClient;
     private final UserClient userClient;
 
     @Transactional
     public void addReview(String userId, String productId, Review review) {
         // Validate product exists
-        if (!productClient.productExists(productId)) {
+        if (productLookupClient.getProduct(productId).join() == null) {
             throw new ResourceNotFoundException("Product not found");
         }
         
@@ -1,5 +1,7 @@
 package com.ecommerce.wishlist.service;
 
+import com.ecommerce.common.client.ProductLookupClient;
+import com.ecommerce.common.client.ProductSummary;
 import com.ecommerce.wishlist.model.WishlistItem;
 import com.ecommerce.wishlist.repository.WishlistRepository;
 import lombok.RequiredArgsConstructor;
@@ -8,20 +10,19 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
 public class WishlistService {
     
     private final WishlistRepository wishlistRepository;
-    private final ProductClient productClient;
+    private final ProductLookupClient productLookupClient;
 
     @Transactional
     public void addToWishlist(String userId, String productId) {
         // Check if product exists
-        Optional<Product> product = productClient.getProductById(productId);
-        if (!product.isPresent()) {
+        ProductSummary product = productLookupClient.getProduct(productId).join();
+        if (product == null) {
             throw new ResourceNotFoundException("Product not found");
         }
         
@@ -34,8 +35,8 @@ public class WishlistService {
         WishlistItem item = new WishlistItem();
         item.setUserId(userId);
         item.setProductId(productId);
-        item.setProductName(product.get().getName());
-        item.setProductPrice(product.get().getPrice());
+        item.setProductName(product.getName());
+        item.setProductPrice(product.getPrice());
         
         wishlistRepository.save(item);
     }